@@ -2,6 +2,8 @@ package br.edu.ufape.sguAuthService;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -10,10 +12,15 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 @EnableWebSecurity
 @EnableMethodSecurity(jsr250Enabled = true, securedEnabled = true)
 @EnableScheduling
+@EnableAsync
 public class SguAuthServiceApplication {
+	// Passos de inicialização guardados para a linha do tempo no log e em /actuator/startup
+	private static final int CAPACIDADE_LINHA_DO_TEMPO = 10000;
 
 	public static void main(String[] args) {
-		SpringApplication.run(SguAuthServiceApplication.class, args);
+		SpringApplication application = new SpringApplication(SguAuthServiceApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(CAPACIDADE_LINHA_DO_TEMPO));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,241 @@
+package br.edu.ufape.sguAuthService.comunicacao.admissao;
+
+import br.edu.ufape.sguAuthService.comunicacao.dto.erros.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Controle de admissão dos uploads multipart. Limita, no total e por usuário, quantos uploads correm ao mesmo
+ * tempo e quantos bytes (pelo Content-Length) estão em voo. Roda antes do IdempotenciaFilter e do
+ * DispatcherServlet, ou seja, antes de o corpo ser lido: quem não cabe espera um pouco numa fila curta e,
+ * se ainda não couber, recebe 503 com Retry-After sem que o servidor leia o arquivo.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class AdmissaoUploadFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(AdmissaoUploadFilter.class);
+    private static final List<String> ROTAS = List.of("/solicitacao/aluno", "/solicitacao/professor",
+            "/solicitacao/tecnico", "/solicitacao/gestor", "/perfil/atualizarFoto");
+
+    private final ObjectMapper objectMapper;
+    private final int maximoConcorrentes;
+    private final long maximoBytes;
+    private final int maximoConcorrentesPorUsuario;
+    private final long maximoBytesPorUsuario;
+    private final long tamanhoDesconhecido;
+    private final int maximoFila;
+    private final Duration esperaMaxima;
+    private final long retryAfterSegundos;
+
+    private final ReentrantLock trava = new ReentrantLock();
+    private final Condition liberado = trava.newCondition();
+    // Estado protegido pela trava
+    private int concorrentes;
+    private long bytes;
+    private int esperando;
+    private final Map<String, Uso> porUsuario = new HashMap<>();
+
+    private final Timer espera;
+    private final Counter rejeitadosGlobal;
+    private final Counter rejeitadosUsuario;
+    private final Counter rejeitadosFila;
+
+    public AdmissaoUploadFilter(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                @Value("${upload.admissao.concorrentes:16}") int maximoConcorrentes,
+                                @Value("${upload.admissao.bytes-em-voo:256MB}") DataSize maximoBytes,
+                                @Value("${upload.admissao.concorrentes-por-usuario:2}") int maximoConcorrentesPorUsuario,
+                                @Value("${upload.admissao.bytes-por-usuario:64MB}") DataSize maximoBytesPorUsuario,
+                                @Value("${spring.servlet.multipart.max-request-size:10MB}") DataSize tamanhoDesconhecido,
+                                @Value("${upload.admissao.fila:32}") int maximoFila,
+                                @Value("${upload.admissao.espera-maxima:2s}") Duration esperaMaxima,
+                                @Value("${upload.admissao.retry-after:5s}") Duration retryAfter) {
+        this.objectMapper = objectMapper;
+        this.maximoConcorrentes = maximoConcorrentes;
+        this.maximoBytes = maximoBytes.toBytes();
+        this.maximoConcorrentesPorUsuario = maximoConcorrentesPorUsuario;
+        this.maximoBytesPorUsuario = maximoBytesPorUsuario.toBytes();
+        this.tamanhoDesconhecido = tamanhoDesconhecido.toBytes();
+        this.maximoFila = maximoFila;
+        this.esperaMaxima = esperaMaxima;
+        this.retryAfterSegundos = Math.max(1, retryAfter.toSeconds());
+
+        this.espera = Timer.builder("upload.admissao.espera").register(meterRegistry);
+        this.rejeitadosGlobal = rejeitados(meterRegistry, "global");
+        this.rejeitadosUsuario = rejeitados(meterRegistry, "usuario");
+        this.rejeitadosFila = rejeitados(meterRegistry, "fila");
+        Gauge.builder("upload.admissao.concorrentes", this, filtro -> filtro.lerSobTrava(() -> filtro.concorrentes))
+                .register(meterRegistry);
+        Gauge.builder("upload.admissao.bytes", this, filtro -> filtro.lerSobTrava(() -> filtro.bytes))
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("upload.admissao.fila", this, filtro -> filtro.lerSobTrava(() -> filtro.esperando))
+                .register(meterRegistry);
+        Gauge.builder("upload.admissao.saturacao", this, filtro -> filtro.lerSobTrava(() ->
+                        Math.max((double) filtro.concorrentes / filtro.maximoConcorrentes, (double) filtro.bytes / filtro.maximoBytes)))
+                .register(meterRegistry);
+    }
+
+    private static Counter rejeitados(MeterRegistry meterRegistry, String limite) {
+        return Counter.builder("upload.admissao.rejeitados").tag("limite", limite).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod())) return true;
+        String contentType = request.getContentType();
+        if (contentType == null || !contentType.toLowerCase().startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)) return true;
+        return !ROTAS.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String usuario = identificarCliente(request);
+        long tamanho = request.getContentLengthLong() >= 0 ? request.getContentLengthLong() : tamanhoDesconhecido;
+        // Um upload sozinho sempre cabe; o teto de tamanho de cada requisição é do multipart do Spring
+        long custo = Math.min(tamanho, Math.min(maximoBytes, maximoBytesPorUsuario));
+
+        Counter rejeicao;
+        long inicio = System.nanoTime();
+        try {
+            rejeicao = admitir(usuario, custo);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejeitar(response, "Requisição interrompida");
+            return;
+        } finally {
+            espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+        if (rejeicao != null) {
+            rejeicao.increment();
+            log.debug("Upload de {} ({} bytes) recusado pelo limite {}", usuario, tamanho, rejeicao.getId().getTag("limite"));
+            rejeitar(response, "Muitos envios de arquivo em andamento; tente novamente em alguns segundos");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            liberar(usuario, custo);
+        }
+    }
+
+    /** Reserva a vaga e os bytes, esperando até espera-maxima; devolve o contador do limite que impediu, ou null. */
+    Counter admitir(String usuario, long custo) throws InterruptedException {
+        trava.lock();
+        try {
+            if (cabe(usuario, custo)) {
+                reservar(usuario, custo);
+                return null;
+            }
+            if (esperando >= maximoFila) return rejeitadosFila;
+
+            esperando++;
+            try {
+                long restante = esperaMaxima.toNanos();
+                while (!cabe(usuario, custo)) {
+                    if (restante <= 0) return limiteDeUsuario(usuario, custo) ? rejeitadosUsuario : rejeitadosGlobal;
+                    restante = liberado.awaitNanos(restante);
+                }
+            } finally {
+                esperando--;
+            }
+            reservar(usuario, custo);
+            return null;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    void liberar(String usuario, long custo) {
+        trava.lock();
+        try {
+            concorrentes--;
+            bytes -= custo;
+            Uso uso = porUsuario.get(usuario);
+            uso.concorrentes--;
+            uso.bytes -= custo;
+            if (uso.concorrentes == 0) porUsuario.remove(usuario);
+            liberado.signalAll();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private boolean cabe(String usuario, long custo) {
+        return concorrentes < maximoConcorrentes && bytes + custo <= maximoBytes && !limiteDeUsuario(usuario, custo);
+    }
+
+    private boolean limiteDeUsuario(String usuario, long custo) {
+        Uso uso = porUsuario.get(usuario);
+        return uso != null && (uso.concorrentes >= maximoConcorrentesPorUsuario || uso.bytes + custo > maximoBytesPorUsuario);
+    }
+
+    private void reservar(String usuario, long custo) {
+        concorrentes++;
+        bytes += custo;
+        Uso uso = porUsuario.computeIfAbsent(usuario, u -> new Uso());
+        uso.concorrentes++;
+        uso.bytes += custo;
+    }
+
+    private double lerSobTrava(DoubleSupplier leitura) {
+        trava.lock();
+        try {
+            return leitura.getAsDouble();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    // O corpo não foi lido: fechar a conexão evita que o servidor tenha de consumir o arquivo inteiro
+    private void rejeitar(HttpServletResponse response, String mensagem) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSegundos));
+        response.setHeader(HttpHeaders.CONNECTION, "close");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(mensagem, HttpStatus.SERVICE_UNAVAILABLE.value()));
+    }
+
+    private static String identificarCliente(HttpServletRequest request) {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        return autenticacao != null && autenticacao.isAuthenticated() ? autenticacao.getName() : request.getRemoteAddr();
+    }
+
+    private static class Uso {
+        private int concorrentes;
+        private long bytes;
+    }
+}
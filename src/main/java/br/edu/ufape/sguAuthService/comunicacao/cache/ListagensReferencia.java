@@ -0,0 +1,83 @@
+package br.edu.ufape.sguAuthService.comunicacao.cache;
+
+import br.edu.ufape.sguAuthService.comunicacao.dto.curso.CursoResponse;
+import br.edu.ufape.sguAuthService.comunicacao.dto.tipoEtnia.TipoEtniaResponse;
+import br.edu.ufape.sguAuthService.comunicacao.dto.tipoUnidadeAdministrativa.TipoUnidadeAdministrativaResponse;
+import br.edu.ufape.sguAuthService.comunicacao.dto.unidadeAdministrativa.UnidadeAdministrativaGetAllResponse;
+import br.edu.ufape.sguAuthService.fachada.Fachada;
+import br.edu.ufape.sguAuthService.models.Curso;
+import br.edu.ufape.sguAuthService.models.TipoEtnia;
+import br.edu.ufape.sguAuthService.models.TipoUnidadeAdministrativa;
+import br.edu.ufape.sguAuthService.models.UnidadeAdministrativa;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Consultas e mapeamentos dos GETs de referência servidos pelo {@link RespostaJsonCache}. Os controllers e o
+ * aquecimento passam por aqui, então a entrada preenchida no boot é exatamente a que o controller montaria.
+ */
+@Component
+@RequiredArgsConstructor
+public class ListagensReferencia {
+    // Usados no @PageableDefault/@SortDefault dos controllers e na página do aquecimento
+    public static final int TAMANHO_PAGINA = 2;
+    public static final String ORDENACAO = "id";
+    private static final Pageable PAGINA_PADRAO = PageRequest.of(0, TAMANHO_PAGINA, Sort.by(Sort.Direction.ASC, ORDENACAO));
+
+    private final Fachada fachada;
+    private final RespostaJsonCache respostaJsonCache;
+
+    public ResponseEntity<byte[]> tiposEtnia(Predicate predicate, Pageable pageable, HttpServletRequest request) {
+        return respostaJsonCache.responder(TipoEtnia.class, request, tiposEtnia(predicate, pageable));
+    }
+
+    public ResponseEntity<byte[]> cursos(Predicate predicate, Pageable pageable, HttpServletRequest request) {
+        return respostaJsonCache.responder(Curso.class, request, cursos(predicate, pageable));
+    }
+
+    public ResponseEntity<byte[]> tiposUnidade(Predicate predicate, Pageable pageable, HttpServletRequest request) {
+        return respostaJsonCache.responder(TipoUnidadeAdministrativa.class, request, tiposUnidade(predicate, pageable));
+    }
+
+    public ResponseEntity<byte[]> unidades(HttpServletRequest request) {
+        return respostaJsonCache.responder(UnidadeAdministrativa.class, request, unidades());
+    }
+
+    /** Preenche as entradas das requisições sem parâmetros. */
+    public void aquecer() {
+        respostaJsonCache.aquecer(TipoEtnia.class, tiposEtnia(new BooleanBuilder(), PAGINA_PADRAO));
+        respostaJsonCache.aquecer(Curso.class, cursos(new BooleanBuilder(), PAGINA_PADRAO));
+        respostaJsonCache.aquecer(TipoUnidadeAdministrativa.class, tiposUnidade(new BooleanBuilder(), PAGINA_PADRAO));
+        respostaJsonCache.aquecer(UnidadeAdministrativa.class, unidades());
+    }
+
+    private Supplier<Object> tiposEtnia(Predicate predicate, Pageable pageable) {
+        return () -> fachada.listarTiposEtnia(predicate, pageable)
+                .map(tipoEtnia -> new TipoEtniaResponse(tipoEtnia));
+    }
+
+    private Supplier<Object> cursos(Predicate predicate, Pageable pageable) {
+        return () -> fachada.listarCursos(predicate, pageable)
+                .map(curso -> new CursoResponse(curso));
+    }
+
+    private Supplier<Object> tiposUnidade(Predicate predicate, Pageable pageable) {
+        return () -> fachada.listarTipos(predicate, pageable)
+                .map(tipo -> new TipoUnidadeAdministrativaResponse(tipo));
+    }
+
+    private Supplier<Object> unidades() {
+        return () -> fachada.listarUnidadesAdministrativas().stream()
+                .map(unidadeAdministrativa -> new UnidadeAdministrativaGetAllResponse(unidadeAdministrativa))
+                .toList();
+    }
+}
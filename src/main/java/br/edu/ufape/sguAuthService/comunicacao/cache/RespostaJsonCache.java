@@ -0,0 +1,97 @@
+package br.edu.ufape.sguAuthService.comunicacao.cache;
+
+import br.edu.ufape.sguAuthService.fachada.Fachada;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Guarda o JSON já serializado das listagens de referência, uma entrada por versão da tabela e variação de parâmetros.
+ * ETag e Last-Modified saem da entrada, e o Spring MVC responde 304 quando a requisição condicional casa.
+ */
+@Component
+public class RespostaJsonCache {
+    private final Fachada fachada;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, RespostaSerializada> respostas;
+
+    public RespostaJsonCache(Fachada fachada, ObjectMapper objectMapper,
+                             @Value("${cache.respostas.tamanho-maximo:500}") long tamanhoMaximo,
+                             @Value("${cache.respostas.ttl:60s}") Duration ttl) {
+        this.fachada = fachada;
+        this.objectMapper = objectMapper;
+        // A versão da tabela é local a cada réplica (a invalidação distribuída é opcional): uma escrita em outra
+        // réplica não muda a chave daqui. Expirar pela escrita limita por quanto tempo o JSON antigo é servido,
+        // mesmo numa entrada consultada o tempo todo; versões antigas também saem pelo limite de tamanho.
+        this.respostas = CacheBuilder.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    public ResponseEntity<byte[]> responder(Class<?> entidade, HttpServletRequest request, Supplier<Object> consulta) {
+        RespostaSerializada resposta = buscar(entidade, request.getParameterMap(), consulta);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(resposta.getEtag())
+                .lastModified(resposta.getUltimaAlteracao())
+                .body(resposta.getCorpo());
+    }
+
+    /** Preenche a entrada da requisição sem parâmetros; usado por {@link ListagensReferencia#aquecer()}. */
+    public void aquecer(Class<?> entidade, Supplier<Object> consulta) {
+        buscar(entidade, Map.of(), consulta);
+    }
+
+    private RespostaSerializada buscar(Class<?> entidade, Map<String, String[]> parametros, Supplier<Object> consulta) {
+        long versao = fachada.buscarVersaoReferencia(entidade);
+        Instant ultimaAlteracao = fachada.buscarUltimaAlteracaoReferencia(entidade);
+        String chave = entidade.getName() + "@" + versao + "?" + variante(parametros);
+        try {
+            return respostas.get(chave, () -> serializar(consulta.get(), ultimaAlteracao));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) throw causa;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private RespostaSerializada serializar(Object conteudo, Instant ultimaAlteracao) throws JsonProcessingException {
+        byte[] corpo = objectMapper.writeValueAsBytes(conteudo);
+        return new RespostaSerializada(corpo, "\"" + DigestUtils.md5DigestAsHex(corpo) + "\"", ultimaAlteracao);
+    }
+
+    // Mesmos parâmetros em ordem diferente geram a mesma resposta
+    private String variante(Map<String, String[]> parametros) {
+        Map<String, String> ordenados = new TreeMap<>();
+        parametros.forEach((nome, valores) -> ordenados.put(nome, Arrays.toString(valores)));
+        return ordenados.toString();
+    }
+
+    @Getter @AllArgsConstructor
+    private static class RespostaSerializada {
+        private final byte[] corpo;
+        private final String etag;
+        private final Instant ultimaAlteracao;
+    }
+}
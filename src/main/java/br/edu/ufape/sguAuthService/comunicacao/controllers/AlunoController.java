@@ -8,7 +8,6 @@ import br.edu.ufape.sguAuthService.fachada.Fachada;
 import br.edu.ufape.sguAuthService.models.Usuario;
 import com.querydsl.core.types.Predicate;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
 import org.springframework.data.web.SortDefault;
@@ -26,12 +25,11 @@ import org.springframework.data.web.PageableDefault;
 
 public class AlunoController {
     private final Fachada fachada;
-    private final ModelMapper modelMapper;
 
     @PreAuthorize("hasAnyRole('ADMINISTRADOR', 'GESTOR')")
     @GetMapping("/{id}") ResponseEntity<AlunoResponse> buscarAluno(@PathVariable UUID id) throws AlunoNotFoundException, UsuarioNotFoundException {
         Usuario response = fachada.buscarAluno(id);
-        return new ResponseEntity<>(new AlunoResponse(response, modelMapper), HttpStatus.OK);
+        return new ResponseEntity<>(new AlunoResponse(response), HttpStatus.OK);
     }
 
     @PreAuthorize("hasAnyRole('ADMINISTRADOR', 'GESTOR')")
@@ -42,7 +40,7 @@ public class AlunoController {
             @SortDefault(sort = "id", direction = Sort.Direction.ASC)
             Pageable pageable) {
 
-        return fachada.listarAlunos(predicate, pageable).map(usuario -> new AlunoResponse(usuario, modelMapper));
+        return fachada.listarAlunos(predicate, pageable).map(usuario -> new AlunoResponse(usuario));
 
     }
 
@@ -50,13 +48,13 @@ public class AlunoController {
 
     @PostMapping("/batch")
     List<AlunoResponse> listarAlunosEmBatch(@RequestBody List<UUID> ids) {
-        return fachada.listarUsuariosEmBatch(ids).stream().map(usuario -> new AlunoResponse(usuario, modelMapper)).toList();
+        return fachada.listarUsuariosEmBatch(ids).stream().map(usuario -> new AlunoResponse(usuario)).toList();
     }
 
     @GetMapping("/current")
     ResponseEntity<AlunoResponse> buscarAlunoAtual() throws AlunoNotFoundException, UsuarioNotFoundException {
         Usuario response = fachada.buscarAlunoAtual();
-        return new ResponseEntity<>(new AlunoResponse(response, modelMapper), HttpStatus.OK);
+        return new ResponseEntity<>(new AlunoResponse(response), HttpStatus.OK);
     }
 
 
@@ -0,0 +1,24 @@
+package br.edu.ufape.sguAuthService.comunicacao.controllers;
+
+import br.edu.ufape.sguAuthService.comunicacao.dto.cache.EstatisticaCacheResponse;
+import br.edu.ufape.sguAuthService.fachada.Fachada;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/cache")
+@RequiredArgsConstructor
+public class CacheController {
+    private final Fachada fachada;
+
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    @GetMapping("/estatisticas")
+    public List<EstatisticaCacheResponse> listarEstatisticas() {
+        return fachada.listarEstatisticasCache();
+    }
+}
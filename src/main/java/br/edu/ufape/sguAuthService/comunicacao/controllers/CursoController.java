@@ -1,6 +1,7 @@
 package br.edu.ufape.sguAuthService.comunicacao.controllers;
 
 
+import br.edu.ufape.sguAuthService.comunicacao.cache.ListagensReferencia;
 import br.edu.ufape.sguAuthService.comunicacao.dto.aluno.AlunoResponse;
 import br.edu.ufape.sguAuthService.comunicacao.dto.curso.CursoPatchRequest;
 import br.edu.ufape.sguAuthService.comunicacao.dto.curso.CursoRequest;
@@ -9,9 +10,9 @@ import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.CursoNotFoundEx
 import br.edu.ufape.sguAuthService.fachada.Fachada;
 import br.edu.ufape.sguAuthService.models.Curso;
 import com.querydsl.core.types.Predicate;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
 import org.springframework.data.web.SortDefault;
@@ -19,7 +20,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 
@@ -29,37 +29,36 @@ import java.util.List;
 @RequestMapping("/curso")
 public class CursoController {
     private final Fachada fachada;
-    private final ModelMapper modelMapper;
+    private final ListagensReferencia listagensReferencia;
 
 
     @PreAuthorize("hasRole('ADMINISTRADOR')")
     @PostMapping
     public ResponseEntity<CursoResponse> salvar(@Valid @RequestBody CursoRequest curso) {
-        Curso response = fachada.salvarCurso(curso.convertToEntity(curso, modelMapper));
-        return new ResponseEntity<>(new CursoResponse(response, modelMapper), HttpStatus.CREATED);
+        Curso response = fachada.salvarCurso(curso.convertToEntity());
+        return new ResponseEntity<>(new CursoResponse(response), HttpStatus.CREATED);
     }
 
     @PreAuthorize("hasRole('ADMINISTRADOR')")
     @PatchMapping("/{id}")
     public ResponseEntity<CursoResponse> editar(@PathVariable Long id, @RequestBody CursoPatchRequest patch) throws CursoNotFoundException {
         Curso atualizado = fachada.editarCurso(id, patch);
-        return new ResponseEntity<>(new CursoResponse(atualizado, modelMapper), HttpStatus.OK);
+        return new ResponseEntity<>(new CursoResponse(atualizado), HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<CursoResponse> buscar(@PathVariable Long id) throws CursoNotFoundException {
         Curso response = fachada.buscarCurso(id);
-        return new ResponseEntity<>(new CursoResponse(response, modelMapper), HttpStatus.OK);
+        return new ResponseEntity<>(new CursoResponse(response), HttpStatus.OK);
     }
 
     @GetMapping
-    public Page<CursoResponse> listar(@QuerydslPredicate(root = Curso.class) Predicate predicate,
-                                      @PageableDefault(value = 2)
-                                      @SortDefault(sort = "id", direction = Sort.Direction.ASC)
-                                      Pageable pageable) {
+    public ResponseEntity<byte[]> listar(@QuerydslPredicate(root = Curso.class) Predicate predicate,
+                                         @PageableDefault(value = ListagensReferencia.TAMANHO_PAGINA)
+                                         @SortDefault(sort = ListagensReferencia.ORDENACAO, direction = Sort.Direction.ASC)
+                                         Pageable pageable, HttpServletRequest request) {
 
-        return fachada.listarCursos(predicate, pageable)
-                .map(curso -> new CursoResponse(curso, modelMapper));
+        return listagensReferencia.cursos(predicate, pageable, request);
     }
 
 
@@ -72,7 +71,7 @@ public class CursoController {
 
     @GetMapping("{id}/alunos")
     public ResponseEntity<List<AlunoResponse>> listarAlunosPorCurso(@PathVariable Long id) throws CursoNotFoundException {
-        List<AlunoResponse> response = fachada.listarAlunosPorCurso(id).stream().map(usuario -> new AlunoResponse(usuario, modelMapper)).toList();
+        List<AlunoResponse> response = fachada.listarAlunosPorCurso(id).stream().map(usuario -> new AlunoResponse(usuario)).toList();
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 }
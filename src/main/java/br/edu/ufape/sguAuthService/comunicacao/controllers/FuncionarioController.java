@@ -1,15 +1,25 @@
 package br.edu.ufape.sguAuthService.comunicacao.controllers;
 
 
+import br.edu.ufape.sguAuthService.comunicacao.dto.funcionario.FuncionarioBatchItemResponse;
 import br.edu.ufape.sguAuthService.comunicacao.dto.funcionario.FuncionarioResponse;
 import br.edu.ufape.sguAuthService.fachada.Fachada;
+import br.edu.ufape.sguAuthService.models.Professor;
+import br.edu.ufape.sguAuthService.models.Tecnico;
 import br.edu.ufape.sguAuthService.models.Usuario;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,24 +27,62 @@ import java.util.UUID;
 @RequiredArgsConstructor
 @RequestMapping("/funcionario")
 public class FuncionarioController {
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     private final Fachada fachada;
-    private final ModelMapper modelMapper;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/current")
     public ResponseEntity<FuncionarioResponse> getCurrentFuncionario() {
         Usuario response = fachada.buscarUsuarioAtual();
-        return new ResponseEntity<>(new FuncionarioResponse(response, modelMapper), HttpStatus.OK);
+        return new ResponseEntity<>(new FuncionarioResponse(response), HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<FuncionarioResponse> buscarFuncionarioPorId(@PathVariable UUID id) {
         Usuario response = fachada.buscarUsuario(id);
-        return new ResponseEntity<>(new FuncionarioResponse(response, modelMapper), HttpStatus.OK);
+        return new ResponseEntity<>(new FuncionarioResponse(response), HttpStatus.OK);
     }
 
+    // Resultado na mesma ordem dos ids recebidos. Ids ausentes, ou de usuários sem perfil de técnico ou professor,
+    // são contados no cabeçalho X-Total-Nao-Encontrados ou listados linha a linha (encontrado = false) quando o
+    // cliente pede application/x-ndjson
     @PostMapping("/batch")
-    List<FuncionarioResponse> listarFuncionariosEmBatch(@RequestBody List<UUID> ids) {
-        return fachada.listarUsuariosEmBatch(ids).stream().map(usuario -> new FuncionarioResponse(usuario, modelMapper)).toList();
+    public ResponseEntity<?> listarFuncionariosEmBatch(@RequestBody List<UUID> ids,
+                                                       @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (accept != null && accept.contains(APPLICATION_NDJSON)) {
+            StreamingResponseBody corpo = saida -> escreverNdjson(ids, saida);
+            return ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON)).body(corpo);
+        }
+
+        List<FuncionarioResponse> funcionarios = new ArrayList<>(ids.size());
+        fachada.percorrerUsuariosEmBatch(ids, (id, usuario) -> {
+            if (ehFuncionario(usuario)) funcionarios.add(new FuncionarioResponse(usuario));
+        });
+        return ResponseEntity.ok()
+                .header("X-Total-Nao-Encontrados", String.valueOf(ids.size() - funcionarios.size()))
+                .body(funcionarios);
+    }
+
+    private void escreverNdjson(List<UUID> ids, OutputStream saida) throws IOException {
+        try {
+            fachada.percorrerUsuariosEmBatch(ids, (id, usuario) -> {
+                FuncionarioResponse funcionario = ehFuncionario(usuario) ? new FuncionarioResponse(usuario) : null;
+                try {
+                    saida.write(objectMapper.writeValueAsBytes(new FuncionarioBatchItemResponse(id, funcionario != null, funcionario)));
+                    saida.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        saida.flush();
+    }
+
+    private static boolean ehFuncionario(Usuario usuario) {
+        return usuario != null && (usuario.getPerfil(Tecnico.class).isPresent() || usuario.getPerfil(Professor.class).isPresent());
     }
 
 }
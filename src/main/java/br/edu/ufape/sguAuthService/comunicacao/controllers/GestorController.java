@@ -9,7 +9,6 @@ import br.edu.ufape.sguAuthService.fachada.Fachada;
 import br.edu.ufape.sguAuthService.models.Usuario;
 import com.querydsl.core.types.Predicate;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
 import org.springframework.data.web.SortDefault;
@@ -30,12 +29,11 @@ import java.util.UUID;
 @RequestMapping("/gestor")
 public class GestorController {
     private final Fachada fachada;
-    private final ModelMapper modelMapper;
 
     @GetMapping("/{id}")
     ResponseEntity<GestorResponse> buscarGestor(@PathVariable UUID id) throws GestorNotFoundException, UsuarioNotFoundException {
         Usuario response = fachada.buscarGestor(id);
-        return new ResponseEntity<>(new GestorResponse(response, modelMapper), HttpStatus.OK);
+        return new ResponseEntity<>(new GestorResponse(response), HttpStatus.OK);
     }
 
     @PreAuthorize("hasRole('ADMINISTRADOR')")
@@ -45,7 +43,7 @@ public class GestorController {
                                                @SortDefault(sort = "id", direction = Sort.Direction.ASC)
                                                Pageable pageable) {
         return fachada.listarGestores(predicate, pageable)
-                .map(usuario -> new GestorResponse(usuario, modelMapper));
+                .map(usuario -> new GestorResponse(usuario));
     }
 
 
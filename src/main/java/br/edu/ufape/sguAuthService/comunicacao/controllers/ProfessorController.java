@@ -8,7 +8,6 @@ import br.edu.ufape.sguAuthService.fachada.Fachada;
 import br.edu.ufape.sguAuthService.models.Usuario;
 import com.querydsl.core.types.Predicate;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -30,12 +29,11 @@ import java.util.UUID;
 @RequestMapping("/professor")
 public class ProfessorController {
     private final Fachada fachada;
-    private final ModelMapper modelMapper;
 
     @GetMapping("/{id}")
     ResponseEntity<ProfessorResponse> buscarProfessor(@PathVariable UUID id) throws ProfessorNotFoundException, UsuarioNotFoundException {
         Usuario response = fachada.buscarProfessor(id);
-        return new ResponseEntity<>(new ProfessorResponse(response, modelMapper), HttpStatus.OK);
+        return new ResponseEntity<>(new ProfessorResponse(response), HttpStatus.OK);
     }
 
     @PreAuthorize("hasAnyRole('ADMINISTRADOR', 'GESTOR')")
@@ -44,6 +42,6 @@ public class ProfessorController {
                                                      @PageableDefault(value = 2)
                                                      @SortDefault(sort = "id", direction = Sort.Direction.ASC)
                                                      Pageable pageable) {
-        return fachada.listarProfessores(predicate, pageable).map(usuario -> new ProfessorResponse(usuario, modelMapper));
+        return fachada.listarProfessores(predicate, pageable).map(usuario -> new ProfessorResponse(usuario));
     }
 }
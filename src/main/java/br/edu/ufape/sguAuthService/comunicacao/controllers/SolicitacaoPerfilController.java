@@ -1,6 +1,7 @@
 package br.edu.ufape.sguAuthService.comunicacao.controllers;
 
 
+import br.edu.ufape.sguAuthService.comunicacao.dto.solicitacaoPerfil.SolicitacaoPerfilExportacaoResponse;
 import br.edu.ufape.sguAuthService.comunicacao.dto.aluno.AlunoRequest;
 import br.edu.ufape.sguAuthService.comunicacao.dto.documento.DocumentoResponse;
 import br.edu.ufape.sguAuthService.comunicacao.dto.gestor.GestorRequest;
@@ -9,15 +10,21 @@ import br.edu.ufape.sguAuthService.comunicacao.dto.solicitacaoPerfil.Solicitacao
 import br.edu.ufape.sguAuthService.comunicacao.dto.solicitacaoPerfil.SolicitacaoPerfilRequest;
 import br.edu.ufape.sguAuthService.comunicacao.dto.tecnico.TecnicoRequest;
 import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.CursoNotFoundException;
+import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.DocumentoNotFoundException;
 import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.SolicitacaoNotFoundException;
 import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.UsuarioNotFoundException;
+import br.edu.ufape.sguAuthService.comunicacao.download.DownloadUtils;
+import br.edu.ufape.sguAuthService.comunicacao.exportacao.ExportacaoUtils;
 import br.edu.ufape.sguAuthService.fachada.Fachada;
 import br.edu.ufape.sguAuthService.models.Aluno;
 import br.edu.ufape.sguAuthService.models.SolicitacaoPerfil;
+import br.edu.ufape.sguAuthService.servicos.armazenamento.VarianteImagem;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.querydsl.core.types.Predicate;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -28,63 +35,84 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
+import static br.edu.ufape.sguAuthService.comunicacao.idempotencia.IdempotenciaFilter.IDEMPOTENCY_KEY;
+
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/solicitacao")
 public class SolicitacaoPerfilController {
     private final Fachada fachada;
-    private final ModelMapper modelMapper;
+    private final ObjectMapper objectMapper;
+
 
     @PostMapping(value = "/aluno", consumes = "multipart/form-data")
-    public ResponseEntity<SolicitacaoPerfilResponse> solicitarPerfilAluno(@Valid @ModelAttribute AlunoRequest alunoRequest) throws CursoNotFoundException, UsuarioNotFoundException {
-        Aluno aluno = alunoRequest.convertToEntity(modelMapper, fachada);
-        return new ResponseEntity<>( new SolicitacaoPerfilResponse(fachada.solicitarPerfil(aluno,alunoRequest.getDocumentos()), modelMapper), HttpStatus.CREATED);
+    public ResponseEntity<SolicitacaoPerfilResponse> solicitarPerfilAluno(@Valid @ModelAttribute AlunoRequest alunoRequest,
+                                                                          @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String chaveIdempotencia) throws CursoNotFoundException, UsuarioNotFoundException {
+        Aluno aluno = alunoRequest.convertToEntity(fachada);
+        return new ResponseEntity<>( new SolicitacaoPerfilResponse(fachada.solicitarPerfil(aluno,alunoRequest.getDocumentos(), chaveIdempotencia)), HttpStatus.CREATED);
     }
 
 
     @PostMapping(value = "/professor", consumes = "multipart/form-data")
-    public ResponseEntity<SolicitacaoPerfilResponse> solicitarPerfilProfessor(@Valid @ModelAttribute ProfessorRequest professorRequest) throws  UsuarioNotFoundException {
-        return new ResponseEntity<>(new SolicitacaoPerfilResponse(fachada.solicitarPerfil(professorRequest.convertToEntity(modelMapper, fachada), professorRequest.getDocumentos()), modelMapper), HttpStatus.CREATED);
+    public ResponseEntity<SolicitacaoPerfilResponse> solicitarPerfilProfessor(@Valid @ModelAttribute ProfessorRequest professorRequest,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String chaveIdempotencia) throws  UsuarioNotFoundException {
+        return new ResponseEntity<>(new SolicitacaoPerfilResponse(fachada.solicitarPerfil(professorRequest.convertToEntity(fachada), professorRequest.getDocumentos(), chaveIdempotencia)), HttpStatus.CREATED);
     }
 
 
     @PostMapping(value = "/tecnico", consumes = "multipart/form-data")
-    public ResponseEntity<SolicitacaoPerfilResponse> solicitarPerfilTecnico(@Valid @ModelAttribute TecnicoRequest tecnicoRequest) throws  UsuarioNotFoundException {
-        return new ResponseEntity<>(new SolicitacaoPerfilResponse(fachada.solicitarPerfil(tecnicoRequest.convertToEntity(modelMapper),tecnicoRequest.getDocumentos()), modelMapper), HttpStatus.CREATED);
+    public ResponseEntity<SolicitacaoPerfilResponse> solicitarPerfilTecnico(@Valid @ModelAttribute TecnicoRequest tecnicoRequest,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String chaveIdempotencia) throws  UsuarioNotFoundException {
+        return new ResponseEntity<>(new SolicitacaoPerfilResponse(fachada.solicitarPerfil(tecnicoRequest.convertToEntity(),tecnicoRequest.getDocumentos(), chaveIdempotencia)), HttpStatus.CREATED);
     }
 
     @PostMapping(value = "/gestor", consumes = "multipart/form-data")
-    public ResponseEntity<SolicitacaoPerfilResponse> solicitarPerfilGestor(@Valid @ModelAttribute GestorRequest gestorRequest) throws  UsuarioNotFoundException {
-        return new ResponseEntity<>(new SolicitacaoPerfilResponse(fachada.solicitarPerfil(gestorRequest.convertToEntity(modelMapper),gestorRequest.getDocumentos()), modelMapper), HttpStatus.CREATED);
+    public ResponseEntity<SolicitacaoPerfilResponse> solicitarPerfilGestor(@Valid @ModelAttribute GestorRequest gestorRequest,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String chaveIdempotencia) throws  UsuarioNotFoundException {
+        return new ResponseEntity<>(new SolicitacaoPerfilResponse(fachada.solicitarPerfil(gestorRequest.convertToEntity(),gestorRequest.getDocumentos(), chaveIdempotencia)), HttpStatus.CREATED);
     }
 
     @PreAuthorize("hasRole('ADMINISTRADOR')")
     @PostMapping("/{id}/aprovar")
     public ResponseEntity<SolicitacaoPerfilResponse> aprovarSolicitacao(@PathVariable Long id, @RequestBody SolicitacaoPerfilRequest parecer) throws SolicitacaoNotFoundException, UsuarioNotFoundException {
-        return new ResponseEntity<>(new SolicitacaoPerfilResponse(fachada.aceitarSolicitacao(id, parecer.convertToEntity(modelMapper)), modelMapper), HttpStatus.OK);
+        return new ResponseEntity<>(new SolicitacaoPerfilResponse(fachada.aceitarSolicitacao(id, parecer.convertToEntity())), HttpStatus.OK);
     }
 
     @PreAuthorize("hasRole('ADMINISTRADOR')")
     @PostMapping("/{id}/rejeitar")
     public ResponseEntity<SolicitacaoPerfilResponse> rejeitarSolicitacao(@PathVariable Long id, @RequestBody SolicitacaoPerfilRequest parecer) throws SolicitacaoNotFoundException, UsuarioNotFoundException {
-        return new ResponseEntity<>(new SolicitacaoPerfilResponse(fachada.rejeitarSolicitacao(id, parecer.convertToEntity(modelMapper)), modelMapper), HttpStatus.OK);
+        return new ResponseEntity<>(new SolicitacaoPerfilResponse(fachada.rejeitarSolicitacao(id, parecer.convertToEntity())), HttpStatus.OK);
     }
 
     @GetMapping("/{id}/documentos")
-    public ResponseEntity<List<DocumentoResponse>> baixarTodosDocumentos(@PathVariable Long id) throws IOException, SolicitacaoNotFoundException {
-        return ResponseEntity.ok(fachada.listarDocumentosBase64(id));
+    public ResponseEntity<List<DocumentoResponse>> listarDocumentos(@PathVariable Long id) throws IOException, SolicitacaoNotFoundException {
+        return ResponseEntity.ok(fachada.listarDocumentos(id));
+    }
+
+    @GetMapping("/{id}/documentos/zip")
+    public ResponseEntity<StreamingResponseBody> baixarDocumentosZip(@PathVariable Long id) throws SolicitacaoNotFoundException, IOException {
+        return DownloadUtils.zip("solicitacao-" + id + "-documentos", fachada.localizarDocumentos(id));
+    }
+
+    // Imagens saem na variante de revisão por padrão; ?variante=original traz o arquivo enviado
+    @GetMapping("/{id}/documentos/{documentoId}")
+    public void baixarDocumento(@PathVariable Long id, @PathVariable Long documentoId,
+                                @RequestParam(defaultValue = VarianteImagem.PADRAO) String variante,
+                                HttpServletRequest request, HttpServletResponse response) throws IOException, SolicitacaoNotFoundException, DocumentoNotFoundException {
+        DownloadUtils.entregar(fachada.localizarDocumento(id, documentoId, VarianteImagem.de(variante)), request, response);
     }
 
 
     @GetMapping("/{id}")
     public ResponseEntity<SolicitacaoPerfilResponse> buscarSolicitacao(@PathVariable Long id) throws SolicitacaoNotFoundException {
-        return new ResponseEntity<>(new SolicitacaoPerfilResponse(fachada.buscarSolicitacao(id), modelMapper), HttpStatus.OK);
+        return new ResponseEntity<>(new SolicitacaoPerfilResponse(fachada.buscarSolicitacao(id)), HttpStatus.OK);
     }
 
     @PreAuthorize("hasRole('ADMINISTRADOR')")
@@ -94,7 +122,15 @@ public class SolicitacaoPerfilController {
                                                               @SortDefault(sort = "id", direction = Sort.Direction.ASC)
                                                               Pageable pageable) {
         return fachada.listarSolicitacoes(predicate, pageable)
-                .map(solicitacao -> new SolicitacaoPerfilResponse(solicitacao, modelMapper));
+                .map(solicitacao -> new SolicitacaoPerfilResponse(solicitacao));
+    }
+
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarSolicitacoes(@QuerydslPredicate(root = SolicitacaoPerfil.class) Predicate predicate,
+                                                     @RequestParam(defaultValue = ExportacaoUtils.FORMATO_CSV) String formato) {
+        return ExportacaoUtils.exportar("solicitacoes", formato, SolicitacaoPerfilExportacaoResponse.CABECALHO, SolicitacaoPerfilExportacaoResponse::colunas,
+                consumidor -> fachada.exportarSolicitacoes(predicate, consumidor), objectMapper);
     }
 
     @PreAuthorize("hasRole('ADMINISTRADOR')")
@@ -104,7 +140,7 @@ public class SolicitacaoPerfilController {
                                                                        @SortDefault(sort = "id", direction = Sort.Direction.ASC)
                                                                        Pageable pageable) {
         return fachada.listarSolicitacoesPendentes(predicate, pageable)
-                .map(solicitacao -> new SolicitacaoPerfilResponse(solicitacao, modelMapper));
+                .map(solicitacao -> new SolicitacaoPerfilResponse(solicitacao));
     }
 
 
@@ -114,7 +150,7 @@ public class SolicitacaoPerfilController {
                                                                        @SortDefault(sort = "id", direction = Sort.Direction.ASC)
                                                                        Pageable pageable) {
         return fachada.buscarSolicitacoesUsuarioAtual(predicate, pageable)
-                .map(solicitacao -> new SolicitacaoPerfilResponse(solicitacao, modelMapper));
+                .map(solicitacao -> new SolicitacaoPerfilResponse(solicitacao));
     }
 
     @PreAuthorize("hasRole('ADMINISTRADOR')")
@@ -125,6 +161,6 @@ public class SolicitacaoPerfilController {
                                                                        @SortDefault(sort = "id", direction = Sort.Direction.ASC)
                                                                        Pageable pageable) {
         return fachada.buscarSolicitacoesPorId(id, predicate, pageable)
-                .map(solicitacao -> new SolicitacaoPerfilResponse(solicitacao, modelMapper));
+                .map(solicitacao -> new SolicitacaoPerfilResponse(solicitacao));
     }
 }
@@ -8,7 +8,6 @@ import br.edu.ufape.sguAuthService.fachada.Fachada;
 import br.edu.ufape.sguAuthService.models.Usuario;
 import com.querydsl.core.types.Predicate;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -27,7 +26,6 @@ import java.util.UUID;
 @RequestMapping("/tecnico")
 public class TecnicoController {
     private final Fachada fachada;
-    private final ModelMapper modelMapper;
 
     @PreAuthorize("hasAnyRole('ADMINISTRADOR', 'GESTOR')")
     @GetMapping
@@ -36,19 +34,19 @@ public class TecnicoController {
                                                 @SortDefault(sort = "id", direction = Sort.Direction.ASC)
                                                 Pageable pageable) {
         return fachada.listarTecnicos(predicate, pageable)
-                .map(usuario -> new TecnicoResponse(usuario, modelMapper));
+                .map(usuario -> new TecnicoResponse(usuario));
     }
 
 
     @GetMapping("/{id}")
     TecnicoResponse buscarTecnico(@PathVariable UUID id) throws TecnicoNotFoundException, UsuarioNotFoundException {
-        return new TecnicoResponse(fachada.buscarTecnico(id), modelMapper);
+        return new TecnicoResponse(fachada.buscarTecnico(id));
     }
 
     @GetMapping("/current")
     ResponseEntity<TecnicoResponse> buscarTecnicoAtual() throws TecnicoNotFoundException, UsuarioNotFoundException {
         Usuario response = fachada.buscarTecnicoAtual();
-        return new ResponseEntity<>(new TecnicoResponse(response, modelMapper), HttpStatus.OK);
+        return new ResponseEntity<>(new TecnicoResponse(response), HttpStatus.OK);
     }
 
 }
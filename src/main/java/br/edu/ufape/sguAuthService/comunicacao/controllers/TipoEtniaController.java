@@ -1,14 +1,14 @@
 package br.edu.ufape.sguAuthService.comunicacao.controllers;
 
+import br.edu.ufape.sguAuthService.comunicacao.cache.ListagensReferencia;
 import br.edu.ufape.sguAuthService.comunicacao.dto.tipoEtnia.TipoEtniaRequest;
 import br.edu.ufape.sguAuthService.comunicacao.dto.tipoEtnia.TipoEtniaResponse;
 import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.TipoEtniaNotFoundException;
 import br.edu.ufape.sguAuthService.fachada.Fachada;
 import br.edu.ufape.sguAuthService.models.TipoEtnia;
 import com.querydsl.core.types.Predicate;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
@@ -24,7 +24,7 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class    TipoEtniaController {
     private final Fachada fachada;
-    private final ModelMapper modelMapper;
+    private final ListagensReferencia listagensReferencia;
 
     @GetMapping("/{id}")
     public ResponseEntity<TipoEtniaResponse> buscarTipoEtnia(@PathVariable Long id) throws TipoEtniaNotFoundException {
@@ -32,35 +32,34 @@ public class    TipoEtniaController {
         if (tipoEtnia == null) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
-        return new ResponseEntity<>(new TipoEtniaResponse(tipoEtnia, modelMapper), HttpStatus.OK);
+        return new ResponseEntity<>(new TipoEtniaResponse(tipoEtnia), HttpStatus.OK);
     }
 
     @GetMapping
-    public Page<TipoEtniaResponse> listarTiposEtnia(@QuerydslPredicate(root = TipoEtnia.class) Predicate predicate,
-                                                    @PageableDefault(value = 2)
-                                                    @SortDefault(sort = "id", direction = Sort.Direction.ASC)
-                                                    Pageable pageable) {
-        return fachada.listarTiposEtnia(predicate, pageable)
-                .map(tipoEtnia -> new TipoEtniaResponse(tipoEtnia, modelMapper));
+    public ResponseEntity<byte[]> listarTiposEtnia(@QuerydslPredicate(root = TipoEtnia.class) Predicate predicate,
+                                                   @PageableDefault(value = ListagensReferencia.TAMANHO_PAGINA)
+                                                   @SortDefault(sort = ListagensReferencia.ORDENACAO, direction = Sort.Direction.ASC)
+                                                   Pageable pageable, HttpServletRequest request) {
+        return listagensReferencia.tiposEtnia(predicate, pageable, request);
     }
 
     @PreAuthorize("hasAnyRole('GESTOR', 'ADMINISTRADOR')")
     @PostMapping
     public ResponseEntity<TipoEtniaResponse> criarTipoEtnia(@RequestBody TipoEtniaRequest tipoEtniaRequest) {
-        TipoEtnia tipoEtnia = tipoEtniaRequest.convertToEntity(tipoEtniaRequest, modelMapper);
+        TipoEtnia tipoEtnia = tipoEtniaRequest.convertToEntity();
         TipoEtnia novoTipoEtnia = fachada.salvarTipoEtnia(tipoEtnia);
-        return new ResponseEntity<>(new TipoEtniaResponse(novoTipoEtnia, modelMapper), HttpStatus.CREATED);
+        return new ResponseEntity<>(new TipoEtniaResponse(novoTipoEtnia), HttpStatus.CREATED);
     }
 
     @PreAuthorize("hasAnyRole('GESTOR', 'ADMINISTRADOR')")
     @PatchMapping("/{id}")
     public ResponseEntity<TipoEtniaResponse> atualizarTipoEtnia(@PathVariable Long id, @RequestBody TipoEtniaRequest tipoEtniaRequest) throws TipoEtniaNotFoundException {
-        TipoEtnia tipoEtnia = tipoEtniaRequest.convertToEntity(tipoEtniaRequest, modelMapper);
+        TipoEtnia tipoEtnia = tipoEtniaRequest.convertToEntity();
         TipoEtnia tipoEtniaAtualizado = fachada.atualizarTipoEtnia(id, tipoEtnia);
         if (tipoEtniaAtualizado == null) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
-        return new ResponseEntity<>(new TipoEtniaResponse(tipoEtniaAtualizado, modelMapper), HttpStatus.OK);
+        return new ResponseEntity<>(new TipoEtniaResponse(tipoEtniaAtualizado), HttpStatus.OK);
     }
 
     @PreAuthorize("hasAnyRole('GESTOR', 'ADMINISTRADOR')")
@@ -1,11 +1,11 @@
 package br.edu.ufape.sguAuthService.comunicacao.controllers;
 
 
+import br.edu.ufape.sguAuthService.comunicacao.cache.ListagensReferencia;
 import br.edu.ufape.sguAuthService.fachada.Fachada;
 import br.edu.ufape.sguAuthService.models.TipoUnidadeAdministrativa;
 import com.querydsl.core.types.Predicate;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
@@ -35,36 +35,34 @@ import lombok.RequiredArgsConstructor;
 @RequestMapping("/tipo-unidade-administrativa")
 public class TipoUnidadeAdministrativaController {
     private final Fachada fachada;
-    private final ModelMapper modelMapper;
+    private final ListagensReferencia listagensReferencia;
 
     @PreAuthorize("hasRole('ADMINISTRADOR')")
     @PostMapping
     public ResponseEntity<TipoUnidadeAdministrativaResponse> salvar(@Valid @RequestBody TipoUnidadeAdministrativaRequest tipoUnidadeAdministrativa){
-        TipoUnidadeAdministrativa response = fachada.salvarTipo(tipoUnidadeAdministrativa.convertToEntity(tipoUnidadeAdministrativa, modelMapper));
-        return new ResponseEntity<>(new TipoUnidadeAdministrativaResponse(response, modelMapper), HttpStatus.CREATED);
+        TipoUnidadeAdministrativa response = fachada.salvarTipo(tipoUnidadeAdministrativa.convertToEntity());
+        return new ResponseEntity<>(new TipoUnidadeAdministrativaResponse(response), HttpStatus.CREATED);
     }
 
     @PreAuthorize("hasRole('ADMINISTRADOR')")
     @PatchMapping("/{id}")
     public ResponseEntity<TipoUnidadeAdministrativaResponse> editar(@PathVariable Long id, @Valid @RequestBody TipoUnidadeAdministrativaRequest tipoUnidadeAdministrativa) throws TipoUnidadeAdministrativaNotFoundException {
-        TipoUnidadeAdministrativa response = fachada.editarTipo(id, tipoUnidadeAdministrativa.convertToEntity(tipoUnidadeAdministrativa, modelMapper));
-        return new ResponseEntity<>(new TipoUnidadeAdministrativaResponse(response, modelMapper), HttpStatus.OK);
+        TipoUnidadeAdministrativa response = fachada.editarTipo(id, tipoUnidadeAdministrativa.convertToEntity());
+        return new ResponseEntity<>(new TipoUnidadeAdministrativaResponse(response), HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<TipoUnidadeAdministrativaResponse> buscar(@PathVariable Long id) throws TipoUnidadeAdministrativaNotFoundException {
         TipoUnidadeAdministrativa response = fachada.buscarTipo(id);
-        return new ResponseEntity<>(new TipoUnidadeAdministrativaResponse(response, modelMapper), HttpStatus.OK);
+        return new ResponseEntity<>(new TipoUnidadeAdministrativaResponse(response), HttpStatus.OK);
     }
 
     @GetMapping
-    public ResponseEntity<Page<TipoUnidadeAdministrativaResponse>> listar(@QuerydslPredicate(root = TipoUnidadeAdministrativa.class) Predicate predicate,
-                                                                          @PageableDefault(value = 2)
-                                                                          @SortDefault(sort = "id", direction = Sort.Direction.ASC)
-                                                                          Pageable pageable) {
-        Page<TipoUnidadeAdministrativa> tipos = fachada.listarTipos(predicate, pageable);
-        Page<TipoUnidadeAdministrativaResponse> response = tipos.map(tipo -> new TipoUnidadeAdministrativaResponse(tipo, modelMapper));
-        return ResponseEntity.ok(response);
+    public ResponseEntity<byte[]> listar(@QuerydslPredicate(root = TipoUnidadeAdministrativa.class) Predicate predicate,
+                                         @PageableDefault(value = ListagensReferencia.TAMANHO_PAGINA)
+                                         @SortDefault(sort = ListagensReferencia.ORDENACAO, direction = Sort.Direction.ASC)
+                                         Pageable pageable, HttpServletRequest request) {
+        return listagensReferencia.tiposUnidade(predicate, pageable, request);
     }
 
     @PreAuthorize("hasRole('ADMINISTRADOR')")
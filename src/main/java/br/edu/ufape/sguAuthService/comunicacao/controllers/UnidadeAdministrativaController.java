@@ -1,5 +1,6 @@
 package br.edu.ufape.sguAuthService.comunicacao.controllers;
 
+import br.edu.ufape.sguAuthService.comunicacao.cache.ListagensReferencia;
 import br.edu.ufape.sguAuthService.comunicacao.dto.funcionario.FuncionarioResponse;
 import br.edu.ufape.sguAuthService.comunicacao.dto.gestorUnidade.GestorUnidadeRequest;
 import br.edu.ufape.sguAuthService.comunicacao.dto.gestorUnidade.GestorUnidadeResponse;
@@ -9,9 +10,9 @@ import br.edu.ufape.sguAuthService.exceptions.unidadeAdministrativa.UnidadeAdmin
 import br.edu.ufape.sguAuthService.fachada.Fachada;
 import br.edu.ufape.sguAuthService.models.*;
 import com.querydsl.core.types.Predicate;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -33,22 +34,22 @@ import java.util.stream.Collectors;
 
 public class UnidadeAdministrativaController {
     private final Fachada fachada;
-    private final ModelMapper modelMapper;
+    private final ListagensReferencia listagensReferencia;
 
 
     @PostMapping
     public ResponseEntity<UnidadeAdministrativaResponse> salvar(@Valid @RequestBody UnidadeAdministrativaRequest unidadeAdministrativaRequest) throws UnidadeAdministrativaNotFoundException {
-        UnidadeAdministrativa unidade = unidadeAdministrativaRequest.convertToEntity(unidadeAdministrativaRequest, modelMapper);
+        UnidadeAdministrativa unidade = unidadeAdministrativaRequest.convertToEntity();
         Long unidadePai = unidadeAdministrativaRequest.getUnidadePaiId();
         UnidadeAdministrativa response = fachada.salvar(unidade, unidadePai);
-        return new ResponseEntity<>(new UnidadeAdministrativaResponse(response, modelMapper), HttpStatus.CREATED);
+        return new ResponseEntity<>(new UnidadeAdministrativaResponse(response), HttpStatus.CREATED);
     }
      @PatchMapping(value = "/{id}", consumes = "application/json", produces = "application/json")
     public ResponseEntity<UnidadeAdministrativaGetResponse> editar(@PathVariable Long id, @Valid @RequestBody UnidadeAdministrativaPatchRequest unidadeAdministrativaPatchRequest) {
         try {
-            UnidadeAdministrativa unidade = modelMapper.map(unidadeAdministrativaPatchRequest, UnidadeAdministrativa.class);
+            UnidadeAdministrativa unidade = unidadeAdministrativaPatchRequest.convertToEntity();
             UnidadeAdministrativa response = fachada.editarUnidadeAdministrativa(id, unidade);
-            return new ResponseEntity<>(new UnidadeAdministrativaGetResponse(response, modelMapper), HttpStatus.OK);
+            return new ResponseEntity<>(new UnidadeAdministrativaGetResponse(response), HttpStatus.OK);
         } catch (UnidadeAdministrativaNotFoundException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
@@ -57,20 +58,18 @@ public class UnidadeAdministrativaController {
     @GetMapping(value = "/{id}", produces = "application/json")
     public ResponseEntity<UnidadeAdministrativaGetResponse> buscarUnidadeAdministrativa(@PathVariable Long id) throws UnidadeAdministrativaNotFoundException {
         UnidadeAdministrativa response = fachada.buscarUnidadeAdministrativa(id);
-        return new ResponseEntity<>(new UnidadeAdministrativaGetResponse(response, modelMapper), HttpStatus.OK);
+        return new ResponseEntity<>(new UnidadeAdministrativaGetResponse(response), HttpStatus.OK);
     }
 
     @GetMapping
-    public List<UnidadeAdministrativaGetAllResponse> listarUnidadesAdministrativas() {
-        return fachada.listarUnidadesAdministrativas().stream()
-                .map(unidadeAdministrativa -> new UnidadeAdministrativaGetAllResponse(unidadeAdministrativa, modelMapper))
-                .toList();
+    public ResponseEntity<byte[]> listarUnidadesAdministrativas(HttpServletRequest request) {
+        return listagensReferencia.unidades(request);
     }
 
     @GetMapping(value = "/montarArvore", produces  = "application/json")
     public ResponseEntity<List<UnidadeAdministrativaResponse>> montarArvore() {
         List<UnidadeAdministrativaResponse> response = fachada.montarArvore().stream()
-                .map(unidade -> new UnidadeAdministrativaResponse(unidade, modelMapper))
+                .map(unidade -> new UnidadeAdministrativaResponse(unidade))
                 .collect(Collectors.toList());
 
         return ResponseEntity.ok(response);
@@ -79,13 +78,41 @@ public class UnidadeAdministrativaController {
     @GetMapping(value = "/listarUnidadesFilhas/{id}", produces = "application/json")
     public ResponseEntity<List<UnidadeAdministrativaGetResponse>> listarUnidadesFilhas(@PathVariable Long id) {
         List<UnidadeAdministrativaGetResponse> response = fachada.listarUnidadesFilhas(id).stream()
-                .map(unidade -> new UnidadeAdministrativaGetResponse(unidade, modelMapper))
+                .map(unidade -> new UnidadeAdministrativaGetResponse(unidade))
                 .collect(Collectors.toList());
 
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
 
+    @GetMapping(value = "/{id}/subarvore", produces = "application/json")
+    public ResponseEntity<List<UnidadeAdministrativaGetAllResponse>> listarSubarvore(@PathVariable Long id) throws UnidadeAdministrativaNotFoundException {
+        List<UnidadeAdministrativaGetAllResponse> response = fachada.listarSubarvore(id).stream()
+                .map(unidade -> new UnidadeAdministrativaGetAllResponse(unidade))
+                .toList();
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/{id}/ancestrais", produces = "application/json")
+    public ResponseEntity<List<UnidadeAdministrativaGetAllResponse>> listarAncestrais(@PathVariable Long id) throws UnidadeAdministrativaNotFoundException {
+        List<UnidadeAdministrativaGetAllResponse> response = fachada.listarAncestrais(id).stream()
+                .map(unidade -> new UnidadeAdministrativaGetAllResponse(unidade))
+                .toList();
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/{id}/subarvore/contagem", produces = "application/json")
+    public ResponseEntity<UnidadeAdministrativaContagemResponse> contarSubarvore(@PathVariable Long id) throws UnidadeAdministrativaNotFoundException {
+        return ResponseEntity.ok(fachada.contarSubarvore(id));
+    }
+
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    @PatchMapping(value = "/{id}/unidade-pai", produces = "application/json")
+    public ResponseEntity<UnidadeAdministrativaGetAllResponse> moverUnidadeAdministrativa(@PathVariable Long id, @Valid @RequestBody UnidadeAdministrativaMoverRequest request) throws UnidadeAdministrativaNotFoundException {
+        UnidadeAdministrativa response = fachada.moverUnidadeAdministrativa(id, request.getUnidadePaiId());
+        return ResponseEntity.ok(new UnidadeAdministrativaGetAllResponse(response));
+    }
+
     @DeleteMapping(value = "/{id}", produces = "application/json")
     public ResponseEntity<Void> deletarUnidadeAdministrativa(@PathVariable Long id) throws UnidadeAdministrativaNotFoundException {
         fachada.deletarUnidadeAdministrativa(id);
@@ -95,8 +122,8 @@ public class UnidadeAdministrativaController {
     @PreAuthorize("hasRole('ADMINISTRADOR')")
     @PostMapping("/{id}/gestores")
     public ResponseEntity<GestorUnidadeResponse> alocarGestor(@PathVariable Long id, @RequestBody @Valid GestorUnidadeRequest request) {
-        GestorUnidade gestor = request.convertToEntity(request, modelMapper);
-        GestorUnidadeResponse gestorUnidade = new GestorUnidadeResponse(fachada.adicionarGestor(id, gestor, request.getUsuarioId()), modelMapper);
+        GestorUnidade gestor = request.convertToEntity();
+        GestorUnidadeResponse gestorUnidade = new GestorUnidadeResponse(fachada.adicionarGestor(id, gestor, request.getUsuarioId()));
         return ResponseEntity.status(HttpStatus.CREATED).body(gestorUnidade);
     }
 
@@ -115,7 +142,7 @@ public class UnidadeAdministrativaController {
                                                       @SortDefault(sort = "id", direction = Sort.Direction.ASC)
                                                       Pageable pageable)  {
         return fachada.listarGestoresPorUnidade(id, predicate, pageable)
-                .map(g -> new GestorUnidadeResponse(g, modelMapper));
+                .map(g -> new GestorUnidadeResponse(g));
     }
 
 
@@ -124,7 +151,7 @@ public class UnidadeAdministrativaController {
     public ResponseEntity<UsuarioResponse> alocarFuncionarios( @PathVariable Long id, @RequestBody Map<String, String> body) {
         UUID usuarioId = UUID.fromString(body.get("usuarioId"));
         Usuario funcionario = fachada.adicionarFuncionario(id, usuarioId);
-        return ResponseEntity.ok(new UsuarioResponse(funcionario, modelMapper));
+        return ResponseEntity.ok(new UsuarioResponse(funcionario));
     }
 
     @PreAuthorize("hasRole('GESTOR')")
@@ -143,7 +170,7 @@ public class UnidadeAdministrativaController {
                                                         @SortDefault(sort = "id", direction = Sort.Direction.ASC)
                                                         Pageable pageable) {
         return fachada.listarFuncionariosPorUnidade(id, predicate, pageable)
-                .map(funcionario -> new FuncionarioResponse(funcionario.getUsuario(), modelMapper));
+                .map(funcionario -> new FuncionarioResponse(funcionario.getUsuario()));
     }
 
     @PreAuthorize("hasAnyRole('GESTOR')")
@@ -153,7 +180,7 @@ public class UnidadeAdministrativaController {
                                                                                  @SortDefault(sort = "id", direction = Sort.Direction.ASC)
                                                                                  Pageable pageable) {
         return fachada.listarUnidadesDoGestorAtual(predicate, pageable)
-                .map(u -> new UnidadeAdministrativaGetAllResponse(u, modelMapper));
+                .map(u -> new UnidadeAdministrativaGetAllResponse(u));
     }
 
     @PreAuthorize("hasAnyRole('TECNICO', 'PROFESSOR')")
@@ -163,7 +190,7 @@ public class UnidadeAdministrativaController {
                                                                                       @SortDefault(sort = "id", direction = Sort.Direction.ASC)
                                                                                       Pageable pageable) {
         return fachada.listarUnidadesDoFuncionarioAtual(predicate, pageable)
-                .map(u -> new UnidadeAdministrativaGetAllResponse(u, modelMapper));
+                .map(u -> new UnidadeAdministrativaGetAllResponse(u));
     }
 
     @PreAuthorize("hasAnyRole('ADMINISTRADOR', 'GESTOR')")
@@ -175,7 +202,7 @@ public class UnidadeAdministrativaController {
                                                                                      Pageable pageable) {
         UUID id = fachada.parseUUID(usuarioId, "ID do usuário inválido.");
         return fachada.listarUnidadesDoGestorPorId(id, predicate, pageable)
-                .map(u -> new UnidadeAdministrativaGetAllResponse(u, modelMapper));
+                .map(u -> new UnidadeAdministrativaGetAllResponse(u));
     }
 
     @PreAuthorize("hasAnyRole('ADMINISTRADOR', 'TECNICO', 'PROFESSOR')")
@@ -187,6 +214,6 @@ public class UnidadeAdministrativaController {
                                                                                           Pageable pageable) {
         UUID id = fachada.parseUUID(usuarioId, "ID do usuário inválido.");
         return fachada.listarUnidadesDoFuncionarioPorId(id, predicate, pageable)
-                .map(u -> new UnidadeAdministrativaGetAllResponse(u, modelMapper));
+                .map(u -> new UnidadeAdministrativaGetAllResponse(u));
     }
 }
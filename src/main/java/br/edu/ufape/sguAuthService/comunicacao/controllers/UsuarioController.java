@@ -4,17 +4,19 @@ package br.edu.ufape.sguAuthService.comunicacao.controllers;
 
 
 
+import br.edu.ufape.sguAuthService.comunicacao.dto.usuario.UsuarioExportacaoResponse;
 import br.edu.ufape.sguAuthService.comunicacao.dto.usuario.UsuarioPatchRequest;
 import br.edu.ufape.sguAuthService.comunicacao.dto.usuario.UsuarioRequest;
 import br.edu.ufape.sguAuthService.comunicacao.dto.usuario.UsuarioResponse;
 import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.UsuarioNotFoundException;
+import br.edu.ufape.sguAuthService.comunicacao.exportacao.ExportacaoUtils;
 import br.edu.ufape.sguAuthService.fachada.Fachada;
 
 import br.edu.ufape.sguAuthService.models.Usuario;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.querydsl.core.types.Predicate;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -25,26 +27,30 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController@RequiredArgsConstructor
 @RequestMapping("/usuario")
 public class UsuarioController {
     private final Fachada fachada;
-    private final ModelMapper modelMapper;
+    private final ObjectMapper objectMapper;
+
+    private static final int LIMITE_MAXIMO_BUSCA = 50;
 
     @PostMapping
     public ResponseEntity<UsuarioResponse> salvar(@Valid @RequestBody UsuarioRequest usuarioRequest) {
-        Usuario usuario = usuarioRequest.convertToEntity(usuarioRequest, modelMapper);
+        Usuario usuario = usuarioRequest.convertToEntity();
         Usuario response = fachada.salvarUsuario(usuario, usuarioRequest.getTipoEtniaId(), usuarioRequest.getSenha());
-        return new ResponseEntity<>(new UsuarioResponse(response, modelMapper), HttpStatus.CREATED);
+        return new ResponseEntity<>(new UsuarioResponse(response), HttpStatus.CREATED);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<UsuarioResponse> buscar(@PathVariable UUID id) throws UsuarioNotFoundException {
         Usuario response = fachada.buscarUsuario(id);
-        return new ResponseEntity<>(new UsuarioResponse(response, modelMapper), HttpStatus.OK);
+        return new ResponseEntity<>(new UsuarioResponse(response), HttpStatus.OK);
     }
 
     @PreAuthorize("hasRole('ADMINISTRADOR')")
@@ -55,14 +61,31 @@ public class UsuarioController {
             @SortDefault(sort = "id", direction = Sort.Direction.ASC)
             Pageable pageable) {
 
-        return fachada.listarUsuarios(predicate, pageable).map(usuario -> new UsuarioResponse(usuario, modelMapper));
+        return fachada.listarUsuarios(predicate, pageable).map(usuario -> new UsuarioResponse(usuario));
+
+    }
 
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarUsuarios(@QuerydslPredicate(root = Usuario.class) Predicate predicate,
+                                                     @RequestParam(defaultValue = ExportacaoUtils.FORMATO_CSV) String formato) {
+        return ExportacaoUtils.exportar("usuarios", formato, UsuarioExportacaoResponse.CABECALHO, UsuarioExportacaoResponse::colunas,
+                consumidor -> fachada.exportarUsuarios(predicate, consumidor), objectMapper);
+    }
+
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    @GetMapping("/busca")
+    public List<UsuarioResponse> buscarUsuarios(@RequestParam String termo,
+                                                @RequestParam(defaultValue = "10") int limite) {
+        return fachada.buscarUsuariosPorTermo(termo, Math.min(limite, LIMITE_MAXIMO_BUSCA)).stream()
+                .map(usuario -> new UsuarioResponse(usuario))
+                .toList();
     }
 
     @GetMapping("/current")
     public ResponseEntity<UsuarioResponse> buscarUsuarioAtual() throws UsuarioNotFoundException {
         Usuario response = fachada.buscarUsuarioAtual();
-        return new ResponseEntity<>(new UsuarioResponse(response, modelMapper), HttpStatus.OK);
+        return new ResponseEntity<>(new UsuarioResponse(response), HttpStatus.OK);
     }
 
 
@@ -70,7 +93,7 @@ public class UsuarioController {
     public ResponseEntity<UsuarioResponse> atualizar(@RequestBody UsuarioPatchRequest usuario)
             throws UsuarioNotFoundException {
         Usuario atualizado = fachada.editarUsuario(usuario);
-        return ResponseEntity.ok(new UsuarioResponse(atualizado, modelMapper));
+        return ResponseEntity.ok(new UsuarioResponse(atualizado));
     }
 
     @DeleteMapping
@@ -0,0 +1,218 @@
+package br.edu.ufape.sguAuthService.comunicacao.download;
+
+import br.edu.ufape.sguAuthService.servicos.armazenamento.ArquivoArmazenado;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.commons.io.FilenameUtils;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Entrega um arquivo armazenado direto na resposta, sem carregá-lo em memória. Responde 304 quando o ETag
+ * do cliente ainda vale, 206 para um único intervalo em Range e 416 para intervalos fora do arquivo.
+ * Arquivos locais saem por sendfile no Tomcat (zero-copy) ou FileChannel.transferTo; os remotos, por
+ * leitura do intervalo no backend, ou redirecionando para a URL pré-assinada quando ele oferece uma.
+ * Também monta o ZIP de vários arquivos em streaming.
+ */
+public class DownloadUtils {
+    // Atributos de request do suporte a sendfile do Tomcat, os mesmos usados pelo DefaultServlet
+    static final String SENDFILE_SUPORTADO = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_ARQUIVO = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_INICIO = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_FIM = "org.apache.tomcat.sendfile.end";
+    // Abaixo disso a cópia comum sai mais barata que preparar o sendfile (mesmo limite padrão do Tomcat)
+    private static final long TAMANHO_MINIMO_SENDFILE = 48 * 1024;
+    // Deflate nesses formatos gasta CPU para ganhar quase nada
+    private static final Set<String> FORMATOS_COMPRIMIDOS = Set.of("pdf", "jpg", "jpeg", "png");
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    // Marca um Range que não cabe no arquivo (416); comparado por identidade
+    private static final HttpRange INTERVALO_INVALIDO = HttpRange.createByteRange(Long.MAX_VALUE);
+    private static final Pattern ENDERECADO_POR_CONTEUDO = Pattern.compile("[0-9a-f]{64}\\.[A-Za-z0-9]+");
+
+    public static void entregar(ArquivoArmazenado arquivo, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<URI> urlAssinada = arquivo.urlAssinada();
+        if (urlAssinada.isPresent()) {
+            // A URL expira; não pode ficar em cache. O armazenamento atende Range e ETag por conta própria
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+            response.sendRedirect(urlAssinada.get().toString());
+            return;
+        }
+        long tamanho = arquivo.getTamanho();
+        long modificadoEm = arquivo.getModificadoEm();
+        String etag = etag(arquivo.getNome(), tamanho, modificadoEm);
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        // Preenche ETag e Last-Modified; se o cliente já tem esta versão, deixa o 304 (ou 412) pronto
+        if (new ServletWebRequest(request, response).checkNotModified(etag, modificadoEm)) {
+            return;
+        }
+
+        String nome = arquivo.getNome();
+        response.setContentType(MediaTypeFactory.getMediaType(nome).orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline().filename(nome).build().toString());
+
+        long inicio = 0;
+        long fim = tamanho;
+        HttpRange intervalo = intervalo(request, etag, tamanho);
+        if (intervalo == INTERVALO_INVALIDO) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + tamanho);
+            return;
+        }
+        if (intervalo != null) {
+            inicio = intervalo.getRangeStart(tamanho);
+            fim = intervalo.getRangeEnd(tamanho) + 1;
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + inicio + "-" + (fim - 1) + "/" + tamanho);
+        }
+        response.setContentLengthLong(fim - inicio);
+
+        if (HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+        Optional<Path> local = arquivo.caminhoLocal();
+        if (local.isEmpty()) {
+            try (InputStream entrada = arquivo.abrir(inicio, fim)) {
+                entrada.transferTo(response.getOutputStream());
+            }
+            return;
+        }
+        if (fim - inicio >= TAMANHO_MINIMO_SENDFILE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPORTADO))) {
+            request.setAttribute(SENDFILE_ARQUIVO, local.get().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_INICIO, inicio);
+            request.setAttribute(SENDFILE_FIM, fim);
+            return;
+        }
+        try (FileChannel canal = FileChannel.open(local.get(), StandardOpenOption.READ)) {
+            WritableByteChannel saida = Channels.newChannel(response.getOutputStream());
+            long posicao = inicio;
+            while (posicao < fim) {
+                posicao += canal.transferTo(posicao, fim - posicao, saida);
+            }
+        }
+    }
+
+    /**
+     * ZIP com os arquivos, escrito direto na resposta enquanto cada arquivo é lido. Formatos que já vêm
+     * comprimidos entram como STORED quando o arquivo é local: o CRC é calculado numa primeira leitura em
+     * streaming e os bytes são copiados na segunda, já do page cache. Remotos não são lidos duas vezes;
+     * vão como DEFLATED sem compressão. Nenhum arquivo temporário nem arquivo inteiro em memória.
+     * Documentos com o mesmo conteúdo apontam para o mesmo hash.extensão e entram uma vez só: o ZIP não
+     * aceita entradas repetidas e a falha viria com o 200 já enviado.
+     */
+    public static ResponseEntity<StreamingResponseBody> zip(String nomeArquivo, List<ArquivoArmazenado> arquivos) {
+        StreamingResponseBody corpo = saida -> {
+            ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(saida, TAMANHO_BUFFER));
+            Set<String> incluidos = new HashSet<>();
+            for (ArquivoArmazenado arquivo : arquivos) {
+                if (!incluidos.add(arquivo.getNome())) continue;
+                ZipEntry entrada = new ZipEntry(arquivo.getNome());
+                entrada.setLastModifiedTime(FileTime.fromMillis(arquivo.getModificadoEm()));
+                boolean comprimido = jaComprimido(arquivo.getNome());
+                Optional<Path> local = arquivo.caminhoLocal();
+                if (comprimido && local.isPresent()) {
+                    entrada.setMethod(ZipEntry.STORED);
+                    entrada.setSize(arquivo.getTamanho());
+                    entrada.setCrc(crc(local.get()));
+                } else {
+                    zip.setLevel(comprimido ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+                }
+                zip.putNextEntry(entrada);
+                try (InputStream conteudo = arquivo.abrir(0, arquivo.getTamanho())) {
+                    conteudo.transferTo(zip);
+                }
+                zip.closeEntry();
+            }
+            zip.finish();
+            zip.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(nomeArquivo + ".zip").build().toString())
+                .header(HttpHeaders.CACHE_CONTROL, "private, no-store")
+                .body(corpo);
+    }
+
+    private static boolean jaComprimido(String nome) {
+        return FORMATOS_COMPRIMIDOS.contains(FilenameUtils.getExtension(nome).toLowerCase());
+    }
+
+    private static long crc(Path arquivo) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream entrada = Files.newInputStream(arquivo)) {
+            byte[] buffer = new byte[TAMANHO_BUFFER];
+            int lidos;
+            while ((lidos = entrada.read(buffer)) != -1) {
+                crc.update(buffer, 0, lidos);
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * ETag forte. Arquivos endereçados por conteúdo (hash.extensão) usam o próprio SHA-256: a data de
+     * modificação muda sempre que o mesmo conteúdo é enviado de novo, e o cache do cliente continua valendo.
+     * Os demais (nomes do layout antigo, variantes de imagem) nunca são reescritos no lugar, então tamanho e
+     * data de modificação identificam o conteúdo.
+     */
+    static String etag(String nome, long tamanho, long modificadoEm) {
+        if (ENDERECADO_POR_CONTEUDO.matcher(nome).matches()) {
+            return "\"" + nome.substring(0, nome.indexOf('.')) + "\"";
+        }
+        return "\"" + Long.toHexString(tamanho) + "-" + Long.toHexString(modificadoEm) + "\"";
+    }
+
+    /**
+     * Único intervalo pedido em Range, null para responder o arquivo inteiro (sem Range, If-Range de outra
+     * versão ou vários intervalos, que a RFC 9110 permite ignorar) ou INTERVALO_INVALIDO para 416.
+     */
+    private static HttpRange intervalo(HttpServletRequest request, String etag, long tamanho) {
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range == null) return null;
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) return null;
+
+        List<HttpRange> intervalos;
+        try {
+            intervalos = HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (intervalos.size() != 1) return null;
+        HttpRange intervalo = intervalos.getFirst();
+        try {
+            return intervalo.getRangeStart(tamanho) < tamanho ? intervalo : INTERVALO_INVALIDO;
+        } catch (IllegalArgumentException e) {
+            return INTERVALO_INVALIDO;
+        }
+    }
+}
@@ -11,7 +11,6 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.modelmapper.ModelMapper;
 import org.springframework.web.multipart.MultipartFile;
 
 
@@ -29,12 +28,10 @@ public class AlunoRequest {
     @Size(min = 1, message = "Pelo menos um documento deve ser fornecido")
     private MultipartFile[] documentos;
 
-    public Aluno convertToEntity( ModelMapper modelMapper, Fachada fachada) throws CursoNotFoundException {
+    public Aluno convertToEntity(Fachada fachada) throws CursoNotFoundException {
         Curso curso = fachada.buscarCurso(this.getCursoId());
-        modelMapper.typeMap(AlunoRequest.class, Aluno.class).addMappings(mapper -> {
-            mapper.skip(Aluno::setId);  // Ignora o campo ID
-        });
-        Aluno aluno = modelMapper.map(this, Aluno.class);
+        Aluno aluno = new Aluno();
+        aluno.setMatricula(matricula);
         aluno.setCurso(curso);
         return aluno;
     }
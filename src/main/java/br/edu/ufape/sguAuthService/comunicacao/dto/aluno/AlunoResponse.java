@@ -7,18 +7,17 @@ import br.edu.ufape.sguAuthService.models.Usuario;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.modelmapper.ModelMapper;
 
 @Getter @Setter @NoArgsConstructor
 public class AlunoResponse extends UsuarioResponse {
     String matricula;
     CursoResponse curso;
 
-    public AlunoResponse(Usuario usuario, ModelMapper modelMapper){
+    public AlunoResponse(Usuario usuario){
         if (usuario == null) throw new IllegalArgumentException("Aluno não pode ser nulo");
-        else modelMapper.map(usuario, this);
+        else copiarDadosUsuario(usuario);
         Aluno aluno = usuario.getPerfil(Aluno.class).orElseThrow();
         this.matricula = aluno.getMatricula();
-        this.curso = new CursoResponse(aluno.getCurso(), modelMapper);
+        this.curso = new CursoResponse(aluno.getCurso());
     }
 }
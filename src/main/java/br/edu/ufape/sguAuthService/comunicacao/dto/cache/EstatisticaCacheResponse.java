@@ -0,0 +1,16 @@
+package br.edu.ufape.sguAuthService.comunicacao.dto.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class EstatisticaCacheResponse {
+    private String regiao;
+    private long acertos;
+    private long falhas;
+    private long insercoes;
+    private long elementosEmMemoria;
+    private double taxaAcerto;
+}
@@ -12,7 +12,6 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.modelmapper.ModelMapper;
 
 @Getter @Setter @AllArgsConstructor @NoArgsConstructor
 public class CursoRequest {
@@ -25,7 +24,10 @@ public class CursoRequest {
     @Positive(message = "O valor do número de períodos deve ser positivo")
     private int numeroPeriodos;
 
-    public Curso convertToEntity(CursoRequest cursoRequest, ModelMapper modelMapper) {
-        return modelMapper.map(cursoRequest, Curso.class);
+    public Curso convertToEntity() {
+        Curso curso = new Curso();
+        curso.setNome(nome);
+        curso.setNumeroPeriodos(numeroPeriodos);
+        return curso;
     }
 }
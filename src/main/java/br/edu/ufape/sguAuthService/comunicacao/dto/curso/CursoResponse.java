@@ -3,7 +3,6 @@ package br.edu.ufape.sguAuthService.comunicacao.dto.curso;
 import br.edu.ufape.sguAuthService.models.Curso;
 import lombok.Getter;
 import lombok.Setter;
-import org.modelmapper.ModelMapper;
 
 
 @Getter @Setter
@@ -12,8 +11,10 @@ public class CursoResponse {
     String nome;
     int numeroPeriodos;
 
-    public CursoResponse(Curso curso, ModelMapper modelMapper){
+    public CursoResponse(Curso curso){
         if (curso == null) throw new IllegalArgumentException("Curso não pode ser nulo");
-        else modelMapper.map(curso, this);
+        this.id = curso.getId();
+        this.nome = curso.getNome();
+        this.numeroPeriodos = curso.getNumeroPeriodos();
     }
 }
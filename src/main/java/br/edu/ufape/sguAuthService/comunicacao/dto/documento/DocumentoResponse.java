@@ -1,14 +1,26 @@
 package br.edu.ufape.sguAuthService.comunicacao.dto.documento;
 
 
-import lombok.AllArgsConstructor;
+import br.edu.ufape.sguAuthService.models.Documento;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+/** Só os metadados; o conteúdo é baixado em GET /solicitacao/{id}/documentos/{documentoId}. */
+@Getter @Setter @NoArgsConstructor
 public class DocumentoResponse {
+    private Long id;
+
     private String nome;
 
-    private String base64;
+    private String tipo;
+
+    private long tamanho;
+
+    public DocumentoResponse(Documento documento, String tipo, long tamanho) {
+        this.id = documento.getId();
+        this.nome = documento.getNome();
+        this.tipo = tipo;
+        this.tamanho = tamanho;
+    }
 }
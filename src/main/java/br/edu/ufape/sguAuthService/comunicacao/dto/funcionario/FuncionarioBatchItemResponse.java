@@ -0,0 +1,15 @@
+package br.edu.ufape.sguAuthService.comunicacao.dto.funcionario;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class FuncionarioBatchItemResponse {
+    private UUID id;
+    private boolean encontrado;
+    private FuncionarioResponse funcionario;
+}
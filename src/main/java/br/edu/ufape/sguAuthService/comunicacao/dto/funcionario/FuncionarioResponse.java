@@ -7,7 +7,6 @@ import br.edu.ufape.sguAuthService.models.Usuario;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.modelmapper.ModelMapper;
 
 @Getter
 @Setter
@@ -15,9 +14,9 @@ import org.modelmapper.ModelMapper;
 public class FuncionarioResponse extends UsuarioResponse {
     String siape;
 
-    public FuncionarioResponse(Usuario usuario, ModelMapper modelMapper){
+    public FuncionarioResponse(Usuario usuario){
         if (usuario == null) throw new IllegalArgumentException("Tecnico não pode ser nulo");
-        else modelMapper.map(usuario, this);
+        else copiarDadosUsuario(usuario);
 
         if (usuario.getPerfil(Tecnico.class).isEmpty()) {
             Professor professor = usuario.getPerfil(Professor.class).orElseThrow();
@@ -8,7 +8,6 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.modelmapper.ModelMapper;
 import org.springframework.web.multipart.MultipartFile;
 
 @Getter @Setter @AllArgsConstructor @NoArgsConstructor
@@ -20,12 +19,9 @@ public class GestorRequest {
     @NotNull(message = "Os documentos são obrigatórios")
     private MultipartFile[] documentos;
 
-    public Gestor convertToEntity(ModelMapper modelMapper)  {
-
-        modelMapper.typeMap(GestorRequest.class, Gestor.class).addMappings(mapper -> {
-            mapper.skip(Gestor::setId);  // Ignora o campo ID
-        });
-
-        return modelMapper.map(this, Gestor.class);
+    public Gestor convertToEntity()  {
+        Gestor gestor = new Gestor();
+        gestor.setSiape(siape);
+        return gestor;
     }
 }
@@ -7,15 +7,14 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.modelmapper.ModelMapper;
 
 @Getter @Setter @AllArgsConstructor @NoArgsConstructor
 public class GestorResponse extends UsuarioResponse {
     String siape;
 
-    public GestorResponse(Usuario usuario, ModelMapper modelMapper){
+    public GestorResponse(Usuario usuario){
         if (usuario == null) throw new IllegalArgumentException("Gestor não pode ser nulo");
-        else modelMapper.map(usuario, this);
+        else copiarDadosUsuario(usuario);
         Gestor gestor = usuario.getPerfil(Gestor.class).orElseThrow();
         this.siape = gestor.getSiape();
     }
@@ -5,8 +5,6 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.convention.MatchingStrategies;
 
 import java.util.UUID;
 
@@ -16,9 +14,9 @@ public class GestorUnidadeRequest {
     @Size(min = 1, max = 50, message = "O papel deve ter entre 1 e 50 caracteres")
     private String papel;
 
-    public GestorUnidade convertToEntity(GestorUnidadeRequest gestorUnidadeRequest, ModelMapper modelMapper) {
-        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
-        if (gestorUnidadeRequest == null) throw new IllegalArgumentException("GestorUnidadeRequest não pode ser nulo");
-        else return modelMapper.map(gestorUnidadeRequest, GestorUnidade.class);
+    public GestorUnidade convertToEntity() {
+        GestorUnidade gestorUnidade = new GestorUnidade();
+        gestorUnidade.setPapel(papel);
+        return gestorUnidade;
     }
 }
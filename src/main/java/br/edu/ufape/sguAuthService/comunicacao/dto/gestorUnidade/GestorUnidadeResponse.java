@@ -7,7 +7,6 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.modelmapper.ModelMapper;
 
 @Getter @Setter @NoArgsConstructor
 @AllArgsConstructor
@@ -16,7 +15,7 @@ public class GestorUnidadeResponse {
     private String papel;
     private GestorResponse gestor;
 
-    public GestorUnidadeResponse(GestorUnidade gestorUnidade, ModelMapper modelMapper) {
+    public GestorUnidadeResponse(GestorUnidade gestorUnidade) {
         if (gestorUnidade == null)
             throw new IllegalArgumentException("GestorUnidade não pode ser nulo");
 
@@ -24,6 +23,6 @@ public class GestorUnidadeResponse {
         this.papel = gestorUnidade.getPapel();
 
         Usuario usuarioGestor = gestorUnidade.getGestor().getUsuario();
-        this.gestor = new GestorResponse(usuarioGestor, modelMapper);
+        this.gestor = new GestorResponse(usuarioGestor);
     }
 }
\ No newline at end of file
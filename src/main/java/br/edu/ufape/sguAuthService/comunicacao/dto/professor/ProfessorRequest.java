@@ -10,7 +10,6 @@ import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
-import org.modelmapper.ModelMapper;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -35,7 +34,7 @@ public class ProfessorRequest {
     private MultipartFile[] documentos;
 
     @SneakyThrows
-    public Professor convertToEntity(ModelMapper modelMapper, Fachada fachada) {
+    public Professor convertToEntity(Fachada fachada) {
         // Recuperar a lista de cursos a partir dos IDs
         Set<Curso> cursos = cursoIds.stream()
                 .map(cursoId -> {
@@ -48,9 +47,8 @@ public class ProfessorRequest {
                 })
                 .collect(Collectors.toSet());
 
-        modelMapper.typeMap(ProfessorRequest.class, Professor.class)
-                .addMappings(mapper -> mapper.skip(Professor::setId));
-        Professor professor = modelMapper.map(this, Professor.class);
+        Professor professor = new Professor();
+        professor.setSiape(siape);
         professor.setCursos(cursos); // Define a lista de cursos no professor
         return professor;
     }
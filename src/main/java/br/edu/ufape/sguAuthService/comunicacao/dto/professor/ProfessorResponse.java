@@ -7,7 +7,6 @@ import br.edu.ufape.sguAuthService.models.Usuario;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.modelmapper.ModelMapper;
 
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -17,12 +16,12 @@ public class ProfessorResponse extends UsuarioResponse {
     String siape;
     Set<CursoResponse> cursos;
 
-    public ProfessorResponse(Usuario usuario, ModelMapper modelMapper){
+    public ProfessorResponse(Usuario usuario){
         if (usuario == null) throw new IllegalArgumentException("Professor não pode ser nulo");
-        else modelMapper.map(usuario, this);
+        else copiarDadosUsuario(usuario);
         Professor professor = usuario.getPerfil(Professor.class).orElseThrow();
         this.siape = professor.getSiape();
-        this.cursos = professor.getCursos().stream().map(curso -> new CursoResponse(curso, modelMapper)).collect(Collectors.toSet());
+        this.cursos = professor.getCursos().stream().map(CursoResponse::new).collect(Collectors.toSet());
     }
 
 }
@@ -0,0 +1,39 @@
+package br.edu.ufape.sguAuthService.comunicacao.dto.solicitacaoPerfil;
+
+import br.edu.ufape.sguAuthService.models.Enums.StatusSolicitacao;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class SolicitacaoPerfilExportacaoResponse {
+    public static final String[] CABECALHO = {"id", "dataSolicitacao", "status", "dataAvaliacao", "perfilSolicitado",
+            "parecer", "solicitanteId", "solicitanteNome", "solicitanteEmail", "responsavelId"};
+
+    private Long id;
+
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+    private LocalDateTime dataSolicitacao;
+
+    private StatusSolicitacao status;
+
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+    private LocalDateTime dataAvaliacao;
+
+    private String perfilSolicitado;
+    private String parecer;
+    private UUID solicitanteId;
+    private String solicitanteNome;
+    private String solicitanteEmail;
+    private UUID responsavelId;
+
+    public Object[] colunas() {
+        return new Object[]{id, dataSolicitacao, status, dataAvaliacao, perfilSolicitado,
+                parecer, solicitanteId, solicitanteNome, solicitanteEmail, responsavelId};
+    }
+}
@@ -6,7 +6,6 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.modelmapper.ModelMapper;
 
 @Getter
 @Setter
@@ -16,7 +15,9 @@ public class SolicitacaoPerfilRequest {
     @Size(max = 255, message = "O parecer deve ter no máximo 255 caracteres")
     private String parecer;
 
-    public SolicitacaoPerfil convertToEntity(ModelMapper modelMapper) {
-        return modelMapper.map(this, SolicitacaoPerfil.class);
+    public SolicitacaoPerfil convertToEntity() {
+        SolicitacaoPerfil solicitacaoPerfil = new SolicitacaoPerfil();
+        solicitacaoPerfil.setParecer(parecer);
+        return solicitacaoPerfil;
     }
 }
@@ -10,7 +10,6 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.modelmapper.ModelMapper;
 
 import java.time.LocalDateTime;
 
@@ -36,9 +35,17 @@ public class SolicitacaoPerfilResponse {
 
     private UsuarioResponse responsavel;
 
-    public SolicitacaoPerfilResponse(SolicitacaoPerfil solicitacaoPerfil, ModelMapper modelMapper){
+    public SolicitacaoPerfilResponse(SolicitacaoPerfil solicitacaoPerfil){
         if (solicitacaoPerfil == null) throw new IllegalArgumentException("Solicitação não pode ser nula");
-        else modelMapper.map(solicitacaoPerfil, this);
+        this.id = solicitacaoPerfil.getId();
+        this.dataSolicitacao = solicitacaoPerfil.getDataSolicitacao();
+        this.status = solicitacaoPerfil.getStatus();
+        this.dataAvaliacao = solicitacaoPerfil.getDataAvaliacao();
+        this.parecer = solicitacaoPerfil.getParecer();
+        this.perfilSolicitado = solicitacaoPerfil.getPerfilSolicitado();
+        this.perfil = solicitacaoPerfil.getPerfil();
+        this.solicitante = solicitacaoPerfil.getSolicitante() == null ? null : new UsuarioResponse(solicitacaoPerfil.getSolicitante());
+        this.responsavel = solicitacaoPerfil.getResponsavel() == null ? null : new UsuarioResponse(solicitacaoPerfil.getResponsavel());
     }
 
 }
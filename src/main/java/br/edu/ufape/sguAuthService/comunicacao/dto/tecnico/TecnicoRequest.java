@@ -9,7 +9,6 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.modelmapper.ModelMapper;
 import org.springframework.web.multipart.MultipartFile;
 
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
@@ -21,12 +20,9 @@ public class TecnicoRequest {
     @NotNull(message = "Os documentos são obrigatórios")
     private MultipartFile[] documentos;
 
-    public Tecnico convertToEntity(ModelMapper modelMapper)  {
-
-        modelMapper.typeMap(TecnicoRequest.class, Tecnico.class).addMappings(mapper -> {
-            mapper.skip(Tecnico::setId);  // Ignora o campo ID
-        });
-
-        return modelMapper.map(this, Tecnico.class);
+    public Tecnico convertToEntity()  {
+        Tecnico tecnico = new Tecnico();
+        tecnico.setSiape(siape);
+        return tecnico;
     }
 }
@@ -7,15 +7,14 @@ import br.edu.ufape.sguAuthService.models.Usuario;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.modelmapper.ModelMapper;
 
 @Getter @Setter @NoArgsConstructor
 public class TecnicoResponse extends UsuarioResponse {
     String siape;
 
-    public TecnicoResponse(Usuario usuario, ModelMapper modelMapper){
+    public TecnicoResponse(Usuario usuario){
         if (usuario == null) throw new IllegalArgumentException("Tecnico não pode ser nulo");
-        else modelMapper.map(usuario, this);
+        else copiarDadosUsuario(usuario);
         Tecnico tecnico = usuario.getPerfil(Tecnico.class).orElseThrow();
         this.siape = tecnico.getSiape();
     }
@@ -7,7 +7,6 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.modelmapper.ModelMapper;
 
 @Getter @Setter @AllArgsConstructor @NoArgsConstructor
 public class TipoEtniaRequest {
@@ -16,7 +15,7 @@ public class TipoEtniaRequest {
     @Size(min = 3, max = 50, message = "O tipo deve ter entre 3 e 50 caracteres")
     private String tipo;
 
-    public  TipoEtnia convertToEntity(TipoEtniaRequest tipoEtniaRequest, ModelMapper modelMapper) {
-        return modelMapper.map(tipoEtniaRequest, TipoEtnia.class);
+    public  TipoEtnia convertToEntity() {
+        return new TipoEtnia(id, tipo);
     }
 }
\ No newline at end of file
@@ -5,7 +5,6 @@ package br.edu.ufape.sguAuthService.comunicacao.dto.tipoUnidadeAdministrativa;
 import br.edu.ufape.sguAuthService.models.TipoUnidadeAdministrativa;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
-import org.modelmapper.ModelMapper;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -14,10 +13,9 @@ public class TipoUnidadeAdministrativaResponse {
     Long id;
     String nome;
     
-    public TipoUnidadeAdministrativaResponse(TipoUnidadeAdministrativa tipoUnidadeAdministrativa, ModelMapper modelMapper){
+    public TipoUnidadeAdministrativaResponse(TipoUnidadeAdministrativa tipoUnidadeAdministrativa){
         if (tipoUnidadeAdministrativa == null) throw new IllegalArgumentException("TipoUnidadeAdministrativa não pode ser nulo");
-        else{
-             modelMapper.map(tipoUnidadeAdministrativa, this);
-        }
+        this.id = tipoUnidadeAdministrativa.getId();
+        this.nome = tipoUnidadeAdministrativa.getNome();
     }
 }
@@ -0,0 +1,15 @@
+package br.edu.ufape.sguAuthService.comunicacao.dto.unidadeAdministrativa;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class UnidadeAdministrativaContagemResponse {
+    private Long unidadeId;
+    private String codigo;
+    private long totalUnidadesDescendentes;
+    private long totalFuncionarios;
+    private long totalGestores;
+}
@@ -1,7 +1,6 @@
 package br.edu.ufape.sguAuthService.comunicacao.dto.unidadeAdministrativa;
 
 import br.edu.ufape.sguAuthService.comunicacao.dto.tipoUnidadeAdministrativa.TipoUnidadeAdministrativaResponse;
-import org.modelmapper.ModelMapper;
 
 import br.edu.ufape.sguAuthService.models.UnidadeAdministrativa;
 import lombok.AllArgsConstructor;
@@ -18,11 +17,11 @@ public class UnidadeAdministrativaGetAllResponse {
     private TipoUnidadeAdministrativaResponse tipoUnidadeAdministrativa;
     private Long unidadePaiId;
 
-    public UnidadeAdministrativaGetAllResponse(UnidadeAdministrativa unidadeAdministrativa, ModelMapper modelMapper) {
+    public UnidadeAdministrativaGetAllResponse(UnidadeAdministrativa unidadeAdministrativa) {
         this.id = unidadeAdministrativa.getId();
         this.nome = unidadeAdministrativa.getNome();
         this.codigo = unidadeAdministrativa.getCodigo();
-        this.tipoUnidadeAdministrativa = new TipoUnidadeAdministrativaResponse(unidadeAdministrativa.getTipoUnidadeAdministrativa(), modelMapper);
+        this.tipoUnidadeAdministrativa = new TipoUnidadeAdministrativaResponse(unidadeAdministrativa.getTipoUnidadeAdministrativa());
         this.unidadePaiId = (unidadeAdministrativa.getUnidadePai() != null) ? unidadeAdministrativa.getUnidadePai().getId() : null;
     }
 }
@@ -4,7 +4,6 @@ import br.edu.ufape.sguAuthService.comunicacao.dto.funcionario.FuncionarioRespon
 import br.edu.ufape.sguAuthService.comunicacao.dto.gestorUnidade.GestorUnidadeResponse;
 import br.edu.ufape.sguAuthService.comunicacao.dto.tipoUnidadeAdministrativa.TipoUnidadeAdministrativaResponse;
 import br.edu.ufape.sguAuthService.models.UnidadeAdministrativa;
-import org.modelmapper.ModelMapper;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -22,23 +21,23 @@ public class UnidadeAdministrativaGetResponse {
     private Set<GestorUnidadeResponse> gestores;
     private Set<FuncionarioResponse> funcionarios;
 
-    public UnidadeAdministrativaGetResponse(UnidadeAdministrativa unidade, ModelMapper modelMapper) {
+    public UnidadeAdministrativaGetResponse(UnidadeAdministrativa unidade) {
         if (unidade == null)
             throw new IllegalArgumentException("Unidade Administrativa não pode ser nula");
 
         this.id = unidade.getId();
         this.nome = unidade.getNome();
         this.codigo = unidade.getCodigo();
-        this.tipoUnidadeAdministrativa = new TipoUnidadeAdministrativaResponse(unidade.getTipoUnidadeAdministrativa(), modelMapper);
+        this.tipoUnidadeAdministrativa = new TipoUnidadeAdministrativaResponse(unidade.getTipoUnidadeAdministrativa());
 
         this.gestores = unidade.getGestores()
                 .stream()
-                .map(g -> new GestorUnidadeResponse(g, modelMapper))
+                .map(g -> new GestorUnidadeResponse(g))
                 .collect(Collectors.toSet());
 
         this.funcionarios = unidade.getFuncionarios()
                 .stream()
-                .map(f -> new FuncionarioResponse(f.getUsuario(), modelMapper))
+                .map(f -> new FuncionarioResponse(f.getUsuario()))
                 .collect(Collectors.toSet());
     }
 }
@@ -0,0 +1,13 @@
+package br.edu.ufape.sguAuthService.comunicacao.dto.unidadeAdministrativa;
+
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class UnidadeAdministrativaMoverRequest {
+    @Positive(message = "O id da unidade pai deve ser positivo")
+    private Long unidadePaiId; // nulo torna a unidade uma raiz
+}
@@ -1,7 +1,7 @@
 package br.edu.ufape.sguAuthService.comunicacao.dto.unidadeAdministrativa;
 
+import br.edu.ufape.sguAuthService.models.UnidadeAdministrativa;
 import jakarta.validation.constraints.Size;
-import org.modelmapper.ModelMapper;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -16,7 +16,10 @@ public class UnidadeAdministrativaPatchRequest {
     private String codigo;
 
 
-    public UnidadeAdministrativaPatchRequest convertToEntity(UnidadeAdministrativaPatchRequest unidadeAdministrativaPatchRequest, ModelMapper modelMapper) {
-        return modelMapper.map(unidadeAdministrativaPatchRequest, UnidadeAdministrativaPatchRequest.class);
+    public UnidadeAdministrativa convertToEntity() {
+        UnidadeAdministrativa unidadeAdministrativa = new UnidadeAdministrativa();
+        unidadeAdministrativa.setNome(nome);
+        unidadeAdministrativa.setCodigo(codigo);
+        return unidadeAdministrativa;
     }
 }
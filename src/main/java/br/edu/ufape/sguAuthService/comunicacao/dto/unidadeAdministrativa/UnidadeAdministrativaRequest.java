@@ -1,6 +1,7 @@
 package br.edu.ufape.sguAuthService.comunicacao.dto.unidadeAdministrativa;
 
 
+import br.edu.ufape.sguAuthService.models.TipoUnidadeAdministrativa;
 import br.edu.ufape.sguAuthService.models.UnidadeAdministrativa;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -8,7 +9,6 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.modelmapper.ModelMapper;
 
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 
@@ -25,16 +25,12 @@ public class UnidadeAdministrativaRequest {
     private Long unidadePaiId; //esse atributo é para definir a unidade pai da unidade que está sendo criada
 
 
-    public UnidadeAdministrativa convertToEntity(
-            UnidadeAdministrativaRequest unidadeAdministrativaRequest,
-            ModelMapper modelMapper) {
-
-        modelMapper.typeMap(UnidadeAdministrativaRequest.class, UnidadeAdministrativa.class)
-                .addMappings(mapper -> {
-                    mapper.skip(UnidadeAdministrativa::setUnidadePai); // Ignora unidadePai
-                    mapper.skip(UnidadeAdministrativa::setId); // Garante que unidadePaiId não seja mapeado para id
-                });
-
-        return modelMapper.map(unidadeAdministrativaRequest, UnidadeAdministrativa.class);
+    public UnidadeAdministrativa convertToEntity() {
+        UnidadeAdministrativa unidadeAdministrativa = new UnidadeAdministrativa();
+        unidadeAdministrativa.setNome(nome);
+        unidadeAdministrativa.setCodigo(codigo);
+        // Só o id; a Fachada busca o tipo antes de salvar
+        unidadeAdministrativa.setTipoUnidadeAdministrativa(new TipoUnidadeAdministrativa(tipoUnidadeAdministrativaId, null));
+        return unidadeAdministrativa;
     }
 }
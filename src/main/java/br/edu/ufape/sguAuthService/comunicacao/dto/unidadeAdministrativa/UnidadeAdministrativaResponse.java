@@ -6,7 +6,6 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.modelmapper.ModelMapper;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -25,9 +24,14 @@ public class UnidadeAdministrativaResponse {
 
 
 
-    public UnidadeAdministrativaResponse(UnidadeAdministrativa unidadeAdministrativa, ModelMapper modelMapper) {
+    public UnidadeAdministrativaResponse(UnidadeAdministrativa unidadeAdministrativa) {
         if (unidadeAdministrativa == null) throw new IllegalArgumentException("Unidade Administrativa não pode ser nula");
-        modelMapper.map(unidadeAdministrativa, this);
-
+        this.id = unidadeAdministrativa.getId();
+        this.nome = unidadeAdministrativa.getNome();
+        this.codigo = unidadeAdministrativa.getCodigo();
+        this.tipoUnidadeAdministrativa = new TipoUnidadeAdministrativaResponse(unidadeAdministrativa.getTipoUnidadeAdministrativa());
+        for (UnidadeAdministrativa filha : unidadeAdministrativa.getUnidadesFilhas()) {
+            this.unidadesFilhas.add(new UnidadeAdministrativaResponse(filha));
+        }
     }
 }
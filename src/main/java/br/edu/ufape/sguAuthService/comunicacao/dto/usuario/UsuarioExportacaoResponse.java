@@ -0,0 +1,26 @@
+package br.edu.ufape.sguAuthService.comunicacao.dto.usuario;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class UsuarioExportacaoResponse {
+    public static final String[] CABECALHO = {"id", "nome", "nomeSocial", "cpf", "email", "telefone", "ativo", "tipoEtnia"};
+
+    private UUID id;
+    private String nome;
+    private String nomeSocial;
+    private String cpf;
+    private String email;
+    private String telefone;
+    private Boolean ativo;
+    private String tipoEtnia;
+
+    public Object[] colunas() {
+        return new Object[]{id, nome, nomeSocial, cpf, email, telefone, ativo, tipoEtnia};
+    }
+}
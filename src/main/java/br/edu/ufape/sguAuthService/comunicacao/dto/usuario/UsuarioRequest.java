@@ -16,7 +16,6 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.validator.constraints.br.CPF;
-import org.modelmapper.ModelMapper;
 
 @Getter @Setter @AllArgsConstructor @NoArgsConstructor
 public class UsuarioRequest {
@@ -44,7 +43,13 @@ public class UsuarioRequest {
     private Long tipoEtniaId;
 
 
-    public Usuario convertToEntity(UsuarioRequest usuarioRequest, ModelMapper modelMapper) {
-        return modelMapper.map(usuarioRequest, Usuario.class);
+    public Usuario convertToEntity() {
+        Usuario usuario = new Usuario();
+        usuario.setNome(nome);
+        usuario.setNomeSocial(nomeSocial);
+        usuario.setCpf(cpf);
+        usuario.setEmail(email);
+        usuario.setTelefone(telefone);
+        return usuario;
     }
 }
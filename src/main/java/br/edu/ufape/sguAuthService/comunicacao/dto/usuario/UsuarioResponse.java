@@ -5,7 +5,6 @@ import br.edu.ufape.sguAuthService.comunicacao.dto.tipoEtnia.TipoEtniaResponse;
 import br.edu.ufape.sguAuthService.models.Usuario;
 import lombok.Getter;
 import lombok.Setter;
-import org.modelmapper.ModelMapper;
 
 import java.util.UUID;
 
@@ -19,11 +18,22 @@ public class UsuarioResponse {
     String telefone;
     TipoEtniaResponse tipoEtnia;
 
-    public UsuarioResponse(Usuario aluno, ModelMapper modelMapper){
-        if (aluno == null) throw new IllegalArgumentException("Usuario não pode ser nulo");
-        else modelMapper.map(aluno, this);
+    public UsuarioResponse(Usuario usuario){
+        if (usuario == null) throw new IllegalArgumentException("Usuario não pode ser nulo");
+        else copiarDadosUsuario(usuario);
     }
 
     public UsuarioResponse() {
     }
+
+    // Campos comuns a todas as respostas de usuário, copiados sem reflexão
+    protected final void copiarDadosUsuario(Usuario usuario) {
+        this.id = usuario.getId();
+        this.nome = usuario.getNome();
+        this.nomeSocial = usuario.getNomeSocial();
+        this.cpf = usuario.getCpf();
+        this.email = usuario.getEmail();
+        this.telefone = usuario.getTelefone();
+        this.tipoEtnia = usuario.getTipoEtnia() == null ? null : new TipoEtniaResponse(usuario.getTipoEtnia());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package br.edu.ufape.sguAuthService.comunicacao.exportacao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Escreve linhas diretamente na resposta HTTP, em CSV ou NDJSON, à medida que a fonte as produz.
+ * Nenhuma lista é montada em memória: cada linha é serializada e descartada.
+ */
+public class ExportacaoUtils {
+    public static final String FORMATO_CSV = "csv";
+    public static final String FORMATO_NDJSON = "ndjson";
+
+    public static <T> ResponseEntity<StreamingResponseBody> exportar(String nomeArquivo,
+                                                                     String formato,
+                                                                     String[] cabecalho,
+                                                                     Function<T, Object[]> colunas,
+                                                                     Consumer<Consumer<T>> fonte,
+                                                                     ObjectMapper objectMapper) {
+        boolean ndjson = FORMATO_NDJSON.equalsIgnoreCase(formato);
+        if (!ndjson && !FORMATO_CSV.equalsIgnoreCase(formato)) {
+            throw new IllegalArgumentException("Formato de exportação inválido: " + formato);
+        }
+
+        StreamingResponseBody corpo = saida -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+            if (!ndjson) writer.write(linhaCsv(cabecalho));
+            try {
+                fonte.accept(linha -> {
+                    try {
+                        writer.write(ndjson ? objectMapper.writeValueAsString(linha) + "\n" : linhaCsv(colunas.apply(linha)));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+
+        MediaType tipo = ndjson ? MediaType.parseMediaType("application/x-ndjson") : new MediaType("text", "csv", StandardCharsets.UTF_8);
+        return ResponseEntity.ok()
+                .contentType(tipo)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + nomeArquivo + "." + (ndjson ? FORMATO_NDJSON : FORMATO_CSV) + "\"")
+                .body(corpo);
+    }
+
+    private static String linhaCsv(Object[] valores) {
+        StringBuilder linha = new StringBuilder();
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) linha.append(',');
+            linha.append(escaparCsv(valores[i]));
+        }
+        return linha.append("\r\n").toString();
+    }
+
+    static String escaparCsv(Object valor) {
+        if (valor == null) return "";
+        String texto = valor.toString();
+        // Planilhas interpretam como fórmula o que começa com esses caracteres: o apóstrofo força texto
+        if (!texto.isEmpty() && "=+-@\t\r".indexOf(texto.charAt(0)) >= 0) {
+            return "\"'" + texto.replace("\"", "\"\"") + '"';
+        }
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+}
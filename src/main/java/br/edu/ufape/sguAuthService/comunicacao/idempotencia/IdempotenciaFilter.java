@@ -0,0 +1,285 @@
+package br.edu.ufape.sguAuthService.comunicacao.idempotencia;
+
+import br.edu.ufape.sguAuthService.comunicacao.dto.erros.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.Part;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Trata o header Idempotency-Key nos POSTs que criam usuário no Keycloak ou gravam arquivos.
+ * A primeira requisição com a chave executa; as repetições com o mesmo conteúdo recebem a resposta gravada,
+ * e uma repetição concorrente espera a original terminar em vez de executar de novo.
+ * Conteúdo diferente com a mesma chave é recusado com 422.
+ */
+@Component
+public class IdempotenciaFilter extends OncePerRequestFilter {
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    // Só as rotas de criação: as ações administrativas em /solicitacao/{id}/... nunca são reproduzidas
+    private static final List<String> ROTAS = List.of("/usuario", "/solicitacao/aluno", "/solicitacao/professor",
+            "/solicitacao/tecnico", "/solicitacao/gestor");
+    private static final int TAMANHO_MAXIMO_CHAVE = 100;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Registro> registros;
+    private final Duration esperaMaxima;
+
+    public IdempotenciaFilter(ObjectMapper objectMapper,
+                              @Value("${idempotencia.tamanho-maximo:10000}") long tamanhoMaximo,
+                              @Value("${idempotencia.ttl-horas:24}") long ttlHoras,
+                              @Value("${idempotencia.espera-maxima-segundos:30}") long esperaMaximaSegundos) {
+        this.objectMapper = objectMapper;
+        this.registros = CacheBuilder.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttlHoras, TimeUnit.HOURS)
+                .build();
+        this.esperaMaxima = Duration.ofSeconds(esperaMaximaSegundos);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY) == null) return true;
+        return !ROTAS.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String chave = request.getHeader(IDEMPOTENCY_KEY);
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            escreverErro(response, HttpStatus.BAD_REQUEST, IDEMPOTENCY_KEY + " deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+            return;
+        }
+
+        // Corpos que não são multipart são lidos aqui para entrar na impressão digital e depois reentregues ao controller
+        HttpServletRequest requisicao = isMultipart(request) ? request : new CorpoRelido(request, request.getInputStream().readAllBytes());
+        String impressaoDigital = calcularImpressaoDigital(requisicao);
+        // Sem usuário (cadastro público em POST /usuario) não há como separar os clientes: a chave vale junto com
+        // o conteúdo, e reusar a chave com outro conteúdo vira outro registro em vez de um 422 para um estranho
+        String cliente = identificarCliente();
+        String chaveRegistro = cliente != null ? cliente + "|" + chave : "anonimo|" + impressaoDigital + "|" + chave;
+
+        Registro novo = new Registro(impressaoDigital, new CompletableFuture<>());
+        Registro existente = registros.asMap().putIfAbsent(chaveRegistro, novo);
+        if (existente == null) {
+            executar(requisicao, response, filterChain, chaveRegistro, novo);
+            return;
+        }
+
+        if (!existente.getImpressaoDigital().equals(impressaoDigital)) {
+            escreverErro(response, HttpStatus.UNPROCESSABLE_ENTITY, "A " + IDEMPOTENCY_KEY + " já foi usada com outro conteúdo");
+            return;
+        }
+
+        try {
+            RespostaGravada gravada = existente.getResposta().get(esperaMaxima.toSeconds(), TimeUnit.SECONDS);
+            reproduzir(gravada, response);
+        } catch (TimeoutException e) {
+            escreverErro(response, HttpStatus.CONFLICT, "A requisição original com esta " + IDEMPOTENCY_KEY + " ainda está em processamento");
+        } catch (ExecutionException e) {
+            // A original falhou com erro do servidor e o registro já foi descartado: o cliente pode tentar de novo
+            escreverErro(response, HttpStatus.CONFLICT, "A requisição original com esta " + IDEMPOTENCY_KEY + " falhou; tente novamente");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            escreverErro(response, HttpStatus.SERVICE_UNAVAILABLE, "Requisição interrompida");
+        }
+    }
+
+    private void executar(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                          String chaveRegistro, Registro registro) throws ServletException, IOException {
+        ContentCachingResponseWrapper respostaEmCache = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, respostaEmCache);
+        } catch (ServletException | IOException | RuntimeException e) {
+            descartar(chaveRegistro, registro, e);
+            throw e;
+        }
+
+        int status = respostaEmCache.getStatus();
+        if (status >= 500) {
+            descartar(chaveRegistro, registro, new IllegalStateException("Status " + status));
+        } else {
+            registro.getResposta().complete(new RespostaGravada(status, respostaEmCache.getContentType(),
+                    respostaEmCache.getContentAsByteArray()));
+        }
+        respostaEmCache.copyBodyToResponse();
+    }
+
+    // Erros do servidor não são gravados: a próxima tentativa com a mesma chave executa de novo
+    private void descartar(String chaveRegistro, Registro registro, Exception causa) {
+        registros.asMap().remove(chaveRegistro, registro);
+        registro.getResposta().completeExceptionally(causa);
+    }
+
+    private void reproduzir(RespostaGravada gravada, HttpServletResponse response) throws IOException {
+        response.setStatus(gravada.getStatus());
+        if (gravada.getContentType() != null) response.setContentType(gravada.getContentType());
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+        response.getOutputStream().write(gravada.getCorpo());
+    }
+
+    private void escreverErro(HttpServletResponse response, HttpStatus status, String mensagem) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(mensagem, status.value()));
+    }
+
+    // null para requisições anônimas; o AnonymousAuthenticationToken do permitAll também conta como autenticado
+    private String identificarCliente() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao == null || !autenticacao.isAuthenticated() || autenticacao instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return autenticacao.getName();
+    }
+
+    private String calcularImpressaoDigital(HttpServletRequest request) throws IOException, ServletException {
+        MessageDigest digest = sha256();
+        atualizar(digest, request.getMethod());
+        atualizar(digest, request.getRequestURI());
+        atualizar(digest, request.getQueryString());
+        if (request instanceof CorpoRelido corpoRelido) {
+            digest.update(corpoRelido.corpo);
+        } else {
+            // O boundary muda a cada envio, então o multipart entra pelas partes e não pelos bytes crus
+            List<Part> partes = new ArrayList<>(request.getParts());
+            partes.sort(Comparator.comparing(Part::getName).thenComparing(parte -> String.valueOf(parte.getSubmittedFileName())));
+            for (Part parte : partes) {
+                atualizar(digest, parte.getName());
+                atualizar(digest, parte.getSubmittedFileName());
+                try (InputStream conteudo = parte.getInputStream()) {
+                    byte[] buffer = new byte[8192];
+                    int lidos;
+                    while ((lidos = conteudo.read(buffer)) != -1) {
+                        digest.update(buffer, 0, lidos);
+                    }
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void atualizar(MessageDigest digest, String valor) {
+        digest.update(String.valueOf(valor).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isMultipart(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase().startsWith(MediaType.MULTIPART_FORM_DATA_VALUE);
+    }
+
+    @Getter @AllArgsConstructor
+    private static class Registro {
+        private final String impressaoDigital;
+        private final CompletableFuture<RespostaGravada> resposta;
+    }
+
+    @Getter @AllArgsConstructor
+    private static class RespostaGravada {
+        private final int status;
+        private final String contentType;
+        private final byte[] corpo;
+    }
+
+    private static class CorpoRelido extends HttpServletRequestWrapper {
+        private final byte[] corpo;
+
+        CorpoRelido(HttpServletRequest request, byte[] corpo) {
+            super(request);
+            this.corpo = corpo;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(corpo), Charset.forName(encoding)));
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(corpo);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // O corpo já está todo em memória: está sempre pronto e pode ser entregue de imediato
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) readListener.onDataAvailable();
+                        if (isFinished()) readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return entrada.read(b, off, len);
+                }
+            };
+        }
+    }
+}
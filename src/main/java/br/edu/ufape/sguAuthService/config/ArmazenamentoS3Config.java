@@ -0,0 +1,52 @@
+package br.edu.ufape.sguAuthService.config;
+
+import br.edu.ufape.sguAuthService.servicos.interfaces.BackendArmazenamento;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+
+/**
+ * Clientes do backend S3 (arquivo.backend=s3). Credenciais pela cadeia padrão do SDK (variáveis
+ * AWS_ACCESS_KEY_ID/AWS_SECRET_ACCESS_KEY, perfil ou role). arquivo.s3.endpoint aponta para MinIO ou
+ * outro serviço compatível, que normalmente pede path-style.
+ */
+@Configuration
+@ConditionalOnProperty(name = BackendArmazenamento.PROPRIEDADE, havingValue = "s3")
+public class ArmazenamentoS3Config {
+    @Value("${arquivo.s3.regiao:us-east-1}")
+    private String regiao;
+    @Value("${arquivo.s3.endpoint:}")
+    private String endpoint;
+    @Value("${arquivo.s3.path-style:true}")
+    private boolean pathStyle;
+
+    @Bean(destroyMethod = "close")
+    public S3Client s3Client() {
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(regiao))
+                .forcePathStyle(pathStyle);
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public S3Presigner s3Presigner() {
+        S3Presigner.Builder builder = S3Presigner.builder()
+                .region(Region.of(regiao))
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(pathStyle).build());
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,73 @@
+package br.edu.ufape.sguAuthService.config;
+
+import br.edu.ufape.sguAuthService.models.Curso;
+import br.edu.ufape.sguAuthService.models.TipoEtnia;
+import br.edu.ufape.sguAuthService.models.TipoUnidadeAdministrativa;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache de segundo nível do Hibernate para as tabelas de referência (etnias, cursos e tipos de unidade).
+ * Todas as regiões são criadas aqui com tamanho máximo; uma região não declarada faz a inicialização falhar,
+ * para que nenhuma entidade passe a ser cacheada sem limite por engano.
+ */
+@Configuration
+public class CacheHibernateConfig {
+    public static final String REGIAO_CONSULTAS = "default-query-results-region";
+    public static final String REGIAO_TIMESTAMPS = "default-update-timestamps-region";
+
+    public static final List<Class<?>> ENTIDADES_CACHEADAS = List.of(TipoEtnia.class, Curso.class, TipoUnidadeAdministrativa.class);
+
+    @Value("${cache.hibernate.tamanho-maximo:1000}")
+    private long tamanhoMaximo;
+
+    @Value("${cache.hibernate.expiracao-minutos:60}")
+    private long expiracaoMinutos;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        for (Class<?> entidade : ENTIDADES_CACHEADAS) {
+            criarRegiao(cacheManager, entidade.getName(), tamanhoMaximo, true);
+        }
+        criarRegiao(cacheManager, REGIAO_CONSULTAS, tamanhoMaximo, true);
+        // Os timestamps precisam sobreviver a qualquer resultado de consulta, senão resultados obsoletos seriam aceitos
+        criarRegiao(cacheManager, REGIAO_TIMESTAMPS, tamanhoMaximo, false);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheHibernatePropertiesCustomizer(CacheManager hibernateCacheManager) {
+        return propriedades -> {
+            propriedades.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            propriedades.put(AvailableSettings.USE_QUERY_CACHE, true);
+            propriedades.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            propriedades.put(AvailableSettings.GENERATE_STATISTICS, true);
+            propriedades.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            propriedades.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private void criarRegiao(CacheManager cacheManager, String nome, long tamanho, boolean expira) {
+        if (cacheManager.getCache(nome) != null) return;
+        CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+        configuracao.setMaximumSize(OptionalLong.of(tamanho));
+        if (expira) {
+            configuracao.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(expiracaoMinutos)));
+        }
+        configuracao.setStatisticsEnabled(true);
+        cacheManager.createCache(nome, configuracao);
+    }
+}
@@ -0,0 +1,116 @@
+package br.edu.ufape.sguAuthService.config;
+
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Sobe a partir da última configuração obtida do config server, gravada em disco pela {@link ReconciliacaoConfiguracao}.
+ * Com o snapshot presente, o import configserver: é desligado e a aplicação não espera pelo config-service;
+ * a reconciliação com o servidor acontece depois, em segundo plano. Sem snapshot, o boot segue como antes.
+ * Registrado em META-INF/spring.factories; roda antes do processamento do spring.config.import, por isso
+ * config.snapshot.habilitado e config.snapshot.arquivo só valem como variável de ambiente ou propriedade de
+ * sistema. Os valores lidos aqui são fixados acima do application.yml, para a reconciliação enxergar os mesmos.
+ */
+public class ConfiguracaoLocalPostProcessor implements EnvironmentPostProcessor, Ordered {
+    public static final String PROPRIEDADE_HABILITADO = "config.snapshot.habilitado";
+    public static final String PROPRIEDADE_ARQUIVO = "config.snapshot.arquivo";
+    // Fora da árvore do projeto: o snapshot tem segredos e não pode acabar num commit
+    public static final String ARQUIVO_PADRAO = "${user.home}/.sgu-auth-service/config.properties";
+    public static final String FONTE_SNAPSHOT = "configSnapshot";
+    private static final String FONTE_CONTROLE = "configSnapshotControle";
+
+    private final Log log;
+
+    public ConfiguracaoLocalPostProcessor(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(ConfiguracaoLocalPostProcessor.class);
+    }
+
+    @Override
+    public int getOrder() {
+        return ConfigDataEnvironmentPostProcessor.ORDER - 1;
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        boolean habilitado = environment.getProperty(PROPRIEDADE_HABILITADO, Boolean.class, true);
+        Path arquivo = Path.of(environment.resolveRequiredPlaceholders(environment.getProperty(PROPRIEDADE_ARQUIVO, ARQUIVO_PADRAO)));
+        Map<String, Object> controle = new HashMap<>();
+        controle.put(PROPRIEDADE_HABILITADO, String.valueOf(habilitado));
+        controle.put(PROPRIEDADE_ARQUIVO, arquivo.toString());
+        environment.getPropertySources().addFirst(new MapPropertySource(FONTE_CONTROLE, controle));
+        if (!habilitado || !Files.isReadable(arquivo)) return;
+
+        Map<String, Object> valores;
+        try {
+            valores = new HashMap<>(ler(arquivo));
+        } catch (UncheckedIOException e) {
+            log.warn("Snapshot de configuração ilegível em " + arquivo + "; usando o config server", e);
+            return;
+        }
+
+        // Adicionadas antes do processamento do application.yml, estas fontes ficam acima dele, como ficaria o config server
+        environment.getPropertySources().addLast(new MapPropertySource(FONTE_SNAPSHOT, valores));
+        controle.put("spring.cloud.config.enabled", "false");
+        log.info("Configuração carregada do snapshot local " + arquivo + " (" + valores.size() + " propriedades)");
+    }
+
+    static Map<String, String> ler(Path arquivo) {
+        Properties propriedades = new Properties();
+        try (Reader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            propriedades.load(leitor);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Map<String, String> valores = new TreeMap<>();
+        propriedades.stringPropertyNames().forEach(nome -> valores.put(nome, propriedades.getProperty(nome)));
+        return valores;
+    }
+
+    // O snapshot tem segredos (banco, Keycloak): gravado só para o dono e trocado de uma vez para nunca ficar pela metade
+    static void gravar(Path arquivo, Map<String, String> valores) {
+        Properties propriedades = new Properties();
+        propriedades.putAll(valores);
+        try {
+            Path diretorio = arquivo.toAbsolutePath().getParent();
+            if (Files.notExists(diretorio) && diretorio.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+                Files.createDirectories(diretorio, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+            } else {
+                Files.createDirectories(diretorio);
+            }
+            Path temporario = Files.createTempFile(diretorio, "config", ".tmp");
+            try {
+                if (Files.getFileStore(temporario).supportsFileAttributeView("posix")) {
+                    Files.setPosixFilePermissions(temporario, PosixFilePermissions.fromString("rw-------"));
+                }
+                try (Writer escritor = Files.newBufferedWriter(temporario, StandardCharsets.UTF_8)) {
+                    propriedades.store(escritor, "Snapshot do config server - sgu-auth-service");
+                }
+                Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporario);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
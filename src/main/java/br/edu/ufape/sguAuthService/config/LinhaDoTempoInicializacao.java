@@ -0,0 +1,69 @@
+package br.edu.ufape.sguAuthService.config;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+/**
+ * Registra no log, ao ficar pronta, quanto tempo a aplicação passou em cada fase da inicialização
+ * (JVM, config server/ambiente, contexto, refresh) e os beans mais lentos de instanciar.
+ * A linha do tempo completa fica em /actuator/startup.
+ */
+@Component @RequiredArgsConstructor
+public class LinhaDoTempoInicializacao {
+    private static final Logger log = LoggerFactory.getLogger(LinhaDoTempoInicializacao.class);
+    private static final int BEANS_MAIS_LENTOS = 10;
+
+    private final ApplicationStartup applicationStartup;
+
+    @EventListener
+    public void registrar(ApplicationReadyEvent event) {
+        if (!(applicationStartup instanceof BufferingApplicationStartup buffering)) return;
+        StartupTimeline linhaDoTempo = buffering.getBufferedTimeline();
+
+        StringBuilder relatorio = new StringBuilder("Linha do tempo da inicialização:");
+        Instant inicioJvm = Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime());
+        linha(relatorio, "jvm", Duration.between(inicioJvm, linhaDoTempo.getStartTime()));
+
+        List<StartupTimeline.TimelineEvent> eventos = linhaDoTempo.getEvents();
+        eventos.stream()
+                .filter(evento -> evento.getStartupStep().getParentId() == null)
+                .forEach(evento -> linha(relatorio, evento.getStartupStep().getName(), evento.getDuration()));
+
+        relatorio.append("\n  beans mais lentos (inclui dependências):");
+        eventos.stream()
+                .filter(evento -> "spring.beans.instantiate".equals(evento.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(BEANS_MAIS_LENTOS)
+                .forEach(evento -> linha(relatorio, "  " + tag(evento.getStartupStep(), "beanName"), evento.getDuration()));
+
+        linha(relatorio, "total até pronto", event.getTimeTaken());
+        log.info(relatorio.toString());
+    }
+
+    private static void linha(StringBuilder relatorio, String fase, Duration duracao) {
+        relatorio.append(String.format("%n  %-60s %6d ms", fase, duracao == null ? 0 : duracao.toMillis()));
+    }
+
+    private static String tag(StartupStep passo, String chave) {
+        return StreamSupport.stream(passo.getTags().spliterator(), false)
+                .filter(tag -> chave.equals(tag.getKey()))
+                .map(StartupStep.Tag::getValue)
+                .findFirst()
+                .orElse("?");
+    }
+}
@@ -0,0 +1,31 @@
+package br.edu.ufape.sguAuthService.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+/**
+ * As tabelas ainda são criadas pelo DDL do Hibernate, então as migrações só podem rodar depois dele.
+ * O Spring Boot migraria antes do EntityManagerFactory; aqui a migração é adiada para logo depois.
+ * migracao.executar=false desliga a migração sem remover os beans (o contexto AOT fixa as condições no build).
+ */
+@Configuration
+public class MigracaoConfig {
+
+    @Bean
+    public FlywayMigrationStrategy adiarMigracao() {
+        return _ -> { };
+    }
+
+    @Bean
+    @DependsOn("entityManagerFactory")
+    public InitializingBean migracaoAposHibernate(Flyway flyway, @Value("${migracao.executar:true}") boolean executar) {
+        return () -> {
+            if (executar) flyway.migrate();
+        };
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFacto
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -18,6 +19,8 @@ public class RabbitConfig {
     public static final String DLQ = "auth-role-dlq";
     public static final String DLX = "auth-role-dlx";
 
+    public static final String CACHE_EXCHANGE = "auth-cache-exchange";
+
     // Dead Letter Queue
     @Bean
     public Queue deadLetterQueue() {
@@ -53,6 +56,24 @@ public class RabbitConfig {
         return BindingBuilder.bind(queue).to(exchange).with(ROUTING_KEY);
     }
 
+    // Invalidação do cache de referência entre instâncias: cada instância tem sua fila temporária
+    @Bean
+    public FanoutExchange invalidacaoCacheExchange() {
+        return new FanoutExchange(CACHE_EXCHANGE);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.invalidacao-distribuida.habilitada", havingValue = "true")
+    public Queue invalidacaoCacheQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.invalidacao-distribuida.habilitada", havingValue = "true")
+    public Binding invalidacaoCacheBinding(Queue invalidacaoCacheQueue, FanoutExchange invalidacaoCacheExchange) {
+        return BindingBuilder.bind(invalidacaoCacheQueue).to(invalidacaoCacheExchange);
+    }
+
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
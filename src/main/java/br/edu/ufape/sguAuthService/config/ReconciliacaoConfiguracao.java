@@ -0,0 +1,148 @@
+package br.edu.ufape.sguAuthService.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.config.client.ConfigClientProperties;
+import org.springframework.cloud.config.client.ConfigServicePropertySourceLocator;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Mantém o snapshot local da configuração em dia com o config server, em segundo plano.
+ * Quando os valores do servidor mudam, atualiza o snapshot, a fonte em memória e publica
+ * {@link EnvironmentChangeEvent} com as chaves alteradas (@ConfigurationProperties são religadas;
+ * campos @Value só mudam no próximo boot).
+ */
+@Component
+public class ReconciliacaoConfiguracao {
+    private static final Logger log = LoggerFactory.getLogger(ReconciliacaoConfiguracao.class);
+    private static final String PREFIXO_CONFIG_SERVER = "configserver:";
+
+    private final ConfigurableEnvironment environment;
+    private final ApplicationContext applicationContext;
+    private final boolean habilitado;
+    private final Path arquivo;
+
+    public ReconciliacaoConfiguracao(ConfigurableEnvironment environment, ApplicationContext applicationContext,
+                                     @Value("${" + ConfiguracaoLocalPostProcessor.PROPRIEDADE_HABILITADO + ":true}") boolean habilitado,
+                                     @Value("${" + ConfiguracaoLocalPostProcessor.PROPRIEDADE_ARQUIVO + ":" + ConfiguracaoLocalPostProcessor.ARQUIVO_PADRAO + "}") String arquivo) {
+        this.environment = environment;
+        this.applicationContext = applicationContext;
+        this.habilitado = habilitado;
+        this.arquivo = Path.of(arquivo);
+    }
+
+    @Scheduled(initialDelayString = "${config.snapshot.atraso-inicial-ms:0}", fixedDelayString = "${config.snapshot.intervalo-ms:300000}")
+    public void reconciliar() {
+        if (!habilitado) return;
+
+        Map<String, String> remota = buscarNoConfigServer();
+        if (remota == null) return;
+
+        Map<String, String> atual = valoresAtuais();
+        Set<String> alteradas = chavesAlteradas(atual, remota);
+        if (!alteradas.isEmpty()) {
+            aplicar(remota);
+            log.info("Configuração do config server mudou ({} propriedades); snapshot atualizado.", alteradas.size());
+            applicationContext.publishEvent(new EnvironmentChangeEvent(applicationContext, alteradas));
+        }
+
+        try {
+            if (!Files.isReadable(arquivo) || !ConfiguracaoLocalPostProcessor.ler(arquivo).equals(remota)) {
+                ConfiguracaoLocalPostProcessor.gravar(arquivo, remota);
+            }
+        } catch (UncheckedIOException e) {
+            log.warn("Não foi possível gravar o snapshot de configuração em {}", arquivo, e);
+        }
+    }
+
+    private Map<String, String> buscarNoConfigServer() {
+        ConfigClientProperties propriedades = Binder.get(environment)
+                .bind(ConfigClientProperties.PREFIX, Bindable.ofInstance(new ConfigClientProperties(environment)))
+                .orElseGet(() -> new ConfigClientProperties(environment));
+        // O boot a partir do snapshot desliga o cliente no Environment; aqui a consulta é explícita e não pode derrubar a aplicação
+        propriedades.setEnabled(true);
+        propriedades.setFailFast(false);
+        try {
+            PropertySource<?> fonte = new ConfigServicePropertySourceLocator(propriedades).locate(environment);
+            if (!(fonte instanceof EnumerablePropertySource<?> enumeravel) || enumeravel.getPropertyNames().length == 0) {
+                log.warn("Config server indisponível; mantendo a configuração atual.");
+                return null;
+            }
+            return achatar(List.of(enumeravel));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao consultar o config server; mantendo a configuração atual.", e);
+            return null;
+        }
+    }
+
+    // Valores hoje em uso que vieram do config server: o snapshot carregado no boot ou as fontes do import configserver:
+    private Map<String, String> valoresAtuais() {
+        List<EnumerablePropertySource<?>> fontes = new ArrayList<>();
+        for (PropertySource<?> fonte : environment.getPropertySources()) {
+            if (fonte instanceof EnumerablePropertySource<?> enumeravel && vemDoConfigServer(fonte)) {
+                fontes.add(enumeravel);
+            }
+        }
+        return achatar(fontes);
+    }
+
+    private void aplicar(Map<String, String> remota) {
+        MutablePropertySources fontes = environment.getPropertySources();
+        MapPropertySource snapshot = new MapPropertySource(ConfiguracaoLocalPostProcessor.FONTE_SNAPSHOT, new HashMap<>(remota));
+        if (fontes.contains(ConfiguracaoLocalPostProcessor.FONTE_SNAPSHOT)) {
+            fontes.replace(ConfiguracaoLocalPostProcessor.FONTE_SNAPSHOT, snapshot);
+            return;
+        }
+        // Boot pelo config server: o snapshot entra logo acima das fontes importadas
+        String primeira = fontes.stream().filter(this::vemDoConfigServer).map(PropertySource::getName).findFirst().orElse(null);
+        if (primeira != null) fontes.addBefore(primeira, snapshot);
+        else fontes.addLast(snapshot);
+    }
+
+    private boolean vemDoConfigServer(PropertySource<?> fonte) {
+        return fonte.getName().startsWith(PREFIXO_CONFIG_SERVER)
+                || fonte.getName().equals(ConfiguracaoLocalPostProcessor.FONTE_SNAPSHOT);
+    }
+
+    // Percorre da menor para a maior precedência para que o valor efetivo de cada chave prevaleça
+    private static Map<String, String> achatar(List<EnumerablePropertySource<?>> fontes) {
+        Map<String, String> valores = new TreeMap<>();
+        for (EnumerablePropertySource<?> fonte : fontes.reversed()) {
+            for (String nome : fonte.getPropertyNames()) {
+                Object valor = fonte.getProperty(nome);
+                if (valor != null) valores.put(nome, valor.toString());
+            }
+        }
+        return valores;
+    }
+
+    private static Set<String> chavesAlteradas(Map<String, String> antes, Map<String, String> depois) {
+        Set<String> chaves = new HashSet<>(antes.keySet());
+        chaves.addAll(depois.keySet());
+        chaves.removeIf(chave -> Objects.equals(antes.get(chave), depois.get(chave)));
+        return chaves;
+    }
+}
@@ -32,6 +32,8 @@ public class WebConfig {
                         .requestMatchers("/logout").permitAll()
                         .requestMatchers("/reset-password").permitAll()
                         .requestMatchers(HttpMethod.GET, "/tipoEtnia").permitAll()
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMINISTRADOR")
                         .anyRequest().authenticated()
                 ).oauth2ResourceServer(auth -> auth.jwt(token -> token.jwtAuthenticationConverter(new KeycloakJwtAuthenticationConverter())));
         return http.build();
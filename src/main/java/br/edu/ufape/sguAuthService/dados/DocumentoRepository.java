@@ -0,0 +1,19 @@
+package br.edu.ufape.sguAuthService.dados;
+
+import br.edu.ufape.sguAuthService.models.Documento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface DocumentoRepository extends JpaRepository<Documento, Long> {
+    // Usa idx_documento_nome; o chamador limita o tamanho da lista
+    @Query("SELECT DISTINCT d.nome FROM Documento d WHERE d.nome IN :nomes")
+    Set<String> findNomesReferenciados(@Param("nomes") Collection<String> nomes);
+
+    // Usa idx_documento_hash
+    @Query("SELECT DISTINCT d.hash FROM Documento d WHERE d.hash IN :hashes")
+    Set<String> findHashesReferenciados(@Param("hashes") Collection<String> hashes);
+}
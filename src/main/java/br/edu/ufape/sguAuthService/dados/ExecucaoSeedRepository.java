@@ -0,0 +1,7 @@
+package br.edu.ufape.sguAuthService.dados;
+
+import br.edu.ufape.sguAuthService.models.ExecucaoSeed;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ExecucaoSeedRepository extends JpaRepository<ExecucaoSeed, String> {
+}
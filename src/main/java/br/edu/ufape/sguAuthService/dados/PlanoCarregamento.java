@@ -0,0 +1,78 @@
+package br.edu.ufape.sguAuthService.dados;
+
+import br.edu.ufape.sguAuthService.models.Funcionario;
+import br.edu.ufape.sguAuthService.models.GestorUnidade;
+import br.edu.ufape.sguAuthService.models.Perfil;
+import br.edu.ufape.sguAuthService.models.Professor;
+import br.edu.ufape.sguAuthService.models.SolicitacaoPerfil;
+import br.edu.ufape.sguAuthService.models.UnidadeAdministrativa;
+import br.edu.ufape.sguAuthService.models.Usuario;
+import org.hibernate.Hibernate;
+
+/**
+ * Planos de carregamento das respostas da API. Sem open-session-in-view a sessão fecha junto com a
+ * transação do serviço, então cada método aqui inicializa exatamente as associações LAZY que o DTO da
+ * resposta vai ler. As coleções são buscadas em lote (hibernate.default_batch_fetch_size), não uma a uma.
+ */
+public final class PlanoCarregamento {
+
+    private PlanoCarregamento() {
+    }
+
+    /** Perfis do usuário e, nos professores, os cursos: o que as respostas de aluno, professor, técnico e gestor leem. */
+    public static Usuario usuario(Usuario usuario) {
+        if (usuario == null) return null;
+        Hibernate.initialize(usuario);
+        Hibernate.initialize(usuario.getPerfis());
+        usuario.getPerfis().forEach(PlanoCarregamento::perfil);
+        return usuario;
+    }
+
+    public static <T extends Iterable<Usuario>> T usuarios(T usuarios) {
+        usuarios.forEach(PlanoCarregamento::usuario);
+        return usuarios;
+    }
+
+    public static Perfil perfil(Perfil perfil) {
+        if (Hibernate.unproxy(perfil) instanceof Professor professor) {
+            Hibernate.initialize(professor.getCursos());
+        }
+        return perfil;
+    }
+
+    /** Perfil serializado na resposta da solicitação; os usuários entram só com os campos básicos. */
+    public static SolicitacaoPerfil solicitacao(SolicitacaoPerfil solicitacao) {
+        if (solicitacao == null) return null;
+        if (solicitacao.getPerfil() != null) {
+            Hibernate.initialize(solicitacao.getPerfil());
+            perfil(solicitacao.getPerfil());
+        }
+        Hibernate.initialize(solicitacao.getSolicitante());
+        Hibernate.initialize(solicitacao.getResponsavel());
+        return solicitacao;
+    }
+
+    public static <T extends Iterable<SolicitacaoPerfil>> T solicitacoes(T solicitacoes) {
+        solicitacoes.forEach(PlanoCarregamento::solicitacao);
+        return solicitacoes;
+    }
+
+    public static GestorUnidade gestorUnidade(GestorUnidade gestorUnidade) {
+        usuario(gestorUnidade.getGestor().getUsuario());
+        return gestorUnidade;
+    }
+
+    public static Funcionario funcionario(Funcionario funcionario) {
+        usuario(funcionario.getUsuario());
+        return funcionario;
+    }
+
+    /** Gestores e funcionários da unidade com os respectivos usuários, como lidos por UnidadeAdministrativaGetResponse. */
+    public static UnidadeAdministrativa unidadeComMembros(UnidadeAdministrativa unidade) {
+        Hibernate.initialize(unidade.getGestores());
+        unidade.getGestores().forEach(PlanoCarregamento::gestorUnidade);
+        Hibernate.initialize(unidade.getFuncionarios());
+        unidade.getFuncionarios().forEach(PlanoCarregamento::funcionario);
+        return unidade;
+    }
+}
@@ -3,10 +3,10 @@ package br.edu.ufape.sguAuthService.dados;
 import br.edu.ufape.sguAuthService.models.Enums.StatusSolicitacao;
 import br.edu.ufape.sguAuthService.models.QSolicitacaoPerfil;
 import br.edu.ufape.sguAuthService.models.SolicitacaoPerfil;
-import br.edu.ufape.sguAuthService.models.Usuario;
 import com.querydsl.core.types.dsl.StringPath;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
@@ -14,11 +14,16 @@ import org.springframework.data.querydsl.binding.QuerydslBindings;
 import org.springframework.lang.NonNull;
 
 import java.util.Collection;
-import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface SolicitacaoPerfilRepository extends JpaRepository<SolicitacaoPerfil, Long>, QuerydslPredicateExecutor<SolicitacaoPerfil>, QuerydslBinderCustomizer<QSolicitacaoPerfil> {
-    List<SolicitacaoPerfil> findBySolicitanteAndStatusIn(Usuario solicitante, Collection<StatusSolicitacao> status);
+    boolean existsBySolicitante_IdAndPerfilSolicitadoAndStatusIn(UUID solicitanteId, String perfilSolicitado, Collection<StatusSolicitacao> status);
+
+    Optional<SolicitacaoPerfil> findBySolicitante_IdAndChaveIdempotencia(UUID solicitanteId, String chaveIdempotencia);
+
+    @EntityGraph(attributePaths = "documentos")
+    Optional<SolicitacaoPerfil> findComDocumentosById(Long id);
 
     Page<SolicitacaoPerfil> findAllBySolicitante_Id(UUID id, Pageable pageable);
 
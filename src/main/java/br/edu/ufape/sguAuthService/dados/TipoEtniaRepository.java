@@ -3,7 +3,10 @@ package br.edu.ufape.sguAuthService.dados;
 import br.edu.ufape.sguAuthService.models.QTipoEtnia;
 import br.edu.ufape.sguAuthService.models.TipoEtnia;
 import com.querydsl.core.types.dsl.StringPath;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
 import org.springframework.data.querydsl.binding.QuerydslBindings;
@@ -12,6 +15,7 @@ import org.springframework.lang.NonNull;
 import java.util.Optional;
 
 public interface TipoEtniaRepository extends JpaRepository<TipoEtnia, Long>, QuerydslBinderCustomizer<QTipoEtnia>, QuerydslPredicateExecutor<TipoEtnia> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<TipoEtnia> findByTipoIgnoreCase(String tipo);
 
     @Override
@@ -2,7 +2,10 @@ package br.edu.ufape.sguAuthService.dados;
 
 import br.edu.ufape.sguAuthService.models.QTipoUnidadeAdministrativa;
 import com.querydsl.core.types.dsl.StringPath;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import br.edu.ufape.sguAuthService.models.TipoUnidadeAdministrativa;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
@@ -12,6 +15,7 @@ import org.springframework.lang.NonNull;
 
 public interface  TipoUnidadeAdministrativaRepository extends JpaRepository<TipoUnidadeAdministrativa, Long>,
         QuerydslPredicateExecutor<TipoUnidadeAdministrativa>, QuerydslBinderCustomizer<QTipoUnidadeAdministrativa> {
+   @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
    TipoUnidadeAdministrativa findByNome(String nome);
 
    @Override
@@ -0,0 +1,66 @@
+package br.edu.ufape.sguAuthService.dados;
+
+import br.edu.ufape.sguAuthService.models.UnidadeAdministrativa;
+import br.edu.ufape.sguAuthService.models.UnidadeAdministrativaHierarquia;
+import br.edu.ufape.sguAuthService.models.UnidadeAdministrativaHierarquiaId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface UnidadeAdministrativaHierarquiaRepository extends JpaRepository<UnidadeAdministrativaHierarquia, UnidadeAdministrativaHierarquiaId> {
+
+    boolean existsByIdAncestralIdAndIdDescendenteId(Long ancestralId, Long descendenteId);
+
+    @Query("SELECT d FROM UnidadeAdministrativaHierarquia h JOIN h.descendente d JOIN FETCH d.tipoUnidadeAdministrativa " +
+            "WHERE h.id.ancestralId = :id ORDER BY h.profundidade, d.codigo")
+    List<UnidadeAdministrativa> findSubarvore(@Param("id") Long id);
+
+    @Query("SELECT a FROM UnidadeAdministrativaHierarquia h JOIN h.ancestral a JOIN FETCH a.tipoUnidadeAdministrativa " +
+            "WHERE h.id.descendenteId = :id ORDER BY h.profundidade DESC")
+    List<UnidadeAdministrativa> findAncestrais(@Param("id") Long id);
+
+    @Query("SELECT COUNT(h) FROM UnidadeAdministrativaHierarquia h WHERE h.id.ancestralId = :id")
+    long countSubarvore(@Param("id") Long id);
+
+    @Query("SELECT COUNT(DISTINCT f.id) FROM UnidadeAdministrativaHierarquia h JOIN h.descendente d JOIN d.funcionarios f " +
+            "WHERE h.id.ancestralId = :id")
+    long countFuncionariosSubarvore(@Param("id") Long id);
+
+    @Query("SELECT COUNT(DISTINCT g.gestor.id) FROM UnidadeAdministrativaHierarquia h, GestorUnidade g " +
+            "WHERE g.unidadeAdministrativa.id = h.id.descendenteId AND h.id.ancestralId = :id")
+    long countGestoresSubarvore(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "INSERT INTO unidade_administrativa_hierarquia (ancestral_id, descendente_id, profundidade) " +
+            "VALUES (:id, :id, 0)", nativeQuery = true)
+    void inserirNo(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "INSERT INTO unidade_administrativa_hierarquia (ancestral_id, descendente_id, profundidade) " +
+            "SELECT h.ancestral_id, :id, h.profundidade + 1 FROM unidade_administrativa_hierarquia h " +
+            "WHERE h.descendente_id = :paiId", nativeQuery = true)
+    void inserirAncestrais(@Param("id") Long id, @Param("paiId") Long paiId);
+
+    // Desliga a subárvore de id de todos os ancestrais que estão fora dela
+    @Modifying
+    @Query(value = "DELETE FROM unidade_administrativa_hierarquia " +
+            "WHERE descendente_id IN (SELECT s.descendente_id FROM unidade_administrativa_hierarquia s WHERE s.ancestral_id = :id) " +
+            "AND ancestral_id NOT IN (SELECT s.descendente_id FROM unidade_administrativa_hierarquia s WHERE s.ancestral_id = :id)",
+            nativeQuery = true)
+    void desligarSubarvore(@Param("id") Long id);
+
+    // Religa a subárvore de id abaixo de paiId (produto cartesiano ancestrais x descendentes)
+    @Modifying
+    @Query(value = "INSERT INTO unidade_administrativa_hierarquia (ancestral_id, descendente_id, profundidade) " +
+            "SELECT sup.ancestral_id, sub.descendente_id, sup.profundidade + sub.profundidade + 1 " +
+            "FROM unidade_administrativa_hierarquia sup CROSS JOIN unidade_administrativa_hierarquia sub " +
+            "WHERE sup.descendente_id = :paiId AND sub.ancestral_id = :id", nativeQuery = true)
+    void religarSubarvore(@Param("id") Long id, @Param("paiId") Long paiId);
+
+    @Modifying
+    @Query("DELETE FROM UnidadeAdministrativaHierarquia h WHERE h.id.descendenteId = :id")
+    void deleteByDescendenteId(@Param("id") Long id);
+}
@@ -0,0 +1,37 @@
+package br.edu.ufape.sguAuthService.dados;
+
+import br.edu.ufape.sguAuthService.models.Enums.TipoVinculoUnidade;
+import br.edu.ufape.sguAuthService.models.UnidadeAdministrativaMembro;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.UUID;
+
+public interface UnidadeAdministrativaMembroRepository extends JpaRepository<UnidadeAdministrativaMembro, Long> {
+
+    boolean existsByUsuarioIdAndTipoAndUnidadeAdministrativaId(UUID usuarioId, TipoVinculoUnidade tipo, Long unidadeId);
+
+    @Modifying
+    @Query("DELETE FROM UnidadeAdministrativaMembro m " +
+            "WHERE m.usuarioId = :usuarioId AND m.tipo = :tipo AND m.unidadeAdministrativa.id = :unidadeId")
+    void deleteVinculo(@Param("usuarioId") UUID usuarioId, @Param("tipo") TipoVinculoUnidade tipo, @Param("unidadeId") Long unidadeId);
+
+    @Modifying
+    @Query("DELETE FROM UnidadeAdministrativaMembro m WHERE m.unidadeAdministrativa.id = :unidadeId")
+    void deleteByUnidadeAdministrativaId(@Param("unidadeId") Long unidadeId);
+
+    @Modifying
+    @Query(value = "INSERT INTO unidade_administrativa_membro (usuario_id, unidade_administrativa_id, tipo, desde) " +
+            "SELECT DISTINCT p.usuario_id, uf.ua_id, 'FUNCIONARIO', CURRENT_TIMESTAMP " +
+            "FROM ua_funcionarios uf JOIN perfil p ON p.id = uf.funcionario_id", nativeQuery = true)
+    void inserirVinculosDeFuncionarios();
+
+    @Modifying
+    @Query(value = "INSERT INTO unidade_administrativa_membro (usuario_id, unidade_administrativa_id, tipo, desde) " +
+            "SELECT DISTINCT p.usuario_id, gu.unidade_administrativa_id, 'GESTOR', CURRENT_TIMESTAMP " +
+            "FROM gestor_unidade gu JOIN perfil p ON p.id = gu.gestor_id " +
+            "WHERE gu.unidade_administrativa_id IS NOT NULL", nativeQuery = true)
+    void inserirVinculosDeGestores();
+}
@@ -4,6 +4,7 @@ import br.edu.ufape.sguAuthService.models.QUnidadeAdministrativa;
 import br.edu.ufape.sguAuthService.models.UnidadeAdministrativa;
 import com.querydsl.core.types.dsl.StringPath;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
 import org.springframework.data.querydsl.binding.QuerydslBindings;
@@ -16,6 +17,12 @@ public interface  UnidadeAdministrativaRepository extends JpaRepository<UnidadeA
     List<UnidadeAdministrativa> findByUnidadePaiId(Long id);
     List<UnidadeAdministrativa> findByUnidadePaiIsNull();
 
+    @Query("SELECT DISTINCT u FROM UnidadeAdministrativa u JOIN FETCH u.tipoUnidadeAdministrativa LEFT JOIN FETCH u.unidadesFilhas")
+    List<UnidadeAdministrativa> findAllComUnidadesFilhas();
+
+    @Query("SELECT u.id, p.id FROM UnidadeAdministrativa u LEFT JOIN u.unidadePai p")
+    List<Object[]> findIdsComUnidadePai();
+
     @Override
     default void customize(QuerydslBindings bindings, @NonNull QUnidadeAdministrativa root) {
         bindings.bind(String.class).first((StringPath path, String value) -> path.containsIgnoreCase(value));
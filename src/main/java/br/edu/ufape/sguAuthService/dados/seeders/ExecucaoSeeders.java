@@ -0,0 +1,50 @@
+package br.edu.ufape.sguAuthService.dados.seeders;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+/**
+ * Roda os seeders fora da inicialização: começam depois que a aplicação está pronta, numa thread do executor,
+ * e seguem em sequência porque hierarquia e vínculos dependem das unidades carregadas.
+ * Cada seeder pula a carga quando os dados já estão atualizados.
+ */
+@Component @RequiredArgsConstructor
+public class ExecucaoSeeders {
+    private static final Logger log = LoggerFactory.getLogger(ExecucaoSeeders.class);
+
+    private final TipoEtniaSeeder tipoEtniaSeeder;
+    private final UnidadeAdministrativaSeeder unidadeAdministrativaSeeder;
+    private final UnidadeAdministrativaHierarquiaSeeder unidadeAdministrativaHierarquiaSeeder;
+    private final UnidadeAdministrativaMembroSeeder unidadeAdministrativaMembroSeeder;
+    private final ApplicationStartup applicationStartup;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void executar() {
+        executar("tipo-etnia", tipoEtniaSeeder::seed);
+        executar("unidades-administrativas", unidadeAdministrativaSeeder::seed);
+        executar("hierarquia-unidades", unidadeAdministrativaHierarquiaSeeder::seed);
+        executar("vinculos-unidades", unidadeAdministrativaMembroSeeder::seed);
+    }
+
+    private void executar(String nome, Runnable seeder) {
+        StartupStep passo = applicationStartup.start("sgu.seeders." + nome);
+        long inicio = System.nanoTime();
+        try {
+            seeder.run();
+        } catch (RuntimeException e) {
+            passo.tag("erro", e.getClass().getSimpleName());
+            log.error("Seeder {} falhou.", nome, e);
+        } finally {
+            passo.end();
+            log.info("Seeder {} concluído em {} ms.", nome, (System.nanoTime() - inicio) / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package br.edu.ufape.sguAuthService.dados.seeders;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Árvore de prefixos dos códigos já carregados. O código "SIGLA.PAI" tem como pai o código
+ * que começa por "PAI"; a busca custa O(tamanho do sufixo) em vez de varrer todos os códigos.
+ * Entre vários candidatos prefere o código cujo primeiro segmento é exatamente o sufixo
+ * ("DRI" -> "DRI.REIT" e não "DRINT.REIT") e, depois, o carregado primeiro.
+ */
+class ResolvedorCodigoPai {
+    private final No raiz = new No();
+
+    void registrar(String codigo) {
+        No atual = raiz;
+        for (int i = 0; i < codigo.length(); i++) {
+            if (atual.primeiro == null) atual.primeiro = codigo;
+            atual = atual.filhos.computeIfAbsent(codigo.charAt(i), _ -> new No());
+        }
+        if (atual.primeiro == null) atual.primeiro = codigo;
+        if (atual.codigo == null) atual.codigo = codigo;
+    }
+
+    String resolver(String codigo) {
+        int ponto = codigo.indexOf('.');
+        if (ponto < 0 || ponto == codigo.length() - 1) return null;
+
+        No atual = raiz;
+        for (int i = ponto + 1; i < codigo.length() && atual != null; i++) {
+            atual = atual.filhos.get(codigo.charAt(i));
+        }
+        if (atual == null) return null;
+        if (atual.codigo != null) return atual.codigo;
+        No segmento = atual.filhos.get('.');
+        return segmento != null ? segmento.primeiro : atual.primeiro;
+    }
+
+    private static class No {
+        private final Map<Character, No> filhos = new HashMap<>();
+        private String codigo;
+        private String primeiro;
+    }
+}
@@ -2,23 +2,26 @@ package br.edu.ufape.sguAuthService.dados.seeders;
 
 import br.edu.ufape.sguAuthService.models.TipoEtnia;
 import br.edu.ufape.sguAuthService.dados.TipoEtniaRepository;
-import org.springframework.boot.context.event.ApplicationReadyEvent;
-import org.springframework.context.event.EventListener;
+import br.edu.ufape.sguAuthService.servicos.interfaces.CacheReferenciaService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 
 @Component
 public class TipoEtniaSeeder {
+    private static final Logger log = LoggerFactory.getLogger(TipoEtniaSeeder.class);
 
     private final TipoEtniaRepository tipoEtniaRepository;
+    private final CacheReferenciaService cacheReferenciaService;
 
-    public TipoEtniaSeeder(TipoEtniaRepository tipoEtniaRepository) {
+    public TipoEtniaSeeder(TipoEtniaRepository tipoEtniaRepository, CacheReferenciaService cacheReferenciaService) {
         this.tipoEtniaRepository = tipoEtniaRepository;
+        this.cacheReferenciaService = cacheReferenciaService;
     }
 
-    @EventListener
-    public void seed(ApplicationReadyEvent event) {
+    public void seed() {
         if (tipoEtniaRepository.count() == 0) {
             List<String> etnias = List.of("Branco", "Preto", "Pardo", "Indígena", "Amarelo");
 
@@ -31,10 +34,11 @@ public class TipoEtniaSeeder {
                         });
             }
 
-            System.out.println("Tipos de Etnia inicializados com sucesso!");
+            // O seeder roda depois da prontidão: um GET /tipoEtnia anterior pode ter guardado a lista vazia
+            cacheReferenciaService.registrarAlteracao(TipoEtnia.class);
+            log.info("Tipos de Etnia inicializados com sucesso!");
         } else {
-            System.out.println("Seeder de TipoEtnia ignorado: tabela já contém registros.");
+            log.info("Seeder de TipoEtnia ignorado: tabela já contém registros.");
         }
     }
 }
-
@@ -0,0 +1,29 @@
+package br.edu.ufape.sguAuthService.dados.seeders;
+
+import br.edu.ufape.sguAuthService.dados.UnidadeAdministrativaHierarquiaRepository;
+import br.edu.ufape.sguAuthService.dados.UnidadeAdministrativaRepository;
+import br.edu.ufape.sguAuthService.servicos.interfaces.UnidadeAdministrativaService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Preenche a tabela de hierarquia quando ela está vazia, mas já existem unidades
+ * (bancos anteriores à tabela de fechamento ou unidades inseridas diretamente pelo seeder).
+ */
+@Component @RequiredArgsConstructor
+public class UnidadeAdministrativaHierarquiaSeeder {
+    private static final Logger log = LoggerFactory.getLogger(UnidadeAdministrativaHierarquiaSeeder.class);
+
+    private final UnidadeAdministrativaHierarquiaRepository unidadeAdministrativaHierarquiaRepository;
+    private final UnidadeAdministrativaRepository unidadeAdministrativaRepository;
+    private final UnidadeAdministrativaService unidadeAdministrativaService;
+
+    public void seed() {
+        if (unidadeAdministrativaHierarquiaRepository.count() == 0 && unidadeAdministrativaRepository.count() > 0) {
+            unidadeAdministrativaService.reconstruirHierarquia();
+            log.info("Hierarquia de unidades administrativas reconstruída com sucesso.");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package br.edu.ufape.sguAuthService.dados.seeders;
+
+import br.edu.ufape.sguAuthService.dados.UnidadeAdministrativaMembroRepository;
+import br.edu.ufape.sguAuthService.servicos.interfaces.UnidadeAdministrativaService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Preenche o índice de vínculos a partir de ua_funcionarios e gestor_unidade
+ * quando ele ainda está vazio (bancos anteriores à tabela de vínculos).
+ */
+@Component @RequiredArgsConstructor
+public class UnidadeAdministrativaMembroSeeder {
+    private static final Logger log = LoggerFactory.getLogger(UnidadeAdministrativaMembroSeeder.class);
+
+    private final UnidadeAdministrativaMembroRepository unidadeAdministrativaMembroRepository;
+    private final UnidadeAdministrativaService unidadeAdministrativaService;
+
+    public void seed() {
+        if (unidadeAdministrativaMembroRepository.count() == 0) {
+            unidadeAdministrativaService.reconstruirVinculos();
+            log.info("Vínculos de unidades administrativas reconstruídos: {} registros.", unidadeAdministrativaMembroRepository.count());
+        }
+    }
+}
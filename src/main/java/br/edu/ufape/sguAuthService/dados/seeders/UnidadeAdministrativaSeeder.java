@@ -1,24 +1,62 @@
 package  br.edu.ufape.sguAuthService.dados.seeders;
 
 
+import br.edu.ufape.sguAuthService.dados.ExecucaoSeedRepository;
 import br.edu.ufape.sguAuthService.dados.TipoUnidadeAdministrativaRepository;
 import br.edu.ufape.sguAuthService.dados.UnidadeAdministrativaRepository;
+import br.edu.ufape.sguAuthService.models.ExecucaoSeed;
 import br.edu.ufape.sguAuthService.models.TipoUnidadeAdministrativa;
 import br.edu.ufape.sguAuthService.models.UnidadeAdministrativa;
-import jakarta.annotation.PostConstruct;
+import br.edu.ufape.sguAuthService.servicos.interfaces.CacheReferenciaService;
+import br.edu.ufape.sguAuthService.servicos.interfaces.UnidadeAdministrativaService;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
-
-
+import org.springframework.transaction.support.TransactionTemplate;
+
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Types;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Carrega a estrutura de unidades administrativas, embutida abaixo ou lida de um CSV (seed.unidades.arquivo,
+ * colunas nome,codigo,tipo). As inserções vão em lotes JDBC porque o id IDENTITY impede o batching do Hibernate;
+ * os pais são ligados depois, numa segunda passada em lote. A carga é pulada quando o checksum do conteúdo
+ * é igual ao da última execução registrada.
+ */
 @Component @RequiredArgsConstructor
 public class UnidadeAdministrativaSeeder {
+    private static final Logger log = LoggerFactory.getLogger(UnidadeAdministrativaSeeder.class);
+    private static final String NOME_SEED = "unidades-administrativas";
+
+    private static final String INSERIR =
+            "INSERT INTO unidade_administrativa (nome, codigo, tipo_unidade_administrativa_id) VALUES (?, ?, ?)";
+    private static final String ATUALIZAR =
+            "UPDATE unidade_administrativa SET nome = ?, tipo_unidade_administrativa_id = ? WHERE id = ?";
+    private static final String LIGAR_PAI =
+            "UPDATE unidade_administrativa SET unidade_pai_id = ? WHERE id = ?";
 
     private static final List<String> ESTRUTURA = Arrays.asList(
             // Reitoria
@@ -330,116 +368,220 @@ public class UnidadeAdministrativaSeeder {
             "Seção de Laboratórios de Apoio - SLA.HVU - Seção"
     );
 
-
-    private final TipoUnidadeAdministrativaRepository tipoUnidadeAdministrativaRepository;
+    private static final List<String> TIPOS = List.of(
+            "Reitoria",
+            "Gabinete",
+            "Secretaria",
+            "Assessoria",
+            "Vice-Reitoria",
+            "Seção",
+            "Diretoria",
+            "Coordenadoria",
+            "Procuradoria",
+            "Ouvidoria",
+            "Auditoria",
+            "Pró-Reitoria",
+            "Departamento",
+            "Prefeitura",
+            "Arquivo Geral",
+            "Campus",
+            "Campi",
+            "Instituto",
+            "Sistema",
+            "Fazenda Universitária",
+            "Hospital Veterinário Universitário"
+    );
 
 
+    private final TipoUnidadeAdministrativaRepository tipoUnidadeAdministrativaRepository;
     private final UnidadeAdministrativaRepository unidadeAdministrativaRepository;
-
-    @PostConstruct
-    @Transactional
-    public void init() {
-        // Verificar se as tabelas já estão populadas
-        if (unidadeAdministrativaRepository.count() > 0 || tipoUnidadeAdministrativaRepository.count() > 0) {
+    private final ExecucaoSeedRepository execucaoSeedRepository;
+    private final UnidadeAdministrativaService unidadeAdministrativaService;
+    private final CacheReferenciaService cacheReferenciaService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${seed.unidades.arquivo:}")
+    private String arquivo;
+
+    @Value("${seed.unidades.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    public void seed() {
+        Path caminho = arquivo.isBlank() ? null : Path.of(arquivo);
+        String checksum = calcularChecksum(caminho);
+        ExecucaoSeed ultima = execucaoSeedRepository.findById(NOME_SEED).orElse(null);
+        if (ultima != null && ultima.getChecksum().equals(checksum)) {
+            log.info("Seeder de unidades administrativas ignorado: conteúdo inalterado desde {}.", ultima.getExecutadoEm());
             return;
         }
 
-        // Passo 1: Inserir tipos de unidade administrativa
-        List<String> nomes = List.of(
-                "Reitoria",
-                "Gabinete",
-                "Secretaria",
-                "Assessoria",
-                "Vice-Reitoria",
-                "Seção",
-                "Diretoria",
-                "Coordenadoria",
-                "Procuradoria",
-                "Ouvidoria",
-                "Auditoria",
-                "Pró-Reitoria",
-                "Departamento",
-                "Prefeitura",
-                "Arquivo Geral",
-                "Campus",
-                "Campi",
-                "Instituto",
-                "Sistema",
-                "Fazenda Universitária",
-                "Hospital Veterinário Universitário"
-        );
-
-        List<TipoUnidadeAdministrativa> tipos = nomes.stream()
-                .map(nome -> {
-                    TipoUnidadeAdministrativa tipo = new TipoUnidadeAdministrativa();
-                    tipo.setNome(nome);
-                    return tipo;
-                })
-                .toList();
-
-        tipoUnidadeAdministrativaRepository.saveAll(tipos);
-
-        // Passo 2: Processar unidades administrativas
-        Map<String, UnidadeAdministrativa> unidadesSalvas = new HashMap<>();
-        List<UnidadeAdministrativa> unidades = new ArrayList<>();
-
-        for (String linha : ESTRUTURA) {
-            String[] partes = linha.split(" - ");
-            if (partes.length != 3) {
-                System.err.println("Linha inválida: " + linha);
-                continue;
+        transactionTemplate.executeWithoutResult(_ -> {
+            // Bancos populados antes do registro de checksum: a estrutura embutida já foi carregada por versões anteriores
+            if (ultima == null && caminho == null && unidadeAdministrativaRepository.count() > 0) {
+                registrarExecucao(checksum);
+                return;
             }
+            carregar(caminho);
+            registrarExecucao(checksum);
+        });
+    }
 
-            String nome = partes[0].trim();
-            String codigo = partes[1].trim();
-            String tipo = partes[2].trim();
-
-            UnidadeAdministrativa unidade = new UnidadeAdministrativa();
-            unidade.setNome(nome);
-            unidade.setCodigo(codigo);
-
-
-            TipoUnidadeAdministrativa tipoUnidade = tipoUnidadeAdministrativaRepository.findByNome(tipo);
-            if (tipoUnidade == null) {
-                System.err.println("Tipo não encontrado: " + tipo);
-                continue;
-            }
-            unidade.setTipoUnidadeAdministrativa(tipoUnidade);
+    private void carregar(Path caminho) {
+        long inicio = System.nanoTime();
 
+        // Passo 1: tipos em memória, criando os que ainda não existem
+        Map<String, TipoUnidadeAdministrativa> tipos = new HashMap<>();
+        tipoUnidadeAdministrativaRepository.findAll().forEach(tipo -> tipos.put(tipo.getNome(), tipo));
+        List<TipoUnidadeAdministrativa> novosTipos = TIPOS.stream()
+                .filter(nome -> !tipos.containsKey(nome))
+                .map(this::novoTipo)
+                .toList();
+        tipoUnidadeAdministrativaRepository.saveAll(novosTipos).forEach(tipo -> tipos.put(tipo.getNome(), tipo));
+        // Tipos também nascem das linhas do CSV; qualquer criação precisa invalidar o cache dos tipos
+        AtomicBoolean tiposCriados = new AtomicBoolean(!novosTipos.isEmpty());
+
+        // Passo 2: unidades em lotes; as que já existem (pelo código) são atualizadas
+        Map<String, Long> idsExistentes = buscarIdsPorCodigo();
+        ResolvedorCodigoPai resolvedor = new ResolvedorCodigoPai();
+        Map<String, String> paiPorCodigo = new LinkedHashMap<>();
+        List<Object[]> insercoes = new ArrayList<>();
+        List<Object[]> atualizacoes = new ArrayList<>();
+
+        try (Stream<String[]> linhas = lerLinhas(caminho)) {
+            linhas.forEach(partes -> {
+                if (partes.length != 3) {
+                    log.warn("Linha inválida: {}", String.join(" - ", partes));
+                    return;
+                }
+                String nome = partes[0].trim();
+                String codigo = partes[1].trim();
+                String tipo = partes[2].trim();
+                if (paiPorCodigo.containsKey(codigo)) {
+                    log.warn("Código repetido ignorado: {}", codigo);
+                    return;
+                }
+
+                TipoUnidadeAdministrativa tipoUnidade = tipos.computeIfAbsent(tipo, nomeTipo -> {
+                    tiposCriados.set(true);
+                    return tipoUnidadeAdministrativaRepository.save(novoTipo(nomeTipo));
+                });
+
+                paiPorCodigo.put(codigo, resolvedor.resolver(codigo));
+                resolvedor.registrar(codigo);
+
+                Long id = idsExistentes.get(codigo);
+                if (id == null) {
+                    insercoes.add(new Object[]{nome, codigo, tipoUnidade.getId()});
+                    if (insercoes.size() >= tamanhoLote) executarLote(INSERIR, insercoes);
+                } else {
+                    atualizacoes.add(new Object[]{nome, tipoUnidade.getId(), id});
+                    if (atualizacoes.size() >= tamanhoLote) executarLote(ATUALIZAR, atualizacoes);
+                }
+            });
+        }
+        executarLote(INSERIR, insercoes);
+        executarLote(ATUALIZAR, atualizacoes);
+
+        // Passo 3: liga os pais, agora que todas as unidades têm id
+        Map<String, Long> ids = buscarIdsPorCodigo();
+        List<Object[]> pais = new ArrayList<>();
+        paiPorCodigo.forEach((codigo, codigoPai) -> {
+            pais.add(new Object[]{codigoPai == null ? null : ids.get(codigoPai), ids.get(codigo)});
+            if (pais.size() >= tamanhoLote) executarLote(LIGAR_PAI, pais);
+        });
+        executarLote(LIGAR_PAI, pais);
+
+        unidadeAdministrativaService.reconstruirHierarquia();
+        if (tiposCriados.get()) cacheReferenciaService.registrarAlteracao(TipoUnidadeAdministrativa.class);
+        cacheReferenciaService.registrarAlteracao(UnidadeAdministrativa.class);
+        log.info("Unidades administrativas carregadas: {} linhas em {} ms.", paiPorCodigo.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
 
-            String codigoPai = extrairCodigoPai(codigo, unidadesSalvas);
-            if (codigoPai != null && unidadesSalvas.containsKey(codigoPai)) {
-                unidade.setUnidadePai(unidadesSalvas.get(codigoPai));
+    private void executarLote(String sql, List<Object[]> lote) {
+        if (lote.isEmpty()) return;
+        jdbcTemplate.batchUpdate(sql, lote, lote.size(), (ps, valores) -> {
+            for (int i = 0; i < valores.length; i++) {
+                if (valores[i] == null) ps.setNull(i + 1, Types.BIGINT);
+                else ps.setObject(i + 1, valores[i]);
             }
+        });
+        lote.clear();
+    }
 
-            unidades.add(unidade);
-            unidadesSalvas.put(codigo, unidade);
-        }
+    private Map<String, Long> buscarIdsPorCodigo() {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT codigo, id FROM unidade_administrativa",
+                rs -> { ids.put(rs.getString(1), rs.getLong(2)); });
+        return ids;
+    }
 
+    private TipoUnidadeAdministrativa novoTipo(String nome) {
+        TipoUnidadeAdministrativa tipo = new TipoUnidadeAdministrativa();
+        tipo.setNome(nome);
+        return tipo;
+    }
 
-        unidadeAdministrativaRepository.saveAll(unidades);
+    private void registrarExecucao(String checksum) {
+        execucaoSeedRepository.save(new ExecucaoSeed(NOME_SEED, checksum, LocalDateTime.now()));
     }
 
-    private String extrairCodigoPai(String codigo, Map<String, UnidadeAdministrativa> unidadesSalvas) {
-        if (!codigo.contains(".")) {
-            return null;
+    private Stream<String[]> lerLinhas(Path caminho) {
+        if (caminho == null) {
+            return ESTRUTURA.stream().map(linha -> linha.split(" - "));
         }
-
-
-        String[] partes = codigo.split("\\.", 2);
-        if (partes.length < 2) {
-            return null;
+        try {
+            return Files.lines(caminho, StandardCharsets.UTF_8)
+                    .filter(linha -> !linha.isBlank())
+                    .map(UnidadeAdministrativaSeeder::dividirCsv)
+                    .filter(colunas -> !(colunas.length > 0 && colunas[0].equalsIgnoreCase("nome")));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível ler " + caminho, e);
         }
-        String sufixo = partes[1];
-
+    }
 
-        for (String codigoSalvo : unidadesSalvas.keySet()) {
-            if (codigoSalvo.startsWith(sufixo)) {
-                return codigoSalvo;
+    // CSV simples: separador vírgula, aspas duplas para valores com vírgula e "" para aspas literais
+    private static String[] dividirCsv(String linha) {
+        List<String> colunas = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (c == '"') {
+                if (entreAspas && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else {
+                    entreAspas = !entreAspas;
+                }
+            } else if (c == ',' && !entreAspas) {
+                colunas.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
             }
         }
+        colunas.add(atual.toString());
+        return colunas.toArray(String[]::new);
+    }
 
-
-        return null;
+    private String calcularChecksum(Path caminho) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        TIPOS.forEach(tipo -> digest.update((tipo + "\n").getBytes(StandardCharsets.UTF_8)));
+        if (caminho == null) {
+            ESTRUTURA.forEach(linha -> digest.update((linha + "\n").getBytes(StandardCharsets.UTF_8)));
+        } else {
+            try (InputStream entrada = new DigestInputStream(Files.newInputStream(caminho), digest)) {
+                entrada.transferTo(OutputStream.nullOutputStream());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Não foi possível ler " + caminho, e);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
     }
-}
\ No newline at end of file
+}
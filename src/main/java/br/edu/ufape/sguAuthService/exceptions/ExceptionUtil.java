@@ -18,6 +18,8 @@ public class ExceptionUtil {
                 {throw new UniqueConstraintViolationException("tipo unidade administrativa", "Tipo de unidade administrativa já cadastrado!");}
                 else if (message.contains("unidade_administrativa_nome_key")){throw new UniqueConstraintViolationException("Unidade Administrativa", "Nome de Unidade já cadastrada!");}
                 else if (message.contains("unidade_administrativa_codigo_key")){throw new UniqueConstraintViolationException("Unidade Administrativa", "Código de Unidade já cadastrada!");}
+                else if (message.contains("uk_solicitacao_perfil_ativa")){throw new SolicitacaoDuplicadaException("Já existe uma solicitação pendente ou aprovada para este perfil");}
+                else if (message.contains("uk_solicitacao_perfil_idempotencia")){throw new SolicitacaoDuplicadaException("Esta solicitação já está sendo processada");}
                 else throw new UniqueConstraintViolationException("desconhecido", "Violação de restrição única desconhecida");
 
                 }
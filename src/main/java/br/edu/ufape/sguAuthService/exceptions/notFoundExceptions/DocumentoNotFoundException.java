@@ -0,0 +1,7 @@
+package br.edu.ufape.sguAuthService.exceptions.notFoundExceptions;
+
+public class DocumentoNotFoundException extends NotFoundException {
+    public DocumentoNotFoundException() {
+        super("Documento não encontrado");
+    }
+}
@@ -3,9 +3,9 @@ package br.edu.ufape.sguAuthService.exceptions.unidadeAdministrativa;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
-@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "Uma Unidade Administrativa não pode ser sua própria unidade pai.")
+@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "Uma Unidade Administrativa não pode ser subordinada a si mesma nem a uma de suas unidades descendentes.")
 public class UnidadeAdministrativaCircularException extends RuntimeException {
     public UnidadeAdministrativaCircularException() {
-        super("Uma Unidade Administrativa não pode ser sua própria unidade pai.");
+        super("Uma Unidade Administrativa não pode ser subordinada a si mesma nem a uma de suas unidades descendentes.");
     }
 }
@@ -1,8 +1,12 @@
 package br.edu.ufape.sguAuthService.fachada;
 
 
+import br.edu.ufape.sguAuthService.comunicacao.dto.cache.EstatisticaCacheResponse;
+import br.edu.ufape.sguAuthService.comunicacao.dto.solicitacaoPerfil.SolicitacaoPerfilExportacaoResponse;
+import br.edu.ufape.sguAuthService.comunicacao.dto.usuario.UsuarioExportacaoResponse;
 import br.edu.ufape.sguAuthService.comunicacao.dto.curso.CursoPatchRequest;
 import br.edu.ufape.sguAuthService.comunicacao.dto.documento.DocumentoResponse;
+import br.edu.ufape.sguAuthService.comunicacao.dto.unidadeAdministrativa.UnidadeAdministrativaContagemResponse;
 import br.edu.ufape.sguAuthService.comunicacao.dto.usuario.UsuarioPatchRequest;
 import br.edu.ufape.sguAuthService.config.AuthenticatedUserProvider;
 import br.edu.ufape.sguAuthService.exceptions.unidadeAdministrativa.UnidadeAdministrativaNotFoundException;
@@ -14,11 +18,17 @@ import br.edu.ufape.sguAuthService.exceptions.SolicitacaoDuplicadaException;
 import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.*;
 import br.edu.ufape.sguAuthService.exceptions.auth.KeycloakAuthenticationException;
 import br.edu.ufape.sguAuthService.models.*;
+import br.edu.ufape.sguAuthService.servicos.armazenamento.ArquivoArmazenado;
+import br.edu.ufape.sguAuthService.servicos.armazenamento.VarianteImagem;
 import br.edu.ufape.sguAuthService.servicos.interfaces.*;
 import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import com.querydsl.core.types.Predicate;
 import lombok.RequiredArgsConstructor;
@@ -51,6 +61,8 @@ public class Fachada {
     private final TipoUnidadeAdministrativaService tipoUnidadeAdministrativaService;
     private final AuthenticatedUserProvider authenticatedUserProvider;
     private final TipoEtniaService tipoEtniaService;
+    private final CacheReferenciaService cacheReferenciaService;
+    private final BuscaUsuarioService buscaUsuarioService;
 
     // ================== Auth ================== //
     public TokenResponse login(String username, String password) {
@@ -203,10 +215,22 @@ public class Fachada {
         return usuarioService.listarUsuarios(predicate, pageable);
     }
 
+    public List<Usuario> buscarUsuariosPorTermo(String termo, int limite) {
+        return usuarioService.buscarUsuariosPorIds(buscaUsuarioService.buscar(termo, limite));
+    }
+
+    public void exportarUsuarios(Predicate predicate, Consumer<UsuarioExportacaoResponse> consumidor) {
+        usuarioService.exportarUsuarios(predicate, consumidor);
+    }
+
     public List<Usuario> listarUsuariosEmBatch(List<UUID> ids) {
         return usuarioService.buscarUsuariosPorIds(ids);
     }
 
+    public void percorrerUsuariosEmBatch(List<UUID> ids, BiConsumer<UUID, Usuario> consumidor) {
+        usuarioService.percorrerUsuariosPorIds(ids, consumidor);
+    }
+
     public void deletarUsuario() throws UsuarioNotFoundException {
         UUID idSessao = authenticatedUserProvider.getUserId();
         try {
@@ -271,21 +295,28 @@ public class Fachada {
 
     // ================== SolicitacaoPerfil ================== //
     @Transactional
-    public SolicitacaoPerfil solicitarPerfil(Perfil perfil,MultipartFile[] arquivos) throws UsuarioNotFoundException, SolicitacaoDuplicadaException {
+    public SolicitacaoPerfil solicitarPerfil(Perfil perfil, MultipartFile[] arquivos, String chaveIdempotencia) throws UsuarioNotFoundException, SolicitacaoDuplicadaException {
+        Usuario solicitante = buscarUsuarioAtual();
+        // Uma repetição com a mesma chave não salva perfil nem arquivos de novo
+        Optional<SolicitacaoPerfil> existente = solicitacaoPerfilService.buscarSolicitacaoPorChaveIdempotencia(solicitante.getId(), chaveIdempotencia);
+        if (existente.isPresent()) {
+            return existente.get();
+        }
+        solicitacaoPerfilService.verificarSolicitacaoDuplicada(solicitante, perfil.getClass().getSimpleName());
 
         Perfil perfilSalvo = perfilService.salvar(perfil);
-        Usuario solicitante = buscarUsuarioAtual();
         List<Documento> documentos = armazenamentoService.salvarArquivo(arquivos);
-        return solicitacaoPerfilService.solicitarPerfil(perfilSalvo, solicitante, documentos);
+        return solicitacaoPerfilService.solicitarPerfil(perfilSalvo, solicitante, documentos, chaveIdempotencia);
     }
 
     public SolicitacaoPerfil buscarSolicitacao(Long id) throws SolicitacaoNotFoundException {
         UUID sessionId = authenticatedUserProvider.getUserId();
+        // Uma consulta só, já com o plano da resposta; a verificação de acesso usa a mesma entidade
         SolicitacaoPerfil solicitacao = solicitacaoPerfilService.buscarSolicitacao(id);
         if(!solicitacao.getSolicitante().getId().equals(sessionId) && !keycloakService.hasRoleAdmin(String.valueOf(sessionId))){
             throw new GlobalAccessDeniedException("Você não tem permissão para acessar este recurso");
         }
-        return solicitacaoPerfilService.buscarSolicitacao(id);
+        return solicitacao;
     }
 
     public Page<SolicitacaoPerfil> buscarSolicitacoesUsuarioAtual(Predicate predicate, Pageable pageable) {
@@ -300,18 +331,38 @@ public class Fachada {
         return solicitacaoPerfilService.listarSolicitacoes(predicate, pageable);
     }
 
+    public void exportarSolicitacoes(Predicate predicate, Consumer<SolicitacaoPerfilExportacaoResponse> consumidor) {
+        solicitacaoPerfilService.exportarSolicitacoes(predicate, consumidor);
+    }
+
     public Page<SolicitacaoPerfil> listarSolicitacoesPendentes(Predicate predicate, Pageable pageable) {
         return solicitacaoPerfilService.listarSolicitacoesPendentes(predicate, pageable);
     }
 
 
-    public List<DocumentoResponse> listarDocumentosBase64(Long id) throws SolicitacaoNotFoundException, IOException {
+    public List<DocumentoResponse> listarDocumentos(Long id) throws SolicitacaoNotFoundException, IOException {
+        return armazenamentoService.descreverDocumentos(buscarSolicitacaoComDocumentosPermitida(id).getDocumentos());
+    }
+
+    public ArquivoArmazenado localizarDocumento(Long id, Long documentoId, VarianteImagem variante) throws SolicitacaoNotFoundException, DocumentoNotFoundException, IOException {
+        Documento documento = buscarSolicitacaoComDocumentosPermitida(id).getDocumentos().stream()
+                .filter(d -> d.getId().equals(documentoId))
+                .findFirst()
+                .orElseThrow(DocumentoNotFoundException::new);
+        return armazenamentoService.localizarArquivo(documento, variante);
+    }
+
+    public List<ArquivoArmazenado> localizarDocumentos(Long id) throws SolicitacaoNotFoundException, IOException {
+        return armazenamentoService.localizarArquivos(buscarSolicitacaoComDocumentosPermitida(id).getDocumentos());
+    }
+
+    private SolicitacaoPerfil buscarSolicitacaoComDocumentosPermitida(Long id) throws SolicitacaoNotFoundException {
         UUID sessionId = authenticatedUserProvider.getUserId();
-        SolicitacaoPerfil solicitacao = solicitacaoPerfilService.buscarSolicitacao(id);
+        SolicitacaoPerfil solicitacao = solicitacaoPerfilService.buscarSolicitacaoComDocumentos(id);
         if(!solicitacao.getSolicitante().getId().equals(sessionId) && !keycloakService.hasRoleAdmin(String.valueOf(sessionId))){
             throw new GlobalAccessDeniedException("Você não tem permissão para acessar este recurso");
         }
-        return armazenamentoService.converterDocumentosParaBase64(solicitacao.getDocumentos());
+        return solicitacao;
     }
 
 
@@ -346,7 +397,7 @@ public class Fachada {
         return unidadeAdministrativaService.salvar(unidadeAdministrativa, tipoUnidadeAdministrativa, paiId);
     }
     public UnidadeAdministrativa buscarUnidadeAdministrativa(Long id) throws UnidadeAdministrativaNotFoundException{
-        return unidadeAdministrativaService.buscarUnidadeAdministrativa(id);
+        return unidadeAdministrativaService.buscarUnidadeAdministrativaComMembros(id);
     }
 
     public List<UnidadeAdministrativa> listarUnidadesAdministrativas() {
@@ -369,6 +420,28 @@ public class Fachada {
         return unidadeAdministrativaService.editarUnidadeAdministrativa(novaUnidadeAdministrativa, id);
     }
 
+    public UnidadeAdministrativa moverUnidadeAdministrativa(Long id, Long novoPaiId) throws UnidadeAdministrativaNotFoundException {
+        return unidadeAdministrativaService.moverUnidadeAdministrativa(id, novoPaiId);
+    }
+
+    public List<UnidadeAdministrativa> listarSubarvore(Long id) throws UnidadeAdministrativaNotFoundException {
+        return unidadeAdministrativaService.listarSubarvore(id);
+    }
+
+    public List<UnidadeAdministrativa> listarAncestrais(Long id) throws UnidadeAdministrativaNotFoundException {
+        return unidadeAdministrativaService.listarAncestrais(id);
+    }
+
+    public UnidadeAdministrativaContagemResponse contarSubarvore(Long id) throws UnidadeAdministrativaNotFoundException {
+        UnidadeAdministrativa unidade = unidadeAdministrativaService.buscarUnidadeAdministrativa(id);
+        return new UnidadeAdministrativaContagemResponse(
+                unidade.getId(),
+                unidade.getCodigo(),
+                unidadeAdministrativaService.contarUnidadesDescendentes(id),
+                unidadeAdministrativaService.contarFuncionariosNaSubarvore(id),
+                unidadeAdministrativaService.contarGestoresNaSubarvore(id));
+    }
+
     @Transactional
     public GestorUnidade adicionarGestor(Long unidadeId, GestorUnidade gestorUnidade, UUID gestorId) {
         Usuario gestor = gestorService.buscarGestor(gestorId, true, null);
@@ -501,4 +574,17 @@ public class Fachada {
         tipoEtniaService.deletarTipoEtnia(id);
     }
 
+    // ================== Cache ================== //
+    public List<EstatisticaCacheResponse> listarEstatisticasCache() {
+        return cacheReferenciaService.listarEstatisticas();
+    }
+
+    public long buscarVersaoReferencia(Class<?> entidade) {
+        return cacheReferenciaService.buscarVersao(entidade);
+    }
+
+    public Instant buscarUltimaAlteracaoReferencia(Class<?> entidade) {
+        return cacheReferenciaService.buscarUltimaAlteracao(entidade);
+    }
+
 }
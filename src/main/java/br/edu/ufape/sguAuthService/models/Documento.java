@@ -1,6 +1,7 @@
 package br.edu.ufape.sguAuthService.models;
 
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -20,4 +21,10 @@ public class Documento {
     private String nome;
 
     private String path;
+
+    // SHA-256 do conteúdo; o arquivo é gravado como hash.extensão e compartilhado entre documentos iguais
+    @Column(length = 64)
+    private String hash;
+
+    private Long tamanho;
 }
@@ -0,0 +1,6 @@
+package br.edu.ufape.sguAuthService.models.Enums;
+
+public enum TipoVinculoUnidade {
+    FUNCIONARIO,
+    GESTOR
+}
@@ -0,0 +1,28 @@
+package br.edu.ufape.sguAuthService.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Última carga aplicada por cada seeder, identificada pelo checksum do conteúdo.
+ * Permite pular a carga quando os dados de origem não mudaram.
+ */
+@Entity
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class ExecucaoSeed {
+    @Id
+    private String nome;
+
+    @Column(nullable = false, length = 64)
+    private String checksum;
+
+    @Column(nullable = false)
+    private LocalDateTime executadoEm;
+}
@@ -1,5 +1,6 @@
 package br.edu.ufape.sguAuthService.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Entity;
 import jakarta.persistence.ManyToMany;
 import lombok.AllArgsConstructor;
@@ -16,5 +17,6 @@ public abstract class Funcionario extends Perfil {
     private String siape;
 
     @ManyToMany(mappedBy = "funcionarios")
+    @JsonIgnore
     private Set<UnidadeAdministrativa> unidades = new HashSet<>();
 }
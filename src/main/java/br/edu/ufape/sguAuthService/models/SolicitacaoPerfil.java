@@ -33,6 +33,10 @@ public class SolicitacaoPerfil {
 
     private String parecer;
 
+    // Chave enviada pelo cliente no header Idempotency-Key; repetir a chave devolve a solicitação já criada
+    @Column(length = 100)
+    private String chaveIdempotencia;
+
     @OneToOne
     @JoinColumn(name = "perfil_id")
     private Perfil perfil;
@@ -0,0 +1,31 @@
+package br.edu.ufape.sguAuthService.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Tabela de fechamento (closure table) da hierarquia de unidades administrativas.
+ * Cada linha liga uma unidade a cada um de seus ancestrais, incluindo ela mesma com profundidade 0.
+ * É mantida pelo UnidadeAdministrativaService a cada inserção, movimentação ou exclusão de unidade.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_ua_hierarquia_descendente", columnList = "descendente_id, profundidade"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class UnidadeAdministrativaHierarquia {
+    @EmbeddedId
+    private UnidadeAdministrativaHierarquiaId id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ancestral_id", insertable = false, updatable = false)
+    private UnidadeAdministrativa ancestral;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "descendente_id", insertable = false, updatable = false)
+    private UnidadeAdministrativa descendente;
+
+    @Column(nullable = false)
+    private int profundidade;
+}
@@ -0,0 +1,25 @@
+package br.edu.ufape.sguAuthService.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@Embeddable
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @EqualsAndHashCode
+public class UnidadeAdministrativaHierarquiaId implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "ancestral_id")
+    private Long ancestralId;
+
+    @Column(name = "descendente_id")
+    private Long descendenteId;
+}
@@ -0,0 +1,43 @@
+package br.edu.ufape.sguAuthService.models;
+
+import br.edu.ufape.sguAuthService.models.Enums.TipoVinculoUnidade;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Índice desnormalizado dos vínculos de usuários com unidades administrativas.
+ * Evita percorrer a hierarquia JOINED de Perfil para responder "quais são as minhas unidades".
+ * É mantido pelo UnidadeAdministrativaService junto com ua_funcionarios e gestor_unidade.
+ */
+@Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_ua_membro_usuario_unidade_tipo",
+                columnNames = {"usuario_id", "tipo", "unidade_administrativa_id"}),
+        indexes = @Index(name = "idx_ua_membro_unidade", columnList = "unidade_administrativa_id")
+)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class UnidadeAdministrativaMembro {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "usuario_id", nullable = false)
+    private UUID usuarioId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "unidade_administrativa_id", nullable = false)
+    private UnidadeAdministrativa unidadeAdministrativa;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TipoVinculoUnidade tipo;
+
+    @Column(nullable = false)
+    private LocalDateTime desde;
+}
@@ -1,5 +1,6 @@
 package br.edu.ufape.sguAuthService.models;
 
+import br.edu.ufape.sguAuthService.servicos.tasks.BuscaUsuarioListener;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -12,6 +13,7 @@ import java.util.*;
 
 @Entity
 @Inheritance(strategy = InheritanceType.JOINED)
+@EntityListeners(BuscaUsuarioListener.class)
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 public class Usuario {
     @Id
@@ -2,6 +2,7 @@ package br.edu.ufape.sguAuthService.servicos;
 
 
 import br.edu.ufape.sguAuthService.config.AuthenticatedUserProvider;
+import br.edu.ufape.sguAuthService.dados.PlanoCarregamento;
 import br.edu.ufape.sguAuthService.dados.UsuarioRepository;
 import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.AlunoNotFoundException;
 import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.UsuarioNotFoundException;
@@ -12,6 +13,7 @@ import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.Predicate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -24,6 +26,7 @@ public class AlunoService implements br.edu.ufape.sguAuthService.servicos.interf
     private final AuthenticatedUserProvider authenticatedUserProvider;
 
     @Override
+    @Transactional(readOnly = true)
     public Page<Usuario> listarAlunos(Predicate predicate, Pageable pageable) {
         QUsuario qUsuario = QUsuario.usuario;
         BooleanBuilder filtroFixo = new BooleanBuilder();
@@ -32,27 +35,29 @@ public class AlunoService implements br.edu.ufape.sguAuthService.servicos.interf
 
         Predicate predicadoFinal = filtroFixo.and(predicate);
 
-        return usuarioRepository.findAll(predicadoFinal, pageable);
+        return PlanoCarregamento.usuarios(usuarioRepository.findAll(predicadoFinal, pageable));
     }
 
 
     @Override
+    @Transactional(readOnly = true)
     public Usuario buscarAluno(UUID id) throws AlunoNotFoundException, UsuarioNotFoundException {
         Usuario usuario = usuarioRepository.findById(id).orElseThrow(UsuarioNotFoundException::new);
 
         if (usuario.getPerfis().stream().noneMatch(perfil -> perfil instanceof Aluno)) {
             throw new AlunoNotFoundException();
         }
-        return usuario;
+        return PlanoCarregamento.usuario(usuario);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Usuario buscarAlunoAtual() {
         Usuario usuario = usuarioRepository.findById(authenticatedUserProvider.getUserId()).orElseThrow(UsuarioNotFoundException::new);
         if (usuario.getPerfis().stream().noneMatch(perfil -> perfil instanceof Aluno)) {
             throw new AlunoNotFoundException();
         }
-        return usuario;
+        return PlanoCarregamento.usuario(usuario);
     }
 
 
@@ -1,82 +1,258 @@
 package br.edu.ufape.sguAuthService.servicos;
 
 import br.edu.ufape.sguAuthService.comunicacao.dto.documento.DocumentoResponse;
+import br.edu.ufape.sguAuthService.dados.DocumentoRepository;
+import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.DocumentoNotFoundException;
 import br.edu.ufape.sguAuthService.models.Documento;
+import br.edu.ufape.sguAuthService.servicos.armazenamento.ArquivoArmazenado;
+import br.edu.ufape.sguAuthService.servicos.armazenamento.ArquivoTemporario;
+import br.edu.ufape.sguAuthService.servicos.armazenamento.VarianteImagem;
+import br.edu.ufape.sguAuthService.servicos.interfaces.BackendArmazenamento;
+import br.edu.ufape.sguAuthService.servicos.interfaces.ProcessamentoImagemService;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FilenameUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Base64;
+import java.util.Collection;
 import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ArmazenamentoService implements br.edu.ufape.sguAuthService.servicos.interfaces.ArmazenamentoService {
     private final List<String> tiposPermitidos = List.of("application/pdf", "image/jpeg", "image/png", "image/jpg");
-    @Value("${arquivo.diretorio-upload}")
-    private String uploadDir;
+    private final BackendArmazenamento backend;
+    private final DocumentoRepository documentoRepository;
+    private final ProcessamentoImagemService processamentoImagem;
+    private final MeterRegistry meterRegistry;
+    @Value("${arquivo.ingestao.threads:4}")
+    private int threadsIngestao;
+    @Value("${arquivo.ingestao.fila:32}")
+    private int filaIngestao;
+    @Value("${arquivo.publicacao.tentativas:5}")
+    private int tentativasPublicacao;
+    @Value("${arquivo.publicacao.intervalo:2s}")
+    private Duration intervaloPublicacao;
 
+    // Pool próprio e limitado; com a fila cheia a thread da requisição grava o arquivo ela mesma
+    private ThreadPoolExecutor executorIngestao;
+    // Novas tentativas de publicação, fora da thread da requisição que fez o commit
+    private ScheduledThreadPoolExecutor agendadorPublicacao;
+
+    @PostConstruct
+    void iniciarExecutor() {
+        executorIngestao = new ThreadPoolExecutor(threadsIngestao, threadsIngestao, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(filaIngestao),
+                Thread.ofPlatform().name("ingestao-arquivo-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executorIngestao.allowCoreThreadTimeOut(true);
+        agendadorPublicacao = new ScheduledThreadPoolExecutor(1,
+                Thread.ofPlatform().name("publicacao-arquivo-", 0).daemon(true).factory());
+    }
+
+    @PreDestroy
+    void encerrarExecutor() throws InterruptedException {
+        executorIngestao.shutdown();
+        agendadorPublicacao.shutdownNow();
+        executorIngestao.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Grava os arquivos em paralelo em temporários do backend e só os publica no nome final depois do commit
+     * da transação que registra os documentos. Se algum arquivo falhar, ou a transação for desfeita, todos
+     * os temporários são descartados e nada aparece no armazenamento.
+     */
     @Transactional
     @Override
     public List<Documento> salvarArquivo(MultipartFile[] arquivos) {
-        List<Documento> documentosSalvos = new ArrayList<>();
         for (MultipartFile arquivo : arquivos) {
-            if (arquivo == null || arquivo.isEmpty()
-                    || arquivo.getOriginalFilename() == null
-                    || arquivo.getOriginalFilename().isBlank()
-                    || arquivo.getContentType() == null
-            ) {
-                throw new IllegalArgumentException("Um dos arquivos está vazio ou não foi selecionado corretamente");
+            validar(arquivo);
+        }
+
+        List<CompletableFuture<ArquivoTemporario>> gravacoes = new ArrayList<>();
+        for (MultipartFile arquivo : arquivos) {
+            gravacoes.add(CompletableFuture.supplyAsync(() -> gravarTemporario(arquivo), executorIngestao));
+        }
+        // Espera todas, mesmo depois de uma falha, para conhecer e descartar cada temporário criado
+        List<ArquivoTemporario> temporarios = new ArrayList<>();
+        Throwable falha = null;
+        for (CompletableFuture<ArquivoTemporario> gravacao : gravacoes) {
+            try {
+                temporarios.add(gravacao.join());
+            } catch (CompletionException e) {
+                if (falha == null) falha = e.getCause();
             }
-            if (!tiposPermitidos.contains(arquivo.getContentType())) {
-                throw new IllegalArgumentException("Tipo de arquivo não permitido!");
+        }
+        if (falha != null) {
+            backend.descartar(temporarios);
+            log.error("Falha ao salvar arquivos da solicitação", falha);
+            throw new RuntimeException("Falha ao salvar arquivo!");
+        }
+
+        publicarAoConfirmar(temporarios);
+        return temporarios.stream().map(this::documento).toList();
+    }
+
+    private void validar(MultipartFile arquivo) {
+        if (arquivo == null || arquivo.isEmpty()
+                || arquivo.getOriginalFilename() == null
+                || arquivo.getOriginalFilename().isBlank()
+                || arquivo.getContentType() == null
+        ) {
+            throw new IllegalArgumentException("Um dos arquivos está vazio ou não foi selecionado corretamente");
+        }
+        if (!tiposPermitidos.contains(arquivo.getContentType())) {
+            throw new IllegalArgumentException("Tipo de arquivo não permitido!");
+        }
+    }
+
+    private ArquivoTemporario gravarTemporario(MultipartFile arquivo) {
+        String extensao = FilenameUtils.getExtension(arquivo.getOriginalFilename()).toLowerCase();
+        try (InputStream conteudo = arquivo.getInputStream()) {
+            return backend.gravarTemporario(conteudo, extensao);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // O nome final é hash.extensão: as referências de um arquivo são as linhas de Documento com aquele nome
+    private Documento documento(ArquivoTemporario temporario) {
+        Documento documento = new Documento();
+        documento.setNome(temporario.getNome());
+        documento.setPath(backend.endereco(temporario.getNome()));
+        documento.setHash(temporario.getHash());
+        documento.setTamanho(temporario.getTamanho());
+        return documento;
+    }
+
+    private void publicarAoConfirmar(List<ArquivoTemporario> temporarios) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publicar(temporarios);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    publicar(temporarios);
+                } else {
+                    backend.descartar(temporarios);
+                }
             }
-            String uuid = UUID.randomUUID().toString();
-            String extensao = FilenameUtils.getExtension(arquivo.getOriginalFilename());
-            String nomeArquivoComUUID = uuid + "." + extensao;
+        });
+    }
 
-            try {
-                // Salva o arquivo no diretório desejado
+    private void publicar(List<ArquivoTemporario> temporarios) {
+        publicar(temporarios, 1);
+    }
 
-                Path caminho = Paths.get(uploadDir, nomeArquivoComUUID);
-                Files.copy(arquivo.getInputStream(), caminho);
+    /**
+     * Os documentos já estão no banco: o que falhar volta a ser tentado com espera crescente. Esgotadas as
+     * tentativas, o temporário fica onde está; a reconciliação de órfãos não o remove enquanto o hash for
+     * referenciado, e a falha fica contada em arquivos.publicacao.falhas.
+     */
+    private void publicar(List<ArquivoTemporario> temporarios, int tentativa) {
+        List<ArquivoTemporario> falhas = backend.publicar(temporarios);
+        // As variantes das imagens são geradas em segundo plano, a partir do arquivo já publicado
+        processamentoImagem.agendar(temporarios.stream()
+                .filter(temporario -> !falhas.contains(temporario))
+                .map(ArquivoTemporario::getNome)
+                .toList());
+        if (falhas.isEmpty()) return;
 
-                // Cria uma nova instância de Documento
-                Documento documento = new Documento();
-                documento.setNome(nomeArquivoComUUID); // Armazena o nome com UUID
-                documento.setPath(caminho.toString());
-                documentosSalvos.add(documento);
-            } catch (IOException e) {
-                throw new RuntimeException("Falha ao salvar arquivo!");
+        if (tentativa < tentativasPublicacao) {
+            long espera = intervaloPublicacao.toMillis() << Math.min(tentativa - 1, 10);
+            log.warn("{} arquivo(s) não publicado(s); tentativa {} em {} ms", falhas.size(), tentativa + 1, espera);
+            agendadorPublicacao.schedule(() -> publicar(falhas, tentativa + 1), espera, TimeUnit.MILLISECONDS);
+        } else {
+            meterRegistry.counter("arquivos.publicacao.falhas").increment(falhas.size());
+            falhas.forEach(falha -> log.error("Arquivo {} não publicado após {} tentativas; temporário preservado em {}",
+                    falha.getNome(), tentativa, falha.getReferencia()));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Set<String> nomesReferenciados(Collection<String> nomes) {
+        return nomes.isEmpty() ? Set.of() : documentoRepository.findNomesReferenciados(nomes);
+    }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Set<String> hashesReferenciados(Collection<String> hashes) {
+        return hashes.isEmpty() ? Set.of() : documentoRepository.findHashesReferenciados(hashes);
+    }
+
+    @Override
+    public List<DocumentoResponse> descreverDocumentos(List<Documento> documentos) throws IOException {
+        List<DocumentoResponse> descricoes = new ArrayList<>();
+        for (Documento documento : documentos) {
+            Long tamanho = documento.getTamanho();
+            if (tamanho == null) {
+                // Linhas anteriores à coluna tamanho: pergunta ao backend, que também diz se o arquivo existe
+                Optional<ArquivoArmazenado> arquivo = backend.localizar(documento.getNome());
+                if (arquivo.isEmpty()) continue;
+                tamanho = arquivo.get().getTamanho();
             }
+            String tipo = MediaTypeFactory.getMediaType(documento.getNome()).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+            descricoes.add(new DocumentoResponse(documento, tipo, tamanho));
+        }
+        return descricoes;
+    }
+
+    @Override
+    public ArquivoArmazenado localizarArquivo(Documento documento, VarianteImagem variante) throws DocumentoNotFoundException, IOException {
+        if (variante != VarianteImagem.ORIGINAL && VarianteImagem.aplicavel(documento.getNome())
+                && !processamentoImagem.falhou(documento.getNome())) {
+            Optional<ArquivoArmazenado> reduzida = backend.localizar(variante.nome(documento.getNome()));
+            if (reduzida.isPresent()) return reduzida.get();
+            // Ainda não gerada (fila cheia no upload ou documento anterior às variantes): entrega o original e agenda
+            processamentoImagem.agendar(List.of(documento.getNome()));
+        }
+        Optional<ArquivoArmazenado> arquivo = backend.localizar(documento.getNome());
+        if (arquivo.isEmpty()) {
+            log.warn("Arquivo {} do documento {} não encontrado", documento.getNome(), documento.getId());
+            throw new DocumentoNotFoundException();
         }
-        return documentosSalvos;
+        return arquivo.get();
     }
 
     @Override
-    public List<DocumentoResponse> converterDocumentosParaBase64(List<Documento> documentos) throws IOException {
-        List<DocumentoResponse> documentosBase64 = new ArrayList<>();
+    public List<ArquivoArmazenado> localizarArquivos(List<Documento> documentos) throws IOException {
+        List<ArquivoArmazenado> arquivos = new ArrayList<>();
         for (Documento documento : documentos) {
-            Path filePath = Paths.get(uploadDir).resolve(documento.getPath()).normalize();
-            if (Files.exists(filePath)) {
-                byte[] fileBytes = Files.readAllBytes(filePath);
-                String base64 = Base64.getEncoder().encodeToString(fileBytes);
-                documentosBase64.add(new DocumentoResponse(documento.getNome(), base64));
+            Optional<ArquivoArmazenado> arquivo = backend.localizar(documento.getNome());
+            if (arquivo.isPresent()) {
+                arquivos.add(arquivo.get());
+            } else {
+                log.warn("Arquivo {} do documento {} não encontrado", documento.getNome(), documento.getId());
             }
         }
-        return documentosBase64;
+        return arquivos;
     }
 }
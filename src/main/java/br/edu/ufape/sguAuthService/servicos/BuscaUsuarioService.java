@@ -0,0 +1,250 @@
+package br.edu.ufape.sguAuthService.servicos;
+
+import br.edu.ufape.sguAuthService.models.Usuario;
+import br.edu.ufape.sguAuthService.servicos.interfaces.UsuarioService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido de trigramas sobre nome, nome social, e-mail e CPF dos usuários ativos.
+ * Cada palavra é indexada com os espaços de borda do pg_trgm, o que permite busca por prefixo com um ou dois caracteres
+ * e busca por trecho a partir de três. A busca percorre apenas a menor lista de candidatos, nunca a tabela inteira.
+ */
+@Service
+public class BuscaUsuarioService implements br.edu.ufape.sguAuthService.servicos.interfaces.BuscaUsuarioService {
+    private static final Logger logger = LoggerFactory.getLogger(BuscaUsuarioService.class);
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}");
+    private static final Pattern FORA_DO_ALFABETO = Pattern.compile("[^a-z0-9@\\s]");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private static final int PESO_NOME = 3;
+    private static final int PESO_EMAIL = 2;
+    private static final int PESO_CPF = 2;
+    private static final int[] PESOS_CAMPOS = {PESO_NOME, PESO_NOME, PESO_EMAIL, PESO_CPF};
+
+    // Estimativas grosseiras de objetos na JVM de 64 bits com compressed oops, só para acompanhar tendência
+    private static final long BYTES_POR_DOCUMENTO = 256;
+    private static final long BYTES_POR_TRIGRAMA = 96;
+    private static final long BYTES_POR_OCORRENCIA = 48;
+
+    private final UsuarioService usuarioService;
+    private final Timer tempoBusca;
+
+    private final Map<String, Set<UUID>> ocorrencias = new ConcurrentHashMap<>();
+    private final Map<UUID, DocumentoIndexado> documentos = new ConcurrentHashMap<>();
+
+    public BuscaUsuarioService(UsuarioService usuarioService, MeterRegistry meterRegistry) {
+        this.usuarioService = usuarioService;
+        this.tempoBusca = Timer.builder("busca.usuarios.tempo").register(meterRegistry);
+        Gauge.builder("busca.usuarios.indice.documentos", documentos, Map::size).register(meterRegistry);
+        Gauge.builder("busca.usuarios.indice.trigramas", ocorrencias, Map::size).register(meterRegistry);
+        Gauge.builder("busca.usuarios.indice.memoria.estimada", this, BuscaUsuarioService::estimarMemoria)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    // Antes dos demais listeners de prontidão: o Aquecimento só marca UP no Eureka depois do índice montado
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Override
+    public void reconstruirIndice() {
+        ocorrencias.clear();
+        documentos.clear();
+        usuarioService.exportarUsuarios(null, usuario -> indexar(usuario.getId(), usuario.getNome(),
+                usuario.getNomeSocial(), usuario.getEmail(), usuario.getCpf()));
+        logger.info("Índice de busca de usuários construído com {} usuários e {} trigramas", documentos.size(), ocorrencias.size());
+    }
+
+    @Override
+    public void indexar(Usuario usuario) {
+        if (!Boolean.TRUE.equals(usuario.getAtivo())) {
+            remover(usuario.getId());
+            return;
+        }
+        indexar(usuario.getId(), usuario.getNome(), usuario.getNomeSocial(), usuario.getEmail(), usuario.getCpf());
+    }
+
+    @Override
+    public void remover(UUID id) {
+        DocumentoIndexado anterior = documentos.remove(id);
+        if (anterior != null) {
+            desindexarTrigramas(id, anterior.trigramas);
+        }
+    }
+
+    @Override
+    public List<UUID> buscar(String termo, int limite) {
+        return tempoBusca.record(() -> executarBusca(termo, limite));
+    }
+
+    private List<UUID> executarBusca(String termo, int limite) {
+        String[] palavras = palavras(normalizar(termo));
+        if (palavras.length == 0 || limite <= 0) return List.of();
+
+        Set<String> trigramasConsulta = new HashSet<>();
+        for (String palavra : palavras) {
+            trigramasConsulta.addAll(palavra.length() >= 3 ? trigramasInternos(palavra) : trigramasDePrefixo(palavra));
+        }
+
+        // Interseção começando pela menor lista: o custo acompanha a seletividade do termo, não o total de usuários
+        List<Set<UUID>> listas = new ArrayList<>();
+        for (String trigrama : trigramasConsulta) {
+            Set<UUID> lista = ocorrencias.get(trigrama);
+            if (lista == null) return List.of();
+            listas.add(lista);
+        }
+        listas.sort(Comparator.comparingInt(Set::size));
+
+        List<Resultado> resultados = new ArrayList<>();
+        for (UUID candidato : listas.getFirst()) {
+            if (!contidoEmTodas(candidato, listas)) continue;
+            DocumentoIndexado documento = documentos.get(candidato);
+            if (documento == null) continue;
+            int pontuacao = documento.pontuar(palavras);
+            if (pontuacao > 0) resultados.add(new Resultado(candidato, pontuacao, documento.nome));
+        }
+
+        return resultados.stream()
+                .sorted(Comparator.comparingInt(Resultado::getPontuacao).reversed().thenComparing(Resultado::getNome))
+                .limit(limite)
+                .map(Resultado::getId)
+                .toList();
+    }
+
+    private void indexar(UUID id, String nome, String nomeSocial, String email, String cpf) {
+        DocumentoIndexado novo = new DocumentoIndexado(nome == null ? "" : nome,
+                palavras(normalizar(nome)), palavras(normalizar(nomeSocial)),
+                palavras(normalizar(email)), palavras(normalizar(cpf)));
+
+        DocumentoIndexado anterior = documentos.put(id, novo);
+        if (anterior != null) {
+            Set<String> removidos = new HashSet<>(anterior.trigramas);
+            removidos.removeAll(novo.trigramas);
+            desindexarTrigramas(id, removidos);
+        }
+        for (String trigrama : novo.trigramas) {
+            ocorrencias.computeIfAbsent(trigrama, _ -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private void desindexarTrigramas(UUID id, Set<String> trigramas) {
+        for (String trigrama : trigramas) {
+            ocorrencias.computeIfPresent(trigrama, (_, lista) -> {
+                lista.remove(id);
+                return lista.isEmpty() ? null : lista;
+            });
+        }
+    }
+
+    private boolean contidoEmTodas(UUID candidato, List<Set<UUID>> listas) {
+        for (int i = 1; i < listas.size(); i++) {
+            if (!listas.get(i).contains(candidato)) return false;
+        }
+        return true;
+    }
+
+    private double estimarMemoria() {
+        long totalOcorrencias = 0;
+        for (DocumentoIndexado documento : documentos.values()) {
+            totalOcorrencias += documento.trigramas.size();
+        }
+        return documentos.size() * BYTES_POR_DOCUMENTO + ocorrencias.size() * BYTES_POR_TRIGRAMA
+                + totalOcorrencias * BYTES_POR_OCORRENCIA;
+    }
+
+    // Pontuação e CPF formatado são descartados para que "123.456" e "123456" encontrem o mesmo CPF
+    static String normalizar(String texto) {
+        if (texto == null) return "";
+        String semAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        String filtrado = FORA_DO_ALFABETO.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll("");
+        return ESPACOS.matcher(filtrado).replaceAll(" ").trim();
+    }
+
+    private static String[] palavras(String normalizado) {
+        return normalizado.isEmpty() ? new String[0] : normalizado.split(" ");
+    }
+
+    private static Set<String> trigramasIndexados(String palavra) {
+        return trigramas("  " + palavra + " ");
+    }
+
+    private static Set<String> trigramasInternos(String palavra) {
+        return trigramas(palavra);
+    }
+
+    private static Set<String> trigramasDePrefixo(String palavra) {
+        return trigramas("  " + palavra);
+    }
+
+    private static Set<String> trigramas(String texto) {
+        Set<String> trigramas = new HashSet<>();
+        for (int i = 0; i + 3 <= texto.length(); i++) {
+            trigramas.add(texto.substring(i, i + 3));
+        }
+        return trigramas;
+    }
+
+    @Getter @AllArgsConstructor
+    private static class Resultado {
+        private final UUID id;
+        private final int pontuacao;
+        private final String nome;
+    }
+
+    private static final class DocumentoIndexado {
+        private final String nome;
+        private final String[][] campos;
+        private final Set<String> trigramas = new HashSet<>();
+
+        private DocumentoIndexado(String nome, String[] nomeCivil, String[] nomeSocial, String[] email, String[] cpf) {
+            this.nome = nome;
+            this.campos = new String[][]{nomeCivil, nomeSocial, email, cpf};
+            for (String[] campo : campos) {
+                for (String palavra : campo) trigramas.addAll(trigramasIndexados(palavra));
+            }
+        }
+
+        // Cada palavra da consulta vale o peso do melhor campo em que aparece, em dobro se for início de palavra.
+        // Palavras curtas só casam como prefixo; as trigramas sozinhas podem gerar falsos positivos, descartados aqui.
+        private int pontuar(String[] palavrasConsulta) {
+            int total = 0;
+            for (String termo : palavrasConsulta) {
+                int melhor = 0;
+                for (int c = 0; c < campos.length; c++) {
+                    for (String palavra : campos[c]) {
+                        if (palavra.startsWith(termo)) {
+                            melhor = Math.max(melhor, PESOS_CAMPOS[c] * 2);
+                        } else if (termo.length() >= 3 && palavra.contains(termo)) {
+                            melhor = Math.max(melhor, PESOS_CAMPOS[c]);
+                        }
+                    }
+                }
+                if (melhor == 0) return 0;
+                total += melhor;
+            }
+            return total;
+        }
+    }
+}
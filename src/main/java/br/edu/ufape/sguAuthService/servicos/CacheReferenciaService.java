@@ -0,0 +1,139 @@
+package br.edu.ufape.sguAuthService.servicos;
+
+import br.edu.ufape.sguAuthService.comunicacao.dto.cache.EstatisticaCacheResponse;
+import br.edu.ufape.sguAuthService.config.CacheHibernateConfig;
+import br.edu.ufape.sguAuthService.config.RabbitConfig;
+import br.edu.ufape.sguAuthService.models.TipoUnidadeAdministrativa;
+import br.edu.ufape.sguAuthService.models.UnidadeAdministrativa;
+import br.edu.ufape.sguAuthService.servicos.tasks.InvalidacaoCacheEvent;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service @RequiredArgsConstructor
+public class CacheReferenciaService implements br.edu.ufape.sguAuthService.servicos.interfaces.CacheReferenciaService {
+    private final EntityManagerFactory entityManagerFactory;
+    private final RabbitTemplate rabbitTemplate;
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheReferenciaService.class);
+
+    @Value("${cache.invalidacao-distribuida.habilitada:false}")
+    private boolean invalidacaoDistribuida;
+
+    // Respostas de unidades embutem o tipo, então uma alteração no tipo também as torna obsoletas
+    private static final Map<String, List<String>> DEPENDENTES = Map.of(
+            TipoUnidadeAdministrativa.class.getName(), List.of(UnidadeAdministrativa.class.getName()));
+
+    private final Map<String, AtomicLong> versoes = new ConcurrentHashMap<>();
+    private final Map<String, Instant> ultimasAlteracoes = new ConcurrentHashMap<>();
+    private final Instant inicio = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @Override
+    public void registrarAlteracao(Class<?> entidade) {
+        // A versão só avança depois do commit, senão uma leitura concorrente gravaria dados antigos sob a versão nova
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    concluirAlteracao(entidade);
+                }
+            });
+        } else {
+            concluirAlteracao(entidade);
+        }
+    }
+
+    @Override
+    public long buscarVersao(Class<?> entidade) {
+        AtomicLong versao = versoes.get(entidade.getName());
+        return versao == null ? 0 : versao.get();
+    }
+
+    @Override
+    public Instant buscarUltimaAlteracao(Class<?> entidade) {
+        return ultimasAlteracoes.getOrDefault(entidade.getName(), inicio);
+    }
+
+    @Override
+    public void invalidarLocalmente(String entidade) {
+        avancarVersao(entidade);
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        CacheHibernateConfig.ENTIDADES_CACHEADAS.stream()
+                .filter(classe -> classe.getName().equals(entidade))
+                .findFirst()
+                .ifPresent(classe -> {
+                    sessionFactory.getCache().evictEntityData(classe);
+                    sessionFactory.getCache().evictDefaultQueryRegion();
+                });
+    }
+
+    @Override
+    public List<EstatisticaCacheResponse> listarEstatisticas() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<EstatisticaCacheResponse> estatisticas = new ArrayList<>();
+        for (Class<?> entidade : CacheHibernateConfig.ENTIDADES_CACHEADAS) {
+            estatisticas.add(converter(entidade.getSimpleName(), statistics.getDomainDataRegionStatistics(entidade.getName())));
+        }
+        estatisticas.add(converter(CacheHibernateConfig.REGIAO_CONSULTAS, statistics.getQueryRegionStatistics(CacheHibernateConfig.REGIAO_CONSULTAS)));
+        return estatisticas;
+    }
+
+    private void concluirAlteracao(Class<?> entidade) {
+        avancarVersao(entidade.getName());
+        // O Hibernate já atualiza o cache local; as outras instâncias só ficam sabendo pelo broker
+        if (invalidacaoDistribuida) publicarInvalidacao(entidade);
+    }
+
+    private void avancarVersao(String entidade) {
+        Instant agora = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        for (String afetada : afetadas(entidade)) {
+            versoes.computeIfAbsent(afetada, _ -> new AtomicLong()).incrementAndGet();
+            ultimasAlteracoes.put(afetada, agora);
+        }
+    }
+
+    private List<String> afetadas(String entidade) {
+        List<String> afetadas = new ArrayList<>();
+        afetadas.add(entidade);
+        afetadas.addAll(DEPENDENTES.getOrDefault(entidade, List.of()));
+        return afetadas;
+    }
+
+    private void publicarInvalidacao(Class<?> entidade) {
+        try {
+            rabbitTemplate.convertAndSend(RabbitConfig.CACHE_EXCHANGE, "", new InvalidacaoCacheEvent(entidade.getName(), InvalidacaoCacheEvent.ORIGEM_LOCAL));
+        } catch (AmqpException e) {
+            // As outras instâncias ainda convergem pela expiração das regiões
+            logger.warn("Falha ao publicar invalidação de cache para {}", entidade.getSimpleName(), e);
+        }
+    }
+
+    private EstatisticaCacheResponse converter(String regiao, CacheRegionStatistics estatistica) {
+        if (estatistica == null) {
+            return new EstatisticaCacheResponse(regiao, 0, 0, 0, 0, 0.0);
+        }
+        long acertos = estatistica.getHitCount();
+        long falhas = estatistica.getMissCount();
+        double taxaAcerto = acertos + falhas == 0 ? 0.0 : (double) acertos / (acertos + falhas);
+        return new EstatisticaCacheResponse(regiao, acertos, falhas, estatistica.getPutCount(),
+                estatistica.getElementCountInMemory(), taxaAcerto);
+    }
+}
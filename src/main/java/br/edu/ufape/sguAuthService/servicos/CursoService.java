@@ -2,24 +2,26 @@ package br.edu.ufape.sguAuthService.servicos;
 
 
 import br.edu.ufape.sguAuthService.dados.CursoRepository;
+import br.edu.ufape.sguAuthService.dados.PlanoCarregamento;
 import br.edu.ufape.sguAuthService.exceptions.ExceptionUtil;
 import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.CursoNotFoundException;
 import br.edu.ufape.sguAuthService.models.*;
+import br.edu.ufape.sguAuthService.servicos.interfaces.CacheReferenciaService;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.Predicate;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service @RequiredArgsConstructor
 public class CursoService implements br.edu.ufape.sguAuthService.servicos.interfaces.CursoService {
     private final CursoRepository cursoRepository;
-    private final ModelMapper modelMapper;
+    private final CacheReferenciaService cacheReferenciaService;
 
     @Override
     public Curso salvar(Curso curso) {
@@ -28,10 +30,14 @@ public class CursoService implements br.edu.ufape.sguAuthService.servicos.interf
                 Curso cursoDesativado = cursoRepository.findByNomeAndAtivoFalse(curso.getNome());
                 if (cursoDesativado != null) {
                     cursoDesativado.setAtivo(true);
-                    return cursoRepository.save(cursoDesativado);
+                    Curso reativado = cursoRepository.save(cursoDesativado);
+                    cacheReferenciaService.registrarAlteracao(Curso.class);
+                    return reativado;
                 }
             }
-            return cursoRepository.save(curso);
+            Curso salvo = cursoRepository.save(curso);
+            cacheReferenciaService.registrarAlteracao(Curso.class);
+            return salvo;
         }catch (DataIntegrityViolationException e){
           throw  ExceptionUtil.handleDataIntegrityViolationException(e);
         }
@@ -56,16 +62,21 @@ public class CursoService implements br.edu.ufape.sguAuthService.servicos.interf
 
 
     @Override
+    @Transactional(readOnly = true)
     public List<Usuario> listarAlunosPorCurso(Long id){
-        return cursoRepository.findAllAlunosByCursoId(id);
+        return PlanoCarregamento.usuarios(cursoRepository.findAllAlunosByCursoId(id));
     }
 
     @Override
     public Curso editar(Long id, Curso novoCurso) throws CursoNotFoundException{
         try {
             Curso antigoCurso = cursoRepository.findById(id).orElseThrow(CursoNotFoundException::new);
-            modelMapper.map(novoCurso, antigoCurso);
-            return cursoRepository.save(antigoCurso);
+            if (novoCurso.getNome() != null) antigoCurso.setNome(novoCurso.getNome());
+            antigoCurso.setNumeroPeriodos(novoCurso.getNumeroPeriodos());
+            antigoCurso.setAtivo(novoCurso.isAtivo());
+            Curso editado = cursoRepository.save(antigoCurso);
+            cacheReferenciaService.registrarAlteracao(Curso.class);
+            return editado;
         } catch (DataIntegrityViolationException e){
             throw ExceptionUtil.handleDataIntegrityViolationException(e);
         }
@@ -77,6 +88,7 @@ public class CursoService implements br.edu.ufape.sguAuthService.servicos.interf
         Curso curso = cursoRepository.findById(id).orElseThrow(CursoNotFoundException::new);
         curso.setAtivo(false);
         cursoRepository.save(curso);
+        cacheReferenciaService.registrarAlteracao(Curso.class);
     }
 
 
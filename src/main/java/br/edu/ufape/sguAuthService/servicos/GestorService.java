@@ -1,5 +1,6 @@
 package br.edu.ufape.sguAuthService.servicos;
 
+import br.edu.ufape.sguAuthService.dados.PlanoCarregamento;
 import br.edu.ufape.sguAuthService.dados.UsuarioRepository;
 import br.edu.ufape.sguAuthService.exceptions.accessDeniedException.GlobalAccessDeniedException;
 import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.GestorNotFoundException;
@@ -14,6 +15,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
@@ -23,6 +25,7 @@ public class GestorService implements br.edu.ufape.sguAuthService.servicos.inter
     private final UsuarioRepository usuarioRepository;
 
     @Override
+    @Transactional(readOnly = true)
     public Page<Usuario> listarGestores(Predicate predicate, Pageable pageable) {
         QUsuario qUsuario = QUsuario.usuario;
         BooleanBuilder filtroFixo = new BooleanBuilder();
@@ -31,10 +34,11 @@ public class GestorService implements br.edu.ufape.sguAuthService.servicos.inter
 
         Predicate predicadoFinal = filtroFixo.and(predicate);
 
-        return usuarioRepository.findAll(predicadoFinal, pageable);
+        return PlanoCarregamento.usuarios(usuarioRepository.findAll(predicadoFinal, pageable));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Usuario buscarGestor(UUID id, boolean isAdm, UUID sessionId) throws GestorNotFoundException, UsuarioNotFoundException {
         Usuario usuario = usuarioRepository.findById(id).orElseThrow(UsuarioNotFoundException::new);
         if(!isAdm && !usuario.getId().equals(sessionId)) {
@@ -43,6 +47,6 @@ public class GestorService implements br.edu.ufape.sguAuthService.servicos.inter
         if (usuario.getPerfis().stream().noneMatch(perfil -> perfil instanceof Gestor)) {
             throw new GestorNotFoundException();
         }
-        return usuario;
+        return PlanoCarregamento.usuario(usuario);
     }
 }
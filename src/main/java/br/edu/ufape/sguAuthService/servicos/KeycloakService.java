@@ -503,4 +503,11 @@ public class KeycloakService implements KeycloakServiceInterface {
         }
     }
 
-}
\ No newline at end of file
+    // Obtém o token do admin e faz uma chamada leve para abrir as conexões do cliente antes do primeiro request
+    @Override
+    public void warmUp() {
+        keycloak.tokenManager().getAccessToken();
+        keycloak.realm(realm).toRepresentation();
+    }
+
+}
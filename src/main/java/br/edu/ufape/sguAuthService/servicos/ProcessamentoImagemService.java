@@ -0,0 +1,240 @@
+package br.edu.ufape.sguAuthService.servicos;
+
+import br.edu.ufape.sguAuthService.servicos.armazenamento.ArquivoArmazenado;
+import br.edu.ufape.sguAuthService.servicos.armazenamento.ArquivoTemporario;
+import br.edu.ufape.sguAuthService.servicos.armazenamento.VarianteImagem;
+import br.edu.ufape.sguAuthService.servicos.interfaces.BackendArmazenamento;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gera, depois do upload, as variantes de revisão e miniatura das fotos de documento, que chegam na resolução
+ * da câmera. O original nunca é alterado. O trabalho roda num pool próprio com fila limitada: com a fila
+ * cheia o pedido é descartado (o download entrega o original e agenda de novo), nunca bloqueia o upload.
+ */
+@Service
+public class ProcessamentoImagemService implements br.edu.ufape.sguAuthService.servicos.interfaces.ProcessamentoImagemService {
+    private static final Logger log = LoggerFactory.getLogger(ProcessamentoImagemService.class);
+
+    private final BackendArmazenamento backend;
+    private final int ladoRevisao;
+    private final int ladoMiniatura;
+    private final float qualidade;
+    private final long maximoPixels;
+
+    private final ThreadPoolExecutor executor;
+    // Nomes na fila ou em processamento: o mesmo original não é processado duas vezes ao mesmo tempo
+    private final Set<String> pendentes = ConcurrentHashMap.newKeySet();
+    // Originais cuja geração falhou (acima do limite de pixels, corrompidos): o download entrega o original
+    // direto, sem procurar a variante nem reagendar. Expira para que falhas passageiras sejam refeitas.
+    private final Cache<String, Boolean> falharam;
+    private final Timer tempo;
+    private final Counter descartadas;
+    private final Counter falhas;
+
+    public ProcessamentoImagemService(BackendArmazenamento backend, MeterRegistry meterRegistry,
+                                      @Value("${imagem.processamento.threads:1}") int threads,
+                                      @Value("${imagem.processamento.fila:200}") int fila,
+                                      @Value("${imagem.revisao.lado-maximo:1600}") int ladoRevisao,
+                                      @Value("${imagem.miniatura.lado-maximo:320}") int ladoMiniatura,
+                                      @Value("${imagem.qualidade-jpeg:0.82}") float qualidade,
+                                      @Value("${imagem.maximo-pixels:60000000}") long maximoPixels,
+                                      @Value("${imagem.falhas.tamanho-maximo:10000}") long tamanhoMaximoFalhas,
+                                      @Value("${imagem.falhas.ttl-horas:6}") long ttlHorasFalhas) {
+        this.backend = backend;
+        this.ladoRevisao = ladoRevisao;
+        this.ladoMiniatura = ladoMiniatura;
+        this.qualidade = qualidade;
+        this.maximoPixels = maximoPixels;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(fila),
+                Thread.ofPlatform().name("imagem-", 0).daemon(true).priority(Thread.NORM_PRIORITY - 1).factory());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.falharam = CacheBuilder.newBuilder()
+                .maximumSize(tamanhoMaximoFalhas)
+                .expireAfterWrite(ttlHorasFalhas, TimeUnit.HOURS)
+                .build();
+
+        this.tempo = Timer.builder("imagens.processamento.tempo").register(meterRegistry);
+        this.descartadas = Counter.builder("imagens.processamento.descartadas").register(meterRegistry);
+        this.falhas = Counter.builder("imagens.processamento.falhas").register(meterRegistry);
+        Gauge.builder("imagens.processamento.fila", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("imagens.processamento.ativas", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        // O que ficou na fila é refeito sob demanda no próximo download
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void agendar(Collection<String> nomes) {
+        for (String nome : nomes) {
+            if (!VarianteImagem.aplicavel(nome) || falhou(nome) || !pendentes.add(nome)) continue;
+            try {
+                executor.execute(() -> {
+                    try {
+                        processar(nome);
+                    } finally {
+                        pendentes.remove(nome);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                pendentes.remove(nome);
+                descartadas.increment();
+                log.debug("Fila de imagens cheia; variantes de {} ficam para depois", nome);
+            }
+        }
+    }
+
+    void processar(String nome) {
+        tempo.record(() -> {
+            try {
+                if (gerada(VarianteImagem.REVISAO, nome) && gerada(VarianteImagem.MINIATURA, nome)) return;
+                Optional<ArquivoArmazenado> original = backend.localizar(nome);
+                if (original.isEmpty()) return;
+
+                BufferedImage imagem = decodificar(original.get(), ladoRevisao);
+                BufferedImage revisao = reduzir(imagem, ladoRevisao);
+                publicar(VarianteImagem.REVISAO, nome, revisao);
+                // A miniatura sai da revisão, não do original: custo de redução bem menor
+                publicar(VarianteImagem.MINIATURA, nome, reduzir(revisao, ladoMiniatura));
+            } catch (IOException | RuntimeException e) {
+                falharam.put(nome, Boolean.TRUE);
+                falhas.increment();
+                log.warn("Não foi possível gerar as variantes de {}", nome, e);
+            }
+        });
+    }
+
+    @Override
+    public boolean falhou(String nome) {
+        return falharam.getIfPresent(nome) != null;
+    }
+
+    private boolean gerada(VarianteImagem variante, String nome) throws IOException {
+        return backend.localizar(variante.nome(nome)).isPresent();
+    }
+
+    /**
+     * Lê só os cabeçalhos antes de decodificar, recusando imagens acima de imagem.maximo-pixels, e decodifica
+     * com subamostragem inteira sem descer do dobro do lado pedido: fotos de 48MP não chegam inteiras à memória.
+     */
+    private BufferedImage decodificar(ArquivoArmazenado arquivo, int lado) throws IOException {
+        try (InputStream conteudo = arquivo.abrir(0, arquivo.getTamanho());
+             ImageInputStream entrada = new MemoryCacheImageInputStream(conteudo)) {
+            Iterator<ImageReader> leitores = ImageIO.getImageReaders(entrada);
+            if (!leitores.hasNext()) throw new IOException("Formato de imagem não reconhecido");
+            ImageReader leitor = leitores.next();
+            try {
+                leitor.setInput(entrada, true, true);
+                int largura = leitor.getWidth(0);
+                int altura = leitor.getHeight(0);
+                if ((long) largura * altura > maximoPixels) {
+                    throw new IOException("Imagem de " + largura + "x" + altura + " acima do limite de pixels");
+                }
+                ImageReadParam parametros = leitor.getDefaultReadParam();
+                int passo = Math.max(1, Math.max(largura, altura) / (2 * lado));
+                parametros.setSourceSubsampling(passo, passo, 0, 0);
+                return leitor.read(0, parametros);
+            } finally {
+                leitor.dispose();
+            }
+        }
+    }
+
+    // Reduz à metade enquanto passar do dobro do alvo e faz o último passo bilinear: nitidez boa para texto
+    private static BufferedImage reduzir(BufferedImage imagem, int lado) {
+        BufferedImage atual = imagem;
+        int largura = imagem.getWidth();
+        int altura = imagem.getHeight();
+        double escala = Math.min(1.0, (double) lado / Math.max(largura, altura));
+        int larguraFinal = Math.max(1, (int) Math.round(largura * escala));
+        int alturaFinal = Math.max(1, (int) Math.round(altura * escala));
+        while (largura / 2 >= larguraFinal * 2 && altura / 2 >= alturaFinal * 2) {
+            largura /= 2;
+            altura /= 2;
+            atual = desenhar(atual, largura, altura);
+        }
+        return desenhar(atual, larguraFinal, alturaFinal);
+    }
+
+    // RGB sobre fundo branco: JPEG não tem transparência e PNG de scanner costuma ter
+    private static BufferedImage desenhar(BufferedImage origem, int largura, int altura) {
+        BufferedImage destino = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        Graphics2D grafico = destino.createGraphics();
+        try {
+            grafico.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            grafico.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            grafico.drawImage(origem, 0, 0, largura, altura, Color.WHITE, null);
+        } finally {
+            grafico.dispose();
+        }
+        return destino;
+    }
+
+    private void publicar(VarianteImagem variante, String nome, BufferedImage imagem) throws IOException {
+        ArquivoTemporario temporario = backend.gravarTemporario(new ByteArrayInputStream(jpeg(imagem)), "jpg");
+        // Publica com o nome derivado do original em vez do hash da própria variante
+        ArquivoTemporario publicacao = new ArquivoTemporario(variante.nome(nome), temporario.getHash(),
+                temporario.getTamanho(), temporario.getReferencia());
+        if (!backend.publicar(List.of(publicacao)).isEmpty()) {
+            // Variante não tem Documento: o temporário não é recuperado, é refeito no próximo download
+            backend.descartar(List.of(publicacao));
+            throw new IOException("Falha ao publicar " + publicacao.getNome());
+        }
+    }
+
+    private byte[] jpeg(BufferedImage imagem) throws IOException {
+        ImageWriter escritor = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (MemoryCacheImageOutputStream saida = new MemoryCacheImageOutputStream(bytes)) {
+            ImageWriteParam parametros = escritor.getDefaultWriteParam();
+            parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            parametros.setCompressionQuality(qualidade);
+            escritor.setOutput(saida);
+            escritor.write(null, new IIOImage(imagem, null, null), parametros);
+        } finally {
+            escritor.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
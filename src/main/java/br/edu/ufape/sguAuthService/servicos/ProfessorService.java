@@ -1,6 +1,7 @@
 package br.edu.ufape.sguAuthService.servicos;
 
 import br.edu.ufape.sguAuthService.config.AuthenticatedUserProvider;
+import br.edu.ufape.sguAuthService.dados.PlanoCarregamento;
 import br.edu.ufape.sguAuthService.dados.UsuarioRepository;
 import br.edu.ufape.sguAuthService.exceptions.accessDeniedException.GlobalAccessDeniedException;
 import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.ProfessorNotFoundException;
@@ -14,6 +15,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
@@ -24,6 +26,7 @@ public class ProfessorService implements br.edu.ufape.sguAuthService.servicos.in
     private final AuthenticatedUserProvider authenticatedUserProvider;
 
     @Override
+    @Transactional(readOnly = true)
     public Page<Usuario> listarProfessores(Predicate predicate, Pageable pageable) {
         QUsuario qUsuario = QUsuario.usuario;
         BooleanBuilder filtroFixo = new BooleanBuilder();
@@ -32,10 +35,11 @@ public class ProfessorService implements br.edu.ufape.sguAuthService.servicos.in
 
         Predicate predicadoFinal = filtroFixo.and(predicate);
 
-        return usuarioRepository.findAll(predicadoFinal, pageable);
+        return PlanoCarregamento.usuarios(usuarioRepository.findAll(predicadoFinal, pageable));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Usuario buscarProfessor(UUID id, boolean isAdm, UUID sessionId) throws ProfessorNotFoundException, UsuarioNotFoundException {
         Usuario usuario = usuarioRepository.findById(id).orElseThrow(UsuarioNotFoundException::new);
         if(!isAdm && !usuario.getId().equals(sessionId)) {
@@ -44,15 +48,16 @@ public class ProfessorService implements br.edu.ufape.sguAuthService.servicos.in
         if (usuario.getPerfis().stream().noneMatch(perfil -> perfil instanceof Professor)) {
             throw new ProfessorNotFoundException();
         }
-        return usuario;
+        return PlanoCarregamento.usuario(usuario);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Usuario buscarProfessorAtual() throws ProfessorNotFoundException, UsuarioNotFoundException {
         Usuario usuario = usuarioRepository.findById(authenticatedUserProvider.getUserId()).orElseThrow(UsuarioNotFoundException::new);
         if (usuario.getPerfis().stream().noneMatch(perfil -> perfil instanceof Professor)) {
             throw new ProfessorNotFoundException();
         }
-        return usuario;
+        return PlanoCarregamento.usuario(usuario);
     }
 }
@@ -1,8 +1,11 @@
 package br.edu.ufape.sguAuthService.servicos;
 
 
+import br.edu.ufape.sguAuthService.comunicacao.dto.solicitacaoPerfil.SolicitacaoPerfilExportacaoResponse;
 import br.edu.ufape.sguAuthService.config.AuthenticatedUserProvider;
+import br.edu.ufape.sguAuthService.dados.PlanoCarregamento;
 import br.edu.ufape.sguAuthService.dados.SolicitacaoPerfilRepository;
+import br.edu.ufape.sguAuthService.exceptions.ExceptionUtil;
 import br.edu.ufape.sguAuthService.exceptions.SolicitacaoDuplicadaException;
 import br.edu.ufape.sguAuthService.exceptions.SolicitacaoNaoPendenteException;
 import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.SolicitacaoNotFoundException;
@@ -11,7 +14,12 @@ import br.edu.ufape.sguAuthService.models.Enums.StatusSolicitacao;
 
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -19,18 +27,24 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service @RequiredArgsConstructor
 public class SolicitacaoPerfilService implements br.edu.ufape.sguAuthService.servicos.interfaces.SolicitacaoPerfilService {
     private final SolicitacaoPerfilRepository solicitacaoPerfilRepository;
     private final AuthenticatedUserProvider authenticatedUserProvider;
+    private final EntityManager entityManager;
+
+    private static final int TAMANHO_FETCH_EXPORTACAO = 500;
 
 
 
     @Override
     @Transactional
-    public SolicitacaoPerfil solicitarPerfil(Perfil perfil, Usuario solicitante, List<Documento> documentos) throws SolicitacaoDuplicadaException {
+    public SolicitacaoPerfil solicitarPerfil(Perfil perfil, Usuario solicitante, List<Documento> documentos, String chaveIdempotencia) throws SolicitacaoDuplicadaException {
         SolicitacaoPerfil solicitacaoPerfil = new SolicitacaoPerfil();
         solicitacaoPerfil.setPerfil(perfil);
         solicitacaoPerfil.setSolicitante(solicitante);
@@ -38,56 +52,106 @@ public class SolicitacaoPerfilService implements br.edu.ufape.sguAuthService.ser
         solicitacaoPerfil.setStatus(StatusSolicitacao.PENDENTE);
         solicitacaoPerfil.setDataSolicitacao(LocalDateTime.now());
         solicitacaoPerfil.setPerfilSolicitado(perfil.getClass().getSimpleName());
-        List<SolicitacaoPerfil> solicitacoes = solicitacaoPerfilRepository.findBySolicitanteAndStatusIn(
-                solicitacaoPerfil.getSolicitante(),
-                List.of(StatusSolicitacao.PENDENTE, StatusSolicitacao.APROVADA));
-        for (SolicitacaoPerfil solicitacao : solicitacoes) {
-            if (solicitacao.getPerfil().getClass().equals(perfil.getClass())) {
-                throw new SolicitacaoDuplicadaException(
-                        "Já existe uma solicitação pendente ou aprovada para o perfil: " + perfil.getClass().getSimpleName());
-            }
+        solicitacaoPerfil.setChaveIdempotencia(chaveIdempotencia);
+        verificarSolicitacaoDuplicada(solicitante, solicitacaoPerfil.getPerfilSolicitado());
+        try {
+            // O flush aqui faz o índice único parcial barrar, dentro do try, a corrida entre dois envios simultâneos
+            return solicitacaoPerfilRepository.saveAndFlush(solicitacaoPerfil);
+        } catch (DataIntegrityViolationException e) {
+            throw ExceptionUtil.handleDataIntegrityViolationException(e);
+        }
+    }
+
+    @Override
+    public void verificarSolicitacaoDuplicada(Usuario solicitante, String perfilSolicitado) throws SolicitacaoDuplicadaException {
+        if (solicitacaoPerfilRepository.existsBySolicitante_IdAndPerfilSolicitadoAndStatusIn(solicitante.getId(), perfilSolicitado,
+                List.of(StatusSolicitacao.PENDENTE, StatusSolicitacao.APROVADA))) {
+            throw new SolicitacaoDuplicadaException(
+                    "Já existe uma solicitação pendente ou aprovada para o perfil: " + perfilSolicitado);
         }
-        return solicitacaoPerfilRepository.save(solicitacaoPerfil);
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SolicitacaoPerfil> buscarSolicitacaoPorChaveIdempotencia(UUID solicitanteId, String chaveIdempotencia) {
+        if (chaveIdempotencia == null) return Optional.empty();
+        return solicitacaoPerfilRepository.findBySolicitante_IdAndChaveIdempotencia(solicitanteId, chaveIdempotencia)
+                .map(PlanoCarregamento::solicitacao);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public SolicitacaoPerfil buscarSolicitacao(Long id) throws SolicitacaoNotFoundException {
-        return solicitacaoPerfilRepository.findById(id)
+        return PlanoCarregamento.solicitacao(solicitacaoPerfilRepository.findById(id)
+                .orElseThrow(SolicitacaoNotFoundException::new));
+    }
+
+    @Override
+    public SolicitacaoPerfil buscarSolicitacaoComDocumentos(Long id) throws SolicitacaoNotFoundException {
+        return solicitacaoPerfilRepository.findComDocumentosById(id)
                 .orElseThrow(SolicitacaoNotFoundException::new);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<SolicitacaoPerfil> buscarSolicitacoesUsuarioAtual(Predicate predicate, Pageable pageable) {
         UUID sessionId = authenticatedUserProvider.getUserId();
         QSolicitacaoPerfil qSolicitacaoPerfil = QSolicitacaoPerfil.solicitacaoPerfil;
         BooleanBuilder filtroFixo = new BooleanBuilder();
         filtroFixo.and(qSolicitacaoPerfil.solicitante.id.eq(sessionId));
         Predicate predicadoFinal = filtroFixo.and(predicate);
-        return solicitacaoPerfilRepository.findAll(predicadoFinal,  pageable);
+        return PlanoCarregamento.solicitacoes(solicitacaoPerfilRepository.findAll(predicadoFinal, pageable));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<SolicitacaoPerfil> buscarSolicitacoesPorId(UUID id, Predicate predicate, Pageable pageable) {
         QSolicitacaoPerfil qSolicitacaoPerfil = QSolicitacaoPerfil.solicitacaoPerfil;
         BooleanBuilder filtroFixo = new BooleanBuilder();
         filtroFixo.and(qSolicitacaoPerfil.solicitante.id.eq(id));
         Predicate predicadoFinal = filtroFixo.and(predicate);
-        return solicitacaoPerfilRepository.findAll(predicadoFinal, pageable);
+        return PlanoCarregamento.solicitacoes(solicitacaoPerfilRepository.findAll(predicadoFinal, pageable));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<SolicitacaoPerfil> listarSolicitacoes(Predicate predicate, Pageable pageable) {
-        return solicitacaoPerfilRepository.findAll(predicate, pageable);
+        return PlanoCarregamento.solicitacoes(solicitacaoPerfilRepository.findAll(predicate, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportarSolicitacoes(Predicate predicate, Consumer<SolicitacaoPerfilExportacaoResponse> consumidor) {
+        QSolicitacaoPerfil qSolicitacaoPerfil = QSolicitacaoPerfil.solicitacaoPerfil;
+        QUsuario qSolicitante = new QUsuario("solicitante");
+        QUsuario qResponsavel = new QUsuario("responsavel");
+
+        // Projeção plana evita carregar perfil, documentos e usuários como entidades a cada linha
+        try (Stream<SolicitacaoPerfilExportacaoResponse> linhas = new JPAQuery<>(entityManager)
+                .select(Projections.constructor(SolicitacaoPerfilExportacaoResponse.class,
+                        qSolicitacaoPerfil.id, qSolicitacaoPerfil.dataSolicitacao, qSolicitacaoPerfil.status,
+                        qSolicitacaoPerfil.dataAvaliacao, qSolicitacaoPerfil.perfilSolicitado, qSolicitacaoPerfil.parecer,
+                        qSolicitante.id, qSolicitante.nome, qSolicitante.email, qResponsavel.id))
+                .from(qSolicitacaoPerfil)
+                .leftJoin(qSolicitacaoPerfil.solicitante, qSolicitante)
+                .leftJoin(qSolicitacaoPerfil.responsavel, qResponsavel)
+                .where(predicate)
+                .orderBy(qSolicitacaoPerfil.id.asc())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, TAMANHO_FETCH_EXPORTACAO)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .stream()) {
+            linhas.forEach(consumidor);
+        }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<SolicitacaoPerfil> listarSolicitacoesPendentes(Predicate predicate, Pageable pageable) {
         QSolicitacaoPerfil qSolicitacaoPerfil = QSolicitacaoPerfil.solicitacaoPerfil;
         BooleanBuilder filtroFixo = new BooleanBuilder();
         filtroFixo.and(qSolicitacaoPerfil.status.eq(StatusSolicitacao.PENDENTE));
         Predicate predicadoFinal = filtroFixo.and(predicate);
-        return solicitacaoPerfilRepository.findAll(predicadoFinal, pageable);
+        return PlanoCarregamento.solicitacoes(solicitacaoPerfilRepository.findAll(predicadoFinal, pageable));
     }
 
 
@@ -103,7 +167,7 @@ public class SolicitacaoPerfilService implements br.edu.ufape.sguAuthService.ser
         solicitacaoPerfil.setDataAvaliacao(LocalDateTime.now());
         solicitacaoPerfil.setStatus(StatusSolicitacao.APROVADA);
         solicitacaoPerfil.getSolicitante().adicionarPerfil(solicitacaoPerfil.getPerfil());
-        return solicitacaoPerfilRepository.save(solicitacaoPerfil);
+        return PlanoCarregamento.solicitacao(solicitacaoPerfilRepository.save(solicitacaoPerfil));
     }
 
     @Override
@@ -116,7 +180,7 @@ public class SolicitacaoPerfilService implements br.edu.ufape.sguAuthService.ser
         solicitacaoPerfil.setParecer(parecer.getParecer());
         solicitacaoPerfil.setResponsavel(parecer.getResponsavel());
         solicitacaoPerfil.setStatus(StatusSolicitacao.REJEITADA);
-        return solicitacaoPerfilRepository.save(solicitacaoPerfil);
+        return PlanoCarregamento.solicitacao(solicitacaoPerfilRepository.save(solicitacaoPerfil));
     }
 
 }
@@ -1,6 +1,7 @@
 package br.edu.ufape.sguAuthService.servicos;
 
 import br.edu.ufape.sguAuthService.config.AuthenticatedUserProvider;
+import br.edu.ufape.sguAuthService.dados.PlanoCarregamento;
 import br.edu.ufape.sguAuthService.dados.UsuarioRepository;
 import br.edu.ufape.sguAuthService.exceptions.accessDeniedException.GlobalAccessDeniedException;
 import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.TecnicoNotFoundException;
@@ -14,6 +15,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
@@ -26,6 +28,7 @@ public class TecnicoService implements br.edu.ufape.sguAuthService.servicos.inte
 
 
     @Override
+    @Transactional(readOnly = true)
     public Page<Usuario> getTecnicos(Predicate predicate, Pageable pageable) {
         QUsuario qUsuario = QUsuario.usuario;
         BooleanBuilder filtroFixo = new BooleanBuilder();
@@ -34,11 +37,12 @@ public class TecnicoService implements br.edu.ufape.sguAuthService.servicos.inte
 
         Predicate predicadoFinal = filtroFixo.and(predicate);
 
-        return usuarioRepository.findAll(predicadoFinal, pageable);
+        return PlanoCarregamento.usuarios(usuarioRepository.findAll(predicadoFinal, pageable));
     }
 
 
     @Override
+    @Transactional(readOnly = true)
     public Usuario buscarTecnico(UUID id, boolean isAdm, UUID sessionId) throws TecnicoNotFoundException, UsuarioNotFoundException {
         Usuario usuario = usuarioRepository.findById(id).orElseThrow(UsuarioNotFoundException::new);
         if(!isAdm && !usuario.getId().equals(sessionId)) {
@@ -47,16 +51,17 @@ public class TecnicoService implements br.edu.ufape.sguAuthService.servicos.inte
         if (usuario.getPerfis().stream().noneMatch(perfil -> perfil instanceof Tecnico)) {
             throw new TecnicoNotFoundException();
         }
-        return usuario;
+        return PlanoCarregamento.usuario(usuario);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Usuario buscarTecnicoAtual() throws TecnicoNotFoundException, UsuarioNotFoundException {
         Usuario usuario =  usuarioRepository.findById(authenticatedUserProvider.getUserId()).orElseThrow(UsuarioNotFoundException::new);
         if(usuario.getPerfis().stream().noneMatch(perfil -> perfil instanceof Tecnico)){
             throw new TecnicoNotFoundException();
         }
-        return usuario;
+        return PlanoCarregamento.usuario(usuario);
     }
 
 }
@@ -4,6 +4,7 @@ import br.edu.ufape.sguAuthService.dados.TipoEtniaRepository;
 import br.edu.ufape.sguAuthService.exceptions.TipoEtniaDuplicadoException;
 import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.TipoEtniaNotFoundException;
 import br.edu.ufape.sguAuthService.models.TipoEtnia;
+import br.edu.ufape.sguAuthService.servicos.interfaces.CacheReferenciaService;
 import com.querydsl.core.types.Predicate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -14,6 +15,7 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class TipoEtniaService implements br.edu.ufape.sguAuthService.servicos.interfaces.TipoEtniaService{
     private final  TipoEtniaRepository tipoEtniaRepository;
+    private final CacheReferenciaService cacheReferenciaService;
 
     @Override
     public TipoEtnia salvarTipoEtnia(TipoEtnia tipoEtnia) {
@@ -22,7 +24,9 @@ public class TipoEtniaService implements br.edu.ufape.sguAuthService.servicos.in
                     throw new TipoEtniaDuplicadoException("Já existe um tipo de etnia: " + tipoEtnia.getTipo());
                 });
 
-        return tipoEtniaRepository.save(tipoEtnia);
+        TipoEtnia salvo = tipoEtniaRepository.save(tipoEtnia);
+        cacheReferenciaService.registrarAlteracao(TipoEtnia.class);
+        return salvo;
     }
 
     @Override
@@ -48,13 +52,16 @@ public class TipoEtniaService implements br.edu.ufape.sguAuthService.servicos.in
                 });
 
         tipoEtniaExistente.setTipo(tipoEtnia.getTipo());
-        return tipoEtniaRepository.save(tipoEtniaExistente);
+        TipoEtnia atualizado = tipoEtniaRepository.save(tipoEtniaExistente);
+        cacheReferenciaService.registrarAlteracao(TipoEtnia.class);
+        return atualizado;
     }
 
     @Override
     public void deletarTipoEtnia(Long id) throws TipoEtniaNotFoundException {
         tipoEtniaRepository.findById(id).orElseThrow(TipoEtniaNotFoundException::new);
         tipoEtniaRepository.deleteById(id);
+        cacheReferenciaService.registrarAlteracao(TipoEtnia.class);
     }
 }
 
@@ -4,7 +4,6 @@ import java.util.List;
 
 import br.edu.ufape.sguAuthService.exceptions.ExceptionUtil;
 import com.querydsl.core.types.Predicate;
-import org.modelmapper.ModelMapper;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -13,18 +12,21 @@ import org.springframework.stereotype.Service;
 import br.edu.ufape.sguAuthService.dados.TipoUnidadeAdministrativaRepository;
 import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.TipoUnidadeAdministrativaNotFoundException;
 import br.edu.ufape.sguAuthService.models.TipoUnidadeAdministrativa;
+import br.edu.ufape.sguAuthService.servicos.interfaces.CacheReferenciaService;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class TipoUnidadeAdministrativaservice implements br.edu.ufape.sguAuthService.servicos.interfaces.TipoUnidadeAdministrativaService {
     private final TipoUnidadeAdministrativaRepository tipoUnidadeAdministrativaRepository;
-    private final ModelMapper modelMapper;
+    private final CacheReferenciaService cacheReferenciaService;
 
     @Override
     public TipoUnidadeAdministrativa salvar(TipoUnidadeAdministrativa tipoUnidadeAdministrativa) {
         try {
-            return tipoUnidadeAdministrativaRepository.save(tipoUnidadeAdministrativa);
+            TipoUnidadeAdministrativa salvo = tipoUnidadeAdministrativaRepository.save(tipoUnidadeAdministrativa);
+            cacheReferenciaService.registrarAlteracao(TipoUnidadeAdministrativa.class);
+            return salvo;
         }catch (DataIntegrityViolationException e) {
             throw ExceptionUtil.handleDataIntegrityViolationException(e);
         }
@@ -45,8 +47,10 @@ public class TipoUnidadeAdministrativaservice implements br.edu.ufape.sguAuthSer
     public TipoUnidadeAdministrativa editar(Long id, TipoUnidadeAdministrativa novoTipoUnidadeAdministrativa) throws TipoUnidadeAdministrativaNotFoundException {
         try {
             TipoUnidadeAdministrativa antigoTipoUnidadeAdministrativa = tipoUnidadeAdministrativaRepository.findById(id).orElseThrow(TipoUnidadeAdministrativaNotFoundException::new);
-            modelMapper.map(novoTipoUnidadeAdministrativa, antigoTipoUnidadeAdministrativa);
-            return tipoUnidadeAdministrativaRepository.save(antigoTipoUnidadeAdministrativa);
+            if (novoTipoUnidadeAdministrativa.getNome() != null) antigoTipoUnidadeAdministrativa.setNome(novoTipoUnidadeAdministrativa.getNome());
+            TipoUnidadeAdministrativa editado = tipoUnidadeAdministrativaRepository.save(antigoTipoUnidadeAdministrativa);
+            cacheReferenciaService.registrarAlteracao(TipoUnidadeAdministrativa.class);
+            return editado;
         }catch (DataIntegrityViolationException e) {
             throw ExceptionUtil.handleDataIntegrityViolationException(e);
         }
@@ -57,5 +61,6 @@ public class TipoUnidadeAdministrativaservice implements br.edu.ufape.sguAuthSer
     public void deletar(Long id) throws TipoUnidadeAdministrativaNotFoundException {
         TipoUnidadeAdministrativa tipoUnidadeAdministrativa = tipoUnidadeAdministrativaRepository.findById(id).orElseThrow(TipoUnidadeAdministrativaNotFoundException::new);
         tipoUnidadeAdministrativaRepository.delete(tipoUnidadeAdministrativa);
+        cacheReferenciaService.registrarAlteracao(TipoUnidadeAdministrativa.class);
     }
 }
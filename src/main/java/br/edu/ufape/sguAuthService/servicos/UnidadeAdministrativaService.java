@@ -4,19 +4,25 @@ package br.edu.ufape.sguAuthService.servicos;
 
 import br.edu.ufape.sguAuthService.dados.FuncionarioRepository;
 import br.edu.ufape.sguAuthService.dados.GestorUnidadeRepository;
+import br.edu.ufape.sguAuthService.dados.PlanoCarregamento;
+import br.edu.ufape.sguAuthService.dados.UnidadeAdministrativaHierarquiaRepository;
+import br.edu.ufape.sguAuthService.dados.UnidadeAdministrativaMembroRepository;
 import br.edu.ufape.sguAuthService.dados.UnidadeAdministrativaRepository;
 import br.edu.ufape.sguAuthService.exceptions.ExceptionUtil;
 import br.edu.ufape.sguAuthService.exceptions.SolicitacaoDuplicadaException;
+import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.FuncionarioNotFoundException;
 import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.GestorNotFoundException;
 import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.TecnicoNotFoundException;
 import br.edu.ufape.sguAuthService.exceptions.unidadeAdministrativa.UnidadeAdministrativaCircularException;
 import br.edu.ufape.sguAuthService.exceptions.unidadeAdministrativa.UnidadeAdministrativaComDependenciasException;
 import br.edu.ufape.sguAuthService.exceptions.unidadeAdministrativa.UnidadeAdministrativaNotFoundException;
 import br.edu.ufape.sguAuthService.models.*;
+import br.edu.ufape.sguAuthService.models.Enums.TipoVinculoUnidade;
+import br.edu.ufape.sguAuthService.servicos.interfaces.CacheReferenciaService;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.Predicate;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -25,7 +31,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 
 @Service
@@ -34,14 +47,17 @@ import java.util.List;
 public class UnidadeAdministrativaService implements br.edu.ufape.sguAuthService.servicos.interfaces.UnidadeAdministrativaService {
     private final UnidadeAdministrativaRepository unidadeAdministrativaRepository;
 
-    private final ModelMapper modelMapper;
     private final GestorUnidadeRepository gestorUnidadeRepository;
     private final FuncionarioRepository funcionarioRepository;
+    private final UnidadeAdministrativaHierarquiaRepository unidadeAdministrativaHierarquiaRepository;
+    private final UnidadeAdministrativaMembroRepository unidadeAdministrativaMembroRepository;
+    private final CacheReferenciaService cacheReferenciaService;
 
     @Override @Transactional
     public UnidadeAdministrativa salvar(UnidadeAdministrativa unidadeAdministrativa, TipoUnidadeAdministrativa tipoUnidadeAdministrativa, Long paiId) {
         try {
-            if (unidadeAdministrativa.getId() != null && unidadeAdministrativa.getId().equals(paiId)) {
+            boolean novaUnidade = unidadeAdministrativa.getId() == null;
+            if (!novaUnidade && paiId != null && formaCiclo(unidadeAdministrativa.getId(), paiId)) {
                 throw new UnidadeAdministrativaCircularException();
             }
             unidadeAdministrativa.setTipoUnidadeAdministrativa(tipoUnidadeAdministrativa);
@@ -51,7 +67,14 @@ public class UnidadeAdministrativaService implements br.edu.ufape.sguAuthService
                 unidadeAdministrativa.setUnidadePai(parent);
             }
 
-            return unidadeAdministrativaRepository.save(unidadeAdministrativa);
+            UnidadeAdministrativa unidadeSalva = unidadeAdministrativaRepository.save(unidadeAdministrativa);
+            if (novaUnidade) {
+                registrarNaHierarquia(unidadeSalva.getId(), paiId);
+            } else if (paiId != null) {
+                religarNaHierarquia(unidadeSalva.getId(), paiId);
+            }
+            cacheReferenciaService.registrarAlteracao(UnidadeAdministrativa.class);
+            return unidadeSalva;
         } catch (DataIntegrityViolationException e) {
             throw ExceptionUtil.handleDataIntegrityViolationException(e);
         }
@@ -65,24 +88,17 @@ public class UnidadeAdministrativaService implements br.edu.ufape.sguAuthService
                     .orElseThrow(UnidadeAdministrativaNotFoundException::new);
 
             if (novaUnidadeAdministrativa.getUnidadePai() != null &&
-                    novaUnidadeAdministrativa.getUnidadePai().getId().equals(id)) {
+                    formaCiclo(id, novaUnidadeAdministrativa.getUnidadePai().getId())) {
                 throw new UnidadeAdministrativaCircularException();
             }
 
-            // ModelMapper tem que ignorar campos nulos
-            modelMapper.getConfiguration().setPropertyCondition(ctx -> ctx.getSource() != null);
-
-            modelMapper.typeMap(UnidadeAdministrativa.class, UnidadeAdministrativa.class)
-                    .addMappings(mapper -> {
-                        mapper.skip(UnidadeAdministrativa::setGestores);
-                        mapper.skip(UnidadeAdministrativa::setFuncionarios);
-                        mapper.skip(UnidadeAdministrativa::setUnidadesFilhas);
-                        mapper.skip(UnidadeAdministrativa::setUnidadePai);
-                    });
-
-            modelMapper.map(novaUnidadeAdministrativa, unidadeAtual);
+            // PATCH: só o que veio preenchido substitui o valor atual
+            if (novaUnidadeAdministrativa.getNome() != null) unidadeAtual.setNome(novaUnidadeAdministrativa.getNome());
+            if (novaUnidadeAdministrativa.getCodigo() != null) unidadeAtual.setCodigo(novaUnidadeAdministrativa.getCodigo());
 
-            return unidadeAdministrativaRepository.save(unidadeAtual);
+            UnidadeAdministrativa unidadeEditada = unidadeAdministrativaRepository.save(unidadeAtual);
+            cacheReferenciaService.registrarAlteracao(UnidadeAdministrativa.class);
+            return PlanoCarregamento.unidadeComMembros(unidadeEditada);
         } catch (DataIntegrityViolationException e) {
             throw ExceptionUtil.handleDataIntegrityViolationException(e);
         }
@@ -94,19 +110,29 @@ public class UnidadeAdministrativaService implements br.edu.ufape.sguAuthService
                 .orElseThrow(UnidadeAdministrativaNotFoundException::new);
     }
 
+    @Override @Transactional(readOnly = true)
+    public UnidadeAdministrativa buscarUnidadeAdministrativaComMembros(Long id) {
+        return PlanoCarregamento.unidadeComMembros(buscarUnidadeAdministrativa(id));
+    }
+
     @Override
     public List<UnidadeAdministrativa> listarUnidadesAdministrativas() {
         return unidadeAdministrativaRepository.findAll();
     }
 
-    @Override
+    @Override @Transactional(readOnly = true)
     public List<UnidadeAdministrativa> montarArvore() {
-        return unidadeAdministrativaRepository.findByUnidadePaiIsNull();
+        // Uma consulta traz todas as unidades com as filhas já ligadas; as raízes carregam a árvore inteira
+        return unidadeAdministrativaRepository.findAllComUnidadesFilhas().stream()
+                .filter(unidade -> unidade.getUnidadePai() == null)
+                .toList();
     }
 
-    @Override
+    @Override @Transactional(readOnly = true)
     public List<UnidadeAdministrativa> listarUnidadesFilhas(Long id) {
-        return unidadeAdministrativaRepository.findByUnidadePaiId(id);
+        List<UnidadeAdministrativa> filhas = unidadeAdministrativaRepository.findByUnidadePaiId(id);
+        filhas.forEach(PlanoCarregamento::unidadeComMembros);
+        return filhas;
     }
 
     @Override @Transactional
@@ -118,23 +144,133 @@ public class UnidadeAdministrativaService implements br.edu.ufape.sguAuthService
             throw new UnidadeAdministrativaComDependenciasException("Não é possível excluir a unidade, pois ela possui unidades filhas.");
         }
 
+        unidadeAdministrativaMembroRepository.deleteByUnidadeAdministrativaId(id);
+        unidadeAdministrativaHierarquiaRepository.deleteByDescendenteId(id);
         unidadeAdministrativaRepository.deleteById(id);
+        cacheReferenciaService.registrarAlteracao(UnidadeAdministrativa.class);
+    }
+
+    @Override @Transactional
+    public UnidadeAdministrativa moverUnidadeAdministrativa(Long id, Long novoPaiId) {
+        UnidadeAdministrativa unidade = unidadeAdministrativaRepository.findById(id)
+                .orElseThrow(UnidadeAdministrativaNotFoundException::new);
+
+        UnidadeAdministrativa novoPai = null;
+        if (novoPaiId != null) {
+            if (formaCiclo(id, novoPaiId)) {
+                throw new UnidadeAdministrativaCircularException();
+            }
+            novoPai = unidadeAdministrativaRepository.findById(novoPaiId)
+                    .orElseThrow(UnidadeAdministrativaNotFoundException::new);
+        }
+
+        unidade.setUnidadePai(novoPai);
+        UnidadeAdministrativa unidadeSalva = unidadeAdministrativaRepository.save(unidade);
+        religarNaHierarquia(id, novoPaiId);
+        cacheReferenciaService.registrarAlteracao(UnidadeAdministrativa.class);
+        return unidadeSalva;
+    }
+
+    @Override @Transactional(readOnly = true)
+    public List<UnidadeAdministrativa> listarSubarvore(Long id) {
+        buscarUnidadeAdministrativa(id);
+        return unidadeAdministrativaHierarquiaRepository.findSubarvore(id);
+    }
+
+    @Override @Transactional(readOnly = true)
+    public List<UnidadeAdministrativa> listarAncestrais(Long id) {
+        buscarUnidadeAdministrativa(id);
+        return unidadeAdministrativaHierarquiaRepository.findAncestrais(id);
+    }
+
+    @Override
+    public long contarUnidadesDescendentes(Long id) {
+        // A própria unidade faz parte da sua subárvore com profundidade 0
+        return unidadeAdministrativaHierarquiaRepository.countSubarvore(id) - 1;
+    }
+
+    @Override
+    public long contarFuncionariosNaSubarvore(Long id) {
+        return unidadeAdministrativaHierarquiaRepository.countFuncionariosSubarvore(id);
+    }
+
+    @Override
+    public long contarGestoresNaSubarvore(Long id) {
+        return unidadeAdministrativaHierarquiaRepository.countGestoresSubarvore(id);
+    }
+
+    @Override @Transactional
+    public void reconstruirHierarquia() {
+        unidadeAdministrativaHierarquiaRepository.deleteAllInBatch();
+
+        Map<Long, List<Long>> filhosPorPai = new HashMap<>();
+        Deque<Long[]> pendentes = new ArrayDeque<>();
+        for (Object[] linha : unidadeAdministrativaRepository.findIdsComUnidadePai()) {
+            Long id = (Long) linha[0];
+            Long paiId = (Long) linha[1];
+            if (paiId == null) {
+                pendentes.add(new Long[]{id, null});
+            } else {
+                filhosPorPai.computeIfAbsent(paiId, k -> new ArrayList<>()).add(id);
+            }
+        }
+
+        // Percorre em largura a partir das raízes para que o pai sempre seja registrado antes dos filhos
+        while (!pendentes.isEmpty()) {
+            Long[] atual = pendentes.poll();
+            registrarNaHierarquia(atual[0], atual[1]);
+            for (Long filhoId : filhosPorPai.getOrDefault(atual[0], List.of())) {
+                pendentes.add(new Long[]{filhoId, atual[0]});
+            }
+        }
+    }
+
+    // Quem chama pode ter buscado a unidade em outra sessão; as coleções LAZY só funcionam na instância desta transação
+    private UnidadeAdministrativa gerenciada(UnidadeAdministrativa unidade) {
+        return unidadeAdministrativaRepository.findById(unidade.getId())
+                .orElseThrow(UnidadeAdministrativaNotFoundException::new);
+    }
+
+    private Funcionario gerenciado(Funcionario funcionario) {
+        return funcionarioRepository.findById(funcionario.getId()).orElseThrow(FuncionarioNotFoundException::new);
+    }
+
+    // Verificação em tempo constante: o novo pai não pode estar na subárvore da unidade (incluindo ela mesma)
+    private boolean formaCiclo(Long unidadeId, Long novoPaiId) {
+        return unidadeAdministrativaHierarquiaRepository.existsByIdAncestralIdAndIdDescendenteId(unidadeId, novoPaiId);
+    }
+
+    private void registrarNaHierarquia(Long id, Long paiId) {
+        unidadeAdministrativaHierarquiaRepository.inserirNo(id);
+        if (paiId != null) {
+            unidadeAdministrativaHierarquiaRepository.inserirAncestrais(id, paiId);
+        }
+    }
+
+    private void religarNaHierarquia(Long id, Long novoPaiId) {
+        unidadeAdministrativaHierarquiaRepository.desligarSubarvore(id);
+        if (novoPaiId != null) {
+            unidadeAdministrativaHierarquiaRepository.religarSubarvore(id, novoPaiId);
+        }
     }
 
     @Transactional
     @Override
-    public GestorUnidade adicionarGestor(UnidadeAdministrativa unidade, GestorUnidade gestorUnidade) {
+    public GestorUnidade adicionarGestor(UnidadeAdministrativa unidadeInformada, GestorUnidade gestorUnidade) {
+        UnidadeAdministrativa unidade = gerenciada(unidadeInformada);
         if(unidade.getGestores().stream().anyMatch(g -> g.getGestor().getUsuario().getId().equals(gestorUnidade.getGestor().getUsuario().getId()))) {
             throw new SolicitacaoDuplicadaException("O gestor já está vinculado a esta unidade administrativa.");
         }
         gestorUnidade.setUnidadeAdministrativa(unidade);
         unidade.getGestores().add(gestorUnidade);
         gestorUnidadeRepository.save(gestorUnidade);
-        return gestorUnidade;
+        registrarVinculo(gestorUnidade.getGestor().getUsuario().getId(), unidade, TipoVinculoUnidade.GESTOR);
+        return PlanoCarregamento.gestorUnidade(gestorUnidade);
     }
 
     @Override @Transactional
-    public void removerGestor(UnidadeAdministrativa unidade, Long gestorUnidadeId) {
+    public void removerGestor(UnidadeAdministrativa unidadeInformada, Long gestorUnidadeId) {
+        UnidadeAdministrativa unidade = gerenciada(unidadeInformada);
         GestorUnidade gestorUnidade = unidade.getGestores().stream()
                 .filter(gu -> gu.getGestor().getId().equals(gestorUnidadeId))
                 .findFirst()
@@ -145,12 +281,14 @@ public class UnidadeAdministrativaService implements br.edu.ufape.sguAuthService
         gestorUnidade.setUnidadeAdministrativa(null);
 
         unidadeAdministrativaRepository.save(unidade);
+        removerVinculo(gestorUnidade.getGestor().getUsuario().getId(), unidade, TipoVinculoUnidade.GESTOR);
     }
 
     @Override @Transactional
-    public void adicionarFuncionario(UnidadeAdministrativa unidade, Usuario usuario) {
-
+    public void adicionarFuncionario(UnidadeAdministrativa unidadeInformada, Usuario usuario) {
+        UnidadeAdministrativa unidade = gerenciada(unidadeInformada);
         Funcionario funcionario = usuario.getPerfil(Funcionario.class)
+                .map(this::gerenciado)
                 .orElseThrow(() ->
                         new ResponseStatusException(
                                 HttpStatus.BAD_REQUEST,
@@ -165,11 +303,14 @@ public class UnidadeAdministrativaService implements br.edu.ufape.sguAuthService
 
         unidade.adicionarFuncionario(funcionario);
         unidadeAdministrativaRepository.save(unidade);
+        registrarVinculo(usuario.getId(), unidade, TipoVinculoUnidade.FUNCIONARIO);
     }
 
     @Override @Transactional
-    public void removerFuncionario(UnidadeAdministrativa unidade, Usuario usuario) {
+    public void removerFuncionario(UnidadeAdministrativa unidadeInformada, Usuario usuario) {
+        UnidadeAdministrativa unidade = gerenciada(unidadeInformada);
         Funcionario funcionario = usuario.getPerfil(Funcionario.class)
+                .map(this::gerenciado)
                 .orElseThrow(() ->
                         new ResponseStatusException(
                                 HttpStatus.BAD_REQUEST,
@@ -182,53 +323,70 @@ public class UnidadeAdministrativaService implements br.edu.ufape.sguAuthService
         }
         unidade.removerFuncionario(funcionario);
         unidadeAdministrativaRepository.save(unidade);
+        removerVinculo(usuario.getId(), unidade, TipoVinculoUnidade.FUNCIONARIO);
     }
 
-    @Override
+    @Override @Transactional(readOnly = true)
     public Page<GestorUnidade> listarGestores(Long unidadeId, Predicate predicate, Pageable pageable) {
         QGestorUnidade qGestorUnidade = QGestorUnidade.gestorUnidade;
         BooleanBuilder filtroFixo = new BooleanBuilder(qGestorUnidade.unidadeAdministrativa.id.eq(unidadeId));
         Predicate filtro = filtroFixo.and(predicate);
-        return gestorUnidadeRepository.findAll(filtro, pageable);
+        Page<GestorUnidade> gestores = gestorUnidadeRepository.findAll(filtro, pageable);
+        gestores.forEach(PlanoCarregamento::gestorUnidade);
+        return gestores;
     }
 
-    @Override
+    @Override @Transactional(readOnly = true)
     public Page<Funcionario> listarFuncionarios(Long unidadeId, Predicate predicate, Pageable pageable) {
         QFuncionario qFuncionario = QFuncionario.funcionario;
         BooleanBuilder filtroFixo = new BooleanBuilder(
                 qFuncionario.unidades.any().id.eq(unidadeId)
         );
         Predicate filtro = filtroFixo.and(predicate);
-        return funcionarioRepository.findAll(filtro, pageable);
+        Page<Funcionario> funcionarios = funcionarioRepository.findAll(filtro, pageable);
+        funcionarios.forEach(PlanoCarregamento::funcionario);
+        return funcionarios;
     }
 
     @Override
     public Page<UnidadeAdministrativa> listarUnidadesPorGestor(Gestor gestor, Predicate predicate, Pageable pageable) {
-        QUnidadeAdministrativa qUnidade = QUnidadeAdministrativa.unidadeAdministrativa;
-        BooleanBuilder filtro = new BooleanBuilder(
-                qUnidade.gestores
-                        .any()
-                        .gestor.id.eq(gestor.getId())
-        );
-
-        Predicate filtroFixo = filtro.and(predicate);
-        return unidadeAdministrativaRepository.findAll(filtroFixo, pageable);
+        return listarUnidadesPorVinculo(gestor.getUsuario().getId(), TipoVinculoUnidade.GESTOR, predicate, pageable);
     }
 
     @Override
     public Page<UnidadeAdministrativa> listarUnidadesPorFuncionario(Usuario usuario, Predicate predicate, Pageable pageable) {
+        return listarUnidadesPorVinculo(usuario.getId(), TipoVinculoUnidade.FUNCIONARIO, predicate, pageable);
+    }
+
+    @Override @Transactional
+    public void reconstruirVinculos() {
+        unidadeAdministrativaMembroRepository.deleteAllInBatch();
+        unidadeAdministrativaMembroRepository.inserirVinculosDeFuncionarios();
+        unidadeAdministrativaMembroRepository.inserirVinculosDeGestores();
+    }
+
+    // Consulta apenas o índice de vínculos (usuario_id, tipo, unidade) em vez da hierarquia de Perfil
+    private Page<UnidadeAdministrativa> listarUnidadesPorVinculo(UUID usuarioId, TipoVinculoUnidade tipo, Predicate predicate, Pageable pageable) {
         QUnidadeAdministrativa qUnidade = QUnidadeAdministrativa.unidadeAdministrativa;
-        List<Long> perfilIds = usuario.getPerfis()
-                .stream()
-                .map(Perfil::getId)
-                .toList();
-        BooleanBuilder filtro = new BooleanBuilder()
-                .and(qUnidade.funcionarios.any().id.in(perfilIds))
-                .and(qUnidade.funcionarios.any().instanceOf(Tecnico.class)
-                                .or(qUnidade.funcionarios.any().instanceOf(Professor.class))
-                );
+        QUnidadeAdministrativaMembro qMembro = QUnidadeAdministrativaMembro.unidadeAdministrativaMembro;
+        BooleanBuilder filtro = new BooleanBuilder(
+                qUnidade.id.in(JPAExpressions.select(qMembro.unidadeAdministrativa.id)
+                        .from(qMembro)
+                        .where(qMembro.usuarioId.eq(usuarioId), qMembro.tipo.eq(tipo)))
+        );
         Predicate filtroFixo = filtro.and(predicate);
         return unidadeAdministrativaRepository.findAll(filtroFixo, pageable);
     }
 
+    private void registrarVinculo(UUID usuarioId, UnidadeAdministrativa unidade, TipoVinculoUnidade tipo) {
+        if (!unidadeAdministrativaMembroRepository.existsByUsuarioIdAndTipoAndUnidadeAdministrativaId(usuarioId, tipo, unidade.getId())) {
+            unidadeAdministrativaMembroRepository.save(
+                    new UnidadeAdministrativaMembro(null, usuarioId, unidade, tipo, LocalDateTime.now()));
+        }
+    }
+
+    private void removerVinculo(UUID usuarioId, UnidadeAdministrativa unidade, TipoVinculoUnidade tipo) {
+        unidadeAdministrativaMembroRepository.deleteVinculo(usuarioId, tipo, unidade.getId());
+    }
+
 }
\ No newline at end of file
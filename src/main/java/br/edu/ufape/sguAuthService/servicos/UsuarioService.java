@@ -1,39 +1,53 @@
 package br.edu.ufape.sguAuthService.servicos;
 
+import br.edu.ufape.sguAuthService.comunicacao.dto.usuario.UsuarioExportacaoResponse;
 import br.edu.ufape.sguAuthService.config.AuthenticatedUserProvider;
+import br.edu.ufape.sguAuthService.dados.PlanoCarregamento;
 import br.edu.ufape.sguAuthService.dados.UsuarioRepository;
 
 
 import br.edu.ufape.sguAuthService.exceptions.accessDeniedException.GlobalAccessDeniedException;
 import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.UsuarioNotFoundException;
-import br.edu.ufape.sguAuthService.models.Aluno;
+import br.edu.ufape.sguAuthService.models.QTipoEtnia;
 import br.edu.ufape.sguAuthService.models.QUsuario;
 import br.edu.ufape.sguAuthService.models.Usuario;
 
 import br.edu.ufape.sguAuthService.models.Visitante;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.hibernate.jpa.HibernateHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service @RequiredArgsConstructor
 public class UsuarioService implements br.edu.ufape.sguAuthService.servicos.interfaces.UsuarioService {
     private final UsuarioRepository usuarioRepository;
-    private final ModelMapper modelMapper;
     private final AuthenticatedUserProvider authenticatedUserProvider;
+    private final EntityManager entityManager;
 
     private static final Logger logger = LoggerFactory.getLogger(UsuarioService.class);
+    private static final int TAMANHO_LOTE_BATCH = 500;
+    private static final int TAMANHO_FETCH_EXPORTACAO = 500;
 
     @Override
     public Usuario salvar(Usuario usuario) {
@@ -45,23 +59,30 @@ public class UsuarioService implements br.edu.ufape.sguAuthService.servicos.inte
     public Usuario editarUsuario(Usuario novoUsuario) throws UsuarioNotFoundException {
         UUID idSessao = authenticatedUserProvider.getUserId();
         Usuario antigoUsuario =  usuarioRepository.findById(idSessao).orElseThrow(UsuarioNotFoundException::new);
-        modelMapper.map(novoUsuario, antigoUsuario);
+        if (novoUsuario.getNome() != null) antigoUsuario.setNome(novoUsuario.getNome());
+        if (novoUsuario.getNomeSocial() != null) antigoUsuario.setNomeSocial(novoUsuario.getNomeSocial());
+        if (novoUsuario.getCpf() != null) antigoUsuario.setCpf(novoUsuario.getCpf());
+        if (novoUsuario.getEmail() != null) antigoUsuario.setEmail(novoUsuario.getEmail());
+        if (novoUsuario.getTelefone() != null) antigoUsuario.setTelefone(novoUsuario.getTelefone());
+        if (novoUsuario.getTipoEtnia() != null) antigoUsuario.setTipoEtnia(novoUsuario.getTipoEtnia());
         return usuarioRepository.save(antigoUsuario);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Usuario buscarUsuario(UUID id, boolean isAdm, UUID sessionId) throws UsuarioNotFoundException {
         Usuario usuario = usuarioRepository.findById(id).orElseThrow(UsuarioNotFoundException::new);
         if(!isAdm && !usuario.getId().equals(sessionId)) {
             throw new GlobalAccessDeniedException("Você não tem permissão para acessar este recurso");
         }
-        return usuario;
+        return PlanoCarregamento.usuario(usuario);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Usuario buscarUsuarioAtual() throws UsuarioNotFoundException{
         UUID idSessao = authenticatedUserProvider.getUserId();
-        return usuarioRepository.findById(idSessao).orElseThrow(UsuarioNotFoundException::new);
+        return PlanoCarregamento.usuario(usuarioRepository.findById(idSessao).orElseThrow(UsuarioNotFoundException::new));
     }
 
     @Override
@@ -75,6 +96,33 @@ public class UsuarioService implements br.edu.ufape.sguAuthService.servicos.inte
         return usuarioRepository.findAll(predicadoFinal, pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void exportarUsuarios(Predicate predicate, Consumer<UsuarioExportacaoResponse> consumidor) {
+        QUsuario qUsuario = QUsuario.usuario;
+        QTipoEtnia qTipoEtnia = QTipoEtnia.tipoEtnia;
+        BooleanBuilder filtroFixo = new BooleanBuilder();
+        filtroFixo.and(qUsuario.ativo.isTrue());
+
+        Predicate predicadoFinal = filtroFixo.and(predicate);
+
+        // Projeção em DTO: as linhas não entram no contexto de persistência, então a memória fica constante
+        // e o cursor do driver entrega TAMANHO_FETCH_EXPORTACAO linhas por ida ao banco.
+        try (Stream<UsuarioExportacaoResponse> linhas = new JPAQuery<>(entityManager)
+                .select(Projections.constructor(UsuarioExportacaoResponse.class,
+                        qUsuario.id, qUsuario.nome, qUsuario.nomeSocial, qUsuario.cpf, qUsuario.email,
+                        qUsuario.telefone, qUsuario.ativo, qTipoEtnia.tipo))
+                .from(qUsuario)
+                .leftJoin(qUsuario.tipoEtnia, qTipoEtnia)
+                .where(predicadoFinal)
+                .orderBy(qUsuario.nome.asc(), qUsuario.id.asc())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, TAMANHO_FETCH_EXPORTACAO)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .stream()) {
+            linhas.forEach(consumidor);
+        }
+    }
+
 
     @Override
     public void deletarUsuario(UUID sessionId) throws UsuarioNotFoundException {
@@ -85,19 +133,27 @@ public class UsuarioService implements br.edu.ufape.sguAuthService.servicos.inte
 
     @Override
     public List<Usuario> buscarUsuariosPorIds(List<UUID> kcIds) {
-        List<Usuario> usuarios = usuarioRepository.findByIdIn(kcIds);
-
-        Map<UUID, Usuario> usuarioMap = usuarios.stream()
-                .collect(Collectors.toMap(Usuario::getId, Function.identity()));
-
-        List<Usuario> users =  kcIds.stream()
-                .map(usuarioMap::get)
-                .collect(Collectors.toList());
-
-        logger.info("Usuarios encontrados: {}", users.getFirst().getPerfil(Aluno.class));
-        return users;
+        List<Usuario> usuarios = new ArrayList<>(kcIds.size());
+        percorrerUsuariosPorIds(kcIds, (id, usuario) -> {
+            if (usuario != null) usuarios.add(usuario);
+        });
+        return usuarios;
     }
 
-
+    @Override
+    public void percorrerUsuariosPorIds(List<UUID> kcIds, BiConsumer<UUID, Usuario> consumidor) {
+        // Lotes limitados mantêm o IN sob controle; o padding de parâmetros do Hibernate reaproveita os planos
+        for (int inicio = 0; inicio < kcIds.size(); inicio += TAMANHO_LOTE_BATCH) {
+            List<UUID> lote = kcIds.subList(inicio, Math.min(inicio + TAMANHO_LOTE_BATCH, kcIds.size()));
+            Set<UUID> idsDoLote = lote.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+            Map<UUID, Usuario> usuarioMap = idsDoLote.isEmpty() ? Map.of() : usuarioRepository.findAllComPerfisByIdIn(idsDoLote).stream()
+                    .collect(Collectors.toMap(Usuario::getId, Function.identity()));
+
+            for (UUID id : lote) {
+                if (id != null) consumidor.accept(id, usuarioMap.get(id));
+            }
+        }
+        logger.debug("Busca em lote de {} usuários concluída", kcIds.size());
+    }
 
 }
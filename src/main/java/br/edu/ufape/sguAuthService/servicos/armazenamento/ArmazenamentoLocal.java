@@ -0,0 +1,141 @@
+package br.edu.ufape.sguAuthService.servicos.armazenamento;
+
+import br.edu.ufape.sguAuthService.servicos.interfaces.BackendArmazenamento;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Backend no sistema de arquivos local (arquivo.diretorio-upload), no layout de LayoutArmazenamento.
+ * Temporários com fsync na raiz, publicação por rename atômico e entrega zero-copy pelo caminho local.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = BackendArmazenamento.PROPRIEDADE, havingValue = "local", matchIfMissing = true)
+public class ArmazenamentoLocal implements BackendArmazenamento {
+    private final LayoutArmazenamento layout;
+
+    @Override
+    public ArquivoTemporario gravarTemporario(InputStream conteudo, String extensao) throws IOException {
+        Path temporario = layout.raiz().resolve(LayoutArmazenamento.PREFIXO_TEMPORARIO + UUID.randomUUID());
+        MessageDigest sha256 = Hashes.sha256();
+        try {
+            long tamanho;
+            try (InputStream entrada = new DigestInputStream(conteudo, sha256);
+                 FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                tamanho = entrada.transferTo(Channels.newOutputStream(canal));
+                canal.force(true);
+            }
+            String hash = HexFormat.of().formatHex(sha256.digest());
+            return new ArquivoTemporario(hash + "." + extensao, hash, tamanho, temporario.toString());
+        } catch (IOException e) {
+            apagar(temporario);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<ArquivoTemporario> publicar(Collection<ArquivoTemporario> temporarios) {
+        Set<Path> diretorios = new HashSet<>();
+        List<ArquivoTemporario> falhas = new ArrayList<>();
+        for (ArquivoTemporario temporario : temporarios) {
+            Path origem = Path.of(temporario.getReferencia());
+            Path destino = layout.caminho(temporario.getNome());
+            try {
+                Optional<Path> existente = layout.localizar(temporario.getNome());
+                if (existente.isPresent() && renovar(existente.get())) {
+                    // Conteúdo já armazenado: a data renovada impede o arquivo de parecer órfão; descarta a cópia
+                    apagar(origem);
+                    continue;
+                }
+                Files.createDirectories(destino.getParent());
+                try {
+                    Files.move(origem, destino, StandardCopyOption.ATOMIC_MOVE);
+                    diretorios.add(destino.getParent());
+                } catch (FileAlreadyExistsException e) {
+                    // Outro upload do mesmo conteúdo publicou primeiro; o conteúdo é idêntico
+                    apagar(origem);
+                }
+            } catch (IOException e) {
+                // O documento já está gravado no banco; o temporário fica para a próxima tentativa
+                log.warn("Falha ao publicar {} em {}", origem, destino, e);
+                falhas.add(temporario);
+            }
+        }
+        diretorios.forEach(ArmazenamentoLocal::sincronizarDiretorio);
+        return falhas;
+    }
+
+    @Override
+    public void descartar(Collection<ArquivoTemporario> temporarios) {
+        temporarios.forEach(temporario -> apagar(Path.of(temporario.getReferencia())));
+    }
+
+    @Override
+    public Optional<ArquivoArmazenado> localizar(String nome) throws IOException {
+        Optional<Path> caminho = layout.localizar(nome);
+        if (caminho.isEmpty()) return Optional.empty();
+        try {
+            return Optional.of(new ArquivoLocal(caminho.get()));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public String endereco(String nome) {
+        return layout.caminho(nome).toString();
+    }
+
+    // false se o arquivo sumiu nesse meio-tempo (limpeza de órfãos); aí o temporário é publicado no lugar
+    private static boolean renovar(Path arquivo) throws IOException {
+        try {
+            Files.setLastModifiedTime(arquivo, FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    // Torna os renames duráveis; nem todo sistema de arquivos permite abrir diretórios, então é melhor esforço
+    private static void sincronizarDiretorio(Path diretorio) {
+        try (FileChannel canal = FileChannel.open(diretorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException e) {
+            log.debug("Não foi possível sincronizar o diretório {}", diretorio, e);
+        }
+    }
+
+    private static void apagar(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            log.warn("Não foi possível apagar o temporário {}", arquivo, e);
+        }
+    }
+}
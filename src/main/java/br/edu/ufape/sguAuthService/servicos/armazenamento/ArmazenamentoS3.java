@@ -0,0 +1,212 @@
+package br.edu.ufape.sguAuthService.servicos.armazenamento;
+
+import br.edu.ufape.sguAuthService.servicos.interfaces.BackendArmazenamento;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ContentDisposition;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Backend em bucket compatível com S3 (AWS, MinIO). O upload vai em partes de tamanho fixo para uma chave
+ * temporária, com o SHA-256 calculado no caminho; a publicação é uma cópia no servidor para a chave final
+ * (prefixo + hash.extensão). A leitura usa GET com Range e, se habilitado, o download é redirecionado para
+ * uma URL pré-assinada, tirando os bytes da réplica.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = BackendArmazenamento.PROPRIEDADE, havingValue = "s3")
+public class ArmazenamentoS3 implements BackendArmazenamento {
+    // O S3 recusa partes menores que 5 MiB, exceto a última
+    static final int TAMANHO_MINIMO_PARTE = 5 * 1024 * 1024;
+    static final String PREFIXO_TEMPORARIO = ".upload/";
+
+    private final S3Client s3;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final String prefixo;
+    private final int tamanhoParte;
+    private final Duration validadeUrl;
+    private final boolean redirecionarDownload;
+
+    public ArmazenamentoS3(S3Client s3, S3Presigner presigner,
+                           @Value("${arquivo.s3.bucket}") String bucket,
+                           @Value("${arquivo.s3.prefixo:documentos/}") String prefixo,
+                           @Value("${arquivo.s3.tamanho-parte:8MB}") DataSize tamanhoParte,
+                           @Value("${arquivo.s3.validade-url:5m}") Duration validadeUrl,
+                           @Value("${arquivo.s3.redirecionar-download:true}") boolean redirecionarDownload) {
+        this(s3, presigner, bucket, prefixo, (int) Math.max(tamanhoParte.toBytes(), TAMANHO_MINIMO_PARTE), validadeUrl, redirecionarDownload);
+    }
+
+    ArmazenamentoS3(S3Client s3, S3Presigner presigner, String bucket, String prefixo, int tamanhoParte,
+                    Duration validadeUrl, boolean redirecionarDownload) {
+        this.s3 = s3;
+        this.presigner = presigner;
+        this.bucket = bucket;
+        this.prefixo = prefixo;
+        this.tamanhoParte = tamanhoParte;
+        this.validadeUrl = validadeUrl;
+        this.redirecionarDownload = redirecionarDownload;
+    }
+
+    /**
+     * Lê uma parte por vez num único buffer e a envia antes de ler a próxima: a memória por upload fica
+     * limitada ao tamanho da parte. Arquivos que cabem numa parte vão num PUT simples.
+     */
+    @Override
+    public ArquivoTemporario gravarTemporario(InputStream conteudo, String extensao) throws IOException {
+        String chave = prefixo + PREFIXO_TEMPORARIO + UUID.randomUUID();
+        MessageDigest sha256 = Hashes.sha256();
+        byte[] parte = new byte[tamanhoParte];
+        int lidos = conteudo.readNBytes(parte, 0, tamanhoParte);
+        sha256.update(parte, 0, lidos);
+        long tamanho = lidos;
+
+        if (lidos < tamanhoParte) {
+            s3.putObject(b -> b.bucket(bucket).key(chave).contentLength((long) lidos), corpo(parte, lidos));
+        } else {
+            String uploadId = s3.createMultipartUpload(b -> b.bucket(bucket).key(chave)).uploadId();
+            try {
+                List<CompletedPart> partes = new ArrayList<>();
+                int enviados = lidos;
+                while (enviados > 0) {
+                    int numero = partes.size() + 1;
+                    int tamanhoDaParte = enviados;
+                    String etag = s3.uploadPart(b -> b.bucket(bucket).key(chave).uploadId(uploadId)
+                            .partNumber(numero).contentLength((long) tamanhoDaParte), corpo(parte, tamanhoDaParte)).eTag();
+                    partes.add(CompletedPart.builder().partNumber(numero).eTag(etag).build());
+
+                    enviados = conteudo.readNBytes(parte, 0, tamanhoParte);
+                    sha256.update(parte, 0, enviados);
+                    tamanho += enviados;
+                }
+                s3.completeMultipartUpload(b -> b.bucket(bucket).key(chave).uploadId(uploadId)
+                        .multipartUpload(m -> m.parts(partes)));
+            } catch (IOException | RuntimeException e) {
+                abortar(chave, uploadId);
+                throw e;
+            }
+        }
+        String hash = HexFormat.of().formatHex(sha256.digest());
+        return new ArquivoTemporario(hash + "." + extensao, hash, tamanho, chave);
+    }
+
+    @Override
+    public List<ArquivoTemporario> publicar(Collection<ArquivoTemporario> temporarios) {
+        List<ArquivoTemporario> falhas = new ArrayList<>();
+        for (ArquivoTemporario temporario : temporarios) {
+            String destino = prefixo + temporario.getNome();
+            try {
+                if (cabecalho(destino).isEmpty()) {
+                    s3.copyObject(b -> b.sourceBucket(bucket).sourceKey(temporario.getReferencia())
+                            .destinationBucket(bucket).destinationKey(destino));
+                }
+                apagar(temporario.getReferencia());
+            } catch (SdkException e) {
+                // O documento já está gravado no banco; o temporário fica para a próxima tentativa
+                log.warn("Falha ao publicar {} em {}", temporario.getReferencia(), destino, e);
+                falhas.add(temporario);
+            }
+        }
+        return falhas;
+    }
+
+    @Override
+    public void descartar(Collection<ArquivoTemporario> temporarios) {
+        temporarios.forEach(temporario -> apagar(temporario.getReferencia()));
+    }
+
+    @Override
+    public Optional<ArquivoArmazenado> localizar(String nome) {
+        String chave = prefixo + nome;
+        return cabecalho(chave).map(cabecalho -> new ArquivoS3(nome, chave, cabecalho));
+    }
+
+    @Override
+    public String endereco(String nome) {
+        return "s3://" + bucket + "/" + prefixo + nome;
+    }
+
+    private Optional<HeadObjectResponse> cabecalho(String chave) {
+        try {
+            return Optional.of(s3.headObject(b -> b.bucket(bucket).key(chave)));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) return Optional.empty();
+            throw e;
+        }
+    }
+
+    private void apagar(String chave) {
+        try {
+            s3.deleteObject(b -> b.bucket(bucket).key(chave));
+        } catch (SdkException e) {
+            log.warn("Não foi possível apagar o temporário {}", chave, e);
+        }
+    }
+
+    private void abortar(String chave, String uploadId) {
+        try {
+            s3.abortMultipartUpload(b -> b.bucket(bucket).key(chave).uploadId(uploadId));
+        } catch (SdkException e) {
+            log.warn("Não foi possível abortar o upload {} de {}", uploadId, chave, e);
+        }
+    }
+
+    // Lê direto do buffer, sem a cópia que RequestBody.fromBytes faria
+    private static RequestBody corpo(byte[] buffer, int tamanho) {
+        return RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, tamanho), tamanho);
+    }
+
+    private class ArquivoS3 extends ArquivoArmazenado {
+        private final String chave;
+
+        ArquivoS3(String nome, String chave, HeadObjectResponse cabecalho) {
+            super(nome, cabecalho.contentLength(), cabecalho.lastModified().toEpochMilli());
+            this.chave = chave;
+        }
+
+        @Override
+        public InputStream abrir(long inicio, long fim) {
+            if (fim <= inicio) return InputStream.nullInputStream();
+            return s3.getObject(b -> b.bucket(bucket).key(chave).range("bytes=" + inicio + "-" + (fim - 1)));
+        }
+
+        @Override
+        public Optional<URI> urlAssinada() {
+            if (!redirecionarDownload) return Optional.empty();
+            String disposicao = ContentDisposition.inline().filename(getNome()).build().toString();
+            try {
+                return Optional.of(presigner.presignGetObject(p -> p.signatureDuration(validadeUrl)
+                        .getObjectRequest(g -> g.bucket(bucket).key(chave).responseContentDisposition(disposicao)))
+                        .url().toURI());
+            } catch (URISyntaxException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
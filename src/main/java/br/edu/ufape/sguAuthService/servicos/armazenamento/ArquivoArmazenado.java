@@ -0,0 +1,32 @@
+package br.edu.ufape.sguAuthService.servicos.armazenamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/** Arquivo publicado, com o necessário para entregá-lo: metadados e leitura por intervalo. */
+@Getter
+@AllArgsConstructor
+public abstract class ArquivoArmazenado {
+    private final String nome;
+    private final long tamanho;
+    private final long modificadoEm;
+
+    /** Bytes de inicio (inclusivo) a fim (exclusivo). */
+    public abstract InputStream abrir(long inicio, long fim) throws IOException;
+
+    /** Caminho no disco local, quando existe, para entrega zero-copy. */
+    public Optional<Path> caminhoLocal() {
+        return Optional.empty();
+    }
+
+    /** URL pré-assinada para o cliente baixar direto do armazenamento, quando o backend oferece. */
+    public Optional<URI> urlAssinada() {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,38 @@
+package br.edu.ufape.sguAuthService.servicos.armazenamento;
+
+import com.google.common.io.ByteStreams;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+
+public class ArquivoLocal extends ArquivoArmazenado {
+    private final Path caminho;
+
+    public ArquivoLocal(Path caminho) throws IOException {
+        this(caminho, Files.readAttributes(caminho, BasicFileAttributes.class));
+    }
+
+    private ArquivoLocal(Path caminho, BasicFileAttributes atributos) {
+        super(caminho.getFileName().toString(), atributos.size(), atributos.lastModifiedTime().toMillis());
+        this.caminho = caminho;
+    }
+
+    @Override
+    public InputStream abrir(long inicio, long fim) throws IOException {
+        FileChannel canal = FileChannel.open(caminho, StandardOpenOption.READ);
+        canal.position(inicio);
+        return ByteStreams.limit(Channels.newInputStream(canal), fim - inicio);
+    }
+
+    @Override
+    public Optional<Path> caminhoLocal() {
+        return Optional.of(caminho);
+    }
+}
@@ -0,0 +1,16 @@
+package br.edu.ufape.sguAuthService.servicos.armazenamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Upload já gravado e com hash calculado, esperando o commit para ser publicado. */
+@Getter
+@AllArgsConstructor
+public class ArquivoTemporario {
+    // Nome final, hash.extensão
+    private final String nome;
+    private final String hash;
+    private final long tamanho;
+    // Caminho ou chave do temporário, conforme o backend
+    private final String referencia;
+}
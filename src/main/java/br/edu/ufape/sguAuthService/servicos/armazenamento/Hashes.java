@@ -0,0 +1,34 @@
+package br.edu.ufape.sguAuthService.servicos.armazenamento;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class Hashes {
+
+    private Hashes() {
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** SHA-256 em hexadecimal do conteúdo do arquivo, no mesmo formato do nome hash.extensão. */
+    public static String sha256(Path arquivo) throws IOException {
+        MessageDigest sha256 = sha256();
+        try (InputStream entrada = new DigestInputStream(Files.newInputStream(arquivo), sha256)) {
+            entrada.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+}
@@ -0,0 +1,93 @@
+package br.edu.ufape.sguAuthService.servicos.armazenamento;
+
+import br.edu.ufape.sguAuthService.servicos.interfaces.BackendArmazenamento;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * Onde cada arquivo mora no diretório de upload. Os arquivos novos vão para subdiretórios formados pelo
+ * início do nome (hash ou UUID, ambos hexadecimais e uniformes): com 1 nível de 2 caracteres,
+ * 3fa9...e1.pdf fica em 3f/. Arquivos do layout plano antigo continuam sendo encontrados na raiz até a
+ * migração movê-los.
+ */
+@Component
+@ConditionalOnProperty(name = BackendArmazenamento.PROPRIEDADE, havingValue = "local", matchIfMissing = true)
+public class LayoutArmazenamento {
+    // Temporários ficam na raiz do diretório de upload para o move ser um rename no mesmo sistema de arquivos
+    public static final String PREFIXO_TEMPORARIO = ".upload-";
+
+    private final Path raiz;
+    private final int niveis;
+    private final int largura;
+
+    public LayoutArmazenamento(@Value("${arquivo.diretorio-upload}") String uploadDir,
+                               @Value("${arquivo.fragmentacao.niveis:1}") int niveis,
+                               @Value("${arquivo.fragmentacao.largura:2}") int largura) {
+        if (niveis < 0 || largura < 1) {
+            throw new IllegalArgumentException("Fragmentação inválida: niveis >= 0 e largura >= 1");
+        }
+        this.raiz = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.niveis = niveis;
+        this.largura = largura;
+    }
+
+    public Path raiz() {
+        return raiz;
+    }
+
+    /** Caminho no layout fragmentado, onde os arquivos novos são publicados. */
+    public Path caminho(String nome) {
+        Path diretorio = raiz;
+        if (fragmentavel(nome)) {
+            for (int nivel = 0; nivel < niveis; nivel++) {
+                diretorio = diretorio.resolve(nome.substring(nivel * largura, (nivel + 1) * largura).toLowerCase());
+            }
+        }
+        return dentroDaRaiz(diretorio.resolve(nome));
+    }
+
+    /** Caminho no layout plano antigo. */
+    public Path caminhoPlano(String nome) {
+        return dentroDaRaiz(raiz.resolve(nome));
+    }
+
+    /**
+     * Arquivo existente com esse nome, em qualquer dos dois layouts. O fragmentado é consultado de novo no
+     * fim porque a migração pode mover o arquivo entre as duas primeiras consultas.
+     */
+    public Optional<Path> localizar(String nome) {
+        Path fragmentado = caminho(nome);
+        if (Files.isRegularFile(fragmentado)) return Optional.of(fragmentado);
+        Path plano = caminhoPlano(nome);
+        if (Files.isRegularFile(plano)) return Optional.of(plano);
+        return Files.isRegularFile(fragmentado) ? Optional.of(fragmentado) : Optional.empty();
+    }
+
+    public boolean temporario(Path arquivo) {
+        return arquivo.getFileName().toString().startsWith(PREFIXO_TEMPORARIO);
+    }
+
+    private boolean fragmentavel(String nome) {
+        int prefixo = niveis * largura;
+        if (nome.length() <= prefixo) return false;
+        for (int i = 0; i < prefixo; i++) {
+            if (Character.digit(nome.charAt(i), 16) < 0) return false;
+        }
+        return true;
+    }
+
+    // Nunca resolve fora do diretório de upload
+    private Path dentroDaRaiz(Path caminho) {
+        Path normalizado = caminho.normalize();
+        if (!normalizado.startsWith(raiz) || normalizado.equals(raiz)) {
+            throw new IllegalArgumentException("Caminho de documento inválido");
+        }
+        return normalizado;
+    }
+}
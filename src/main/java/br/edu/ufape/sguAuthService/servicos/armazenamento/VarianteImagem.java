@@ -0,0 +1,56 @@
+package br.edu.ufape.sguAuthService.servicos.armazenamento;
+
+import org.apache.commons.io.FilenameUtils;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Versões reduzidas geradas para documentos JPEG/PNG, gravadas no mesmo backend ao lado do original com
+ * nome derivado dele: 3fa9...e1.png tem 3fa9...e1.png.revisao.jpg e 3fa9...e1.png.miniatura.jpg. Como o nome
+ * começa pelo hash do original, a variante cai no mesmo diretório do layout e dispensa coluna no banco.
+ */
+public enum VarianteImagem {
+    ORIGINAL(null),
+    // Tamanho de leitura na tela de análise da solicitação
+    REVISAO("revisao"),
+    MINIATURA("miniatura");
+
+    public static final String PADRAO = "revisao";
+    private static final String EXTENSAO = ".jpg";
+    private static final Set<String> EXTENSOES_IMAGEM = Set.of("jpg", "jpeg", "png");
+
+    private final String sufixo;
+
+    VarianteImagem(String sufixo) {
+        this.sufixo = sufixo;
+    }
+
+    public String nome(String original) {
+        return this == ORIGINAL ? original : original + "." + sufixo + EXTENSAO;
+    }
+
+    public static VarianteImagem de(String valor) {
+        for (VarianteImagem variante : values()) {
+            if (variante.name().equalsIgnoreCase(valor)) return variante;
+        }
+        throw new IllegalArgumentException("Variante de documento inválida: " + valor);
+    }
+
+    /** Se o arquivo tem variantes: só as imagens originais, nunca uma variante já gerada. */
+    public static boolean aplicavel(String nome) {
+        return original(nome).equals(nome) && EXTENSOES_IMAGEM.contains(FilenameUtils.getExtension(nome).toLowerCase(Locale.ROOT));
+    }
+
+    /** Nome do original de uma variante; para os demais arquivos, o próprio nome. */
+    public static String original(String nome) {
+        for (VarianteImagem variante : values()) {
+            if (variante.sufixo == null) continue;
+            String terminacao = "." + variante.sufixo + EXTENSAO;
+            if (nome.endsWith(terminacao) && nome.length() > terminacao.length()) {
+                return nome.substring(0, nome.length() - terminacao.length());
+            }
+        }
+        return nome;
+    }
+}
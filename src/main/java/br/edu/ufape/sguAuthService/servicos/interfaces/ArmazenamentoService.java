@@ -1,16 +1,32 @@
 package br.edu.ufape.sguAuthService.servicos.interfaces;
 
 import br.edu.ufape.sguAuthService.comunicacao.dto.documento.DocumentoResponse;
+import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.DocumentoNotFoundException;
 import br.edu.ufape.sguAuthService.models.Documento;
+import br.edu.ufape.sguAuthService.servicos.armazenamento.ArquivoArmazenado;
+import br.edu.ufape.sguAuthService.servicos.armazenamento.VarianteImagem;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface ArmazenamentoService {
     @Transactional
     List<Documento> salvarArquivo(MultipartFile[] arquivos);
 
-    List<DocumentoResponse> converterDocumentosParaBase64(List<Documento> documentos) throws IOException;
+    List<DocumentoResponse> descreverDocumentos(List<Documento> documentos) throws IOException;
+
+    /** A variante pedida quando o documento é imagem e ela já foi gerada; senão, o original. */
+    ArquivoArmazenado localizarArquivo(Documento documento, VarianteImagem variante) throws DocumentoNotFoundException, IOException;
+
+    List<ArquivoArmazenado> localizarArquivos(List<Documento> documentos) throws IOException;
+
+    /** Dos nomes de arquivo informados, os que ainda têm alguma linha de Documento apontando para eles. */
+    Set<String> nomesReferenciados(Collection<String> nomes);
+
+    /** Dos hashes de conteúdo informados, os que têm alguma linha de Documento, publicada ou não. */
+    Set<String> hashesReferenciados(Collection<String> hashes);
 }
@@ -0,0 +1,35 @@
+package br.edu.ufape.sguAuthService.servicos.interfaces;
+
+import br.edu.ufape.sguAuthService.servicos.armazenamento.ArquivoArmazenado;
+import br.edu.ufape.sguAuthService.servicos.armazenamento.ArquivoTemporario;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Onde os bytes dos documentos ficam. O ArmazenamentoService cuida de validação, concorrência e
+ * transação; o backend só grava, publica e lê arquivos endereçados por hash.extensão.
+ * Escolhido por arquivo.backend: local (padrão) ou s3.
+ */
+public interface BackendArmazenamento {
+    String PROPRIEDADE = "arquivo.backend";
+
+    /** Grava o conteúdo numa área temporária calculando o SHA-256; nada fica visível pelo nome final ainda. */
+    ArquivoTemporario gravarTemporario(InputStream conteudo, String extensao) throws IOException;
+
+    /**
+     * Publica cada temporário no nome final; se o conteúdo já existe, só descarta o temporário.
+     * Devolve os que falharam, com o temporário preservado para nova tentativa.
+     */
+    List<ArquivoTemporario> publicar(Collection<ArquivoTemporario> temporarios);
+
+    void descartar(Collection<ArquivoTemporario> temporarios);
+
+    Optional<ArquivoArmazenado> localizar(String nome) throws IOException;
+
+    /** Endereço gravado em Documento.path, só informativo: a leitura sempre resolve pelo nome. */
+    String endereco(String nome);
+}
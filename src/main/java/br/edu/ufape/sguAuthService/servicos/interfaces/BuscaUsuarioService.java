@@ -0,0 +1,16 @@
+package br.edu.ufape.sguAuthService.servicos.interfaces;
+
+import br.edu.ufape.sguAuthService.models.Usuario;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface BuscaUsuarioService {
+    void reconstruirIndice();
+
+    void indexar(Usuario usuario);
+
+    void remover(UUID id);
+
+    List<UUID> buscar(String termo, int limite);
+}
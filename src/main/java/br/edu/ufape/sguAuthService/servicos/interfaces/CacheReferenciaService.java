@@ -0,0 +1,18 @@
+package br.edu.ufape.sguAuthService.servicos.interfaces;
+
+import br.edu.ufape.sguAuthService.comunicacao.dto.cache.EstatisticaCacheResponse;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface CacheReferenciaService {
+    void registrarAlteracao(Class<?> entidade);
+
+    long buscarVersao(Class<?> entidade);
+
+    Instant buscarUltimaAlteracao(Class<?> entidade);
+
+    void invalidarLocalmente(String entidade);
+
+    List<EstatisticaCacheResponse> listarEstatisticas();
+}
@@ -41,4 +41,6 @@ public interface KeycloakServiceInterface {
     void removeUserFromGroup(String userId, String groupName);
 
     List<String> getUserRoles(String userId);
+
+    void warmUp();
 }
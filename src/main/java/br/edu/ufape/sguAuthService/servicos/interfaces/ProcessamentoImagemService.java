@@ -0,0 +1,14 @@
+package br.edu.ufape.sguAuthService.servicos.interfaces;
+
+import java.util.Collection;
+
+public interface ProcessamentoImagemService {
+    /**
+     * Agenda a geração das variantes das imagens já publicadas, em segundo plano e sem bloquear quem chama.
+     * Nomes que não são imagem são ignorados; com a fila cheia o pedido é descartado e refeito no próximo download.
+     */
+    void agendar(Collection<String> nomes);
+
+    /** Se a geração das variantes deste original falhou há pouco; enquanto for verdade ele não é reagendado. */
+    boolean falhou(String nome);
+}
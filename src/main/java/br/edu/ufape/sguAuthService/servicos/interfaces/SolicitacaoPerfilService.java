@@ -1,5 +1,6 @@
 package br.edu.ufape.sguAuthService.servicos.interfaces;
 
+import br.edu.ufape.sguAuthService.comunicacao.dto.solicitacaoPerfil.SolicitacaoPerfilExportacaoResponse;
 import br.edu.ufape.sguAuthService.exceptions.SolicitacaoDuplicadaException;
 import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.SolicitacaoNotFoundException;
 import br.edu.ufape.sguAuthService.models.Documento;
@@ -13,20 +14,30 @@ import org.springframework.transaction.annotation.Transactional;
 
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface SolicitacaoPerfilService {
     @Transactional
-    SolicitacaoPerfil solicitarPerfil(Perfil perfil, Usuario solicitante, List<Documento> documentos) throws SolicitacaoDuplicadaException;
+    SolicitacaoPerfil solicitarPerfil(Perfil perfil, Usuario solicitante, List<Documento> documentos, String chaveIdempotencia) throws SolicitacaoDuplicadaException;
+
+    void verificarSolicitacaoDuplicada(Usuario solicitante, String perfilSolicitado) throws SolicitacaoDuplicadaException;
+
+    Optional<SolicitacaoPerfil> buscarSolicitacaoPorChaveIdempotencia(UUID solicitanteId, String chaveIdempotencia);
 
     SolicitacaoPerfil buscarSolicitacao(Long id) throws SolicitacaoNotFoundException;
 
+    SolicitacaoPerfil buscarSolicitacaoComDocumentos(Long id) throws SolicitacaoNotFoundException;
+
     Page<SolicitacaoPerfil> buscarSolicitacoesUsuarioAtual(Predicate predicate, Pageable pageable);
 
     Page<SolicitacaoPerfil> buscarSolicitacoesPorId(UUID id, Predicate predicate, Pageable pageable);
 
     Page<SolicitacaoPerfil> listarSolicitacoes(Predicate predicate, Pageable pageable);
 
+    void exportarSolicitacoes(Predicate predicate, Consumer<SolicitacaoPerfilExportacaoResponse> consumidor);
+
     Page<SolicitacaoPerfil> listarSolicitacoesPendentes(Predicate predicate, Pageable pageable);
 
     @Transactional
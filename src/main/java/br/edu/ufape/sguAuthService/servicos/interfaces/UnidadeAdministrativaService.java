@@ -16,6 +16,8 @@ public interface UnidadeAdministrativaService {
 
     UnidadeAdministrativa buscarUnidadeAdministrativa(Long id) throws UnidadeAdministrativaNotFoundException;
 
+    UnidadeAdministrativa buscarUnidadeAdministrativaComMembros(Long id) throws UnidadeAdministrativaNotFoundException;
+
     List<UnidadeAdministrativa> listarUnidadesAdministrativas();
 
     List<UnidadeAdministrativa> montarArvore();
@@ -26,6 +28,20 @@ public interface UnidadeAdministrativaService {
 
     UnidadeAdministrativa editarUnidadeAdministrativa(UnidadeAdministrativa unidadeAdministrativa, Long id) throws UnidadeAdministrativaNotFoundException;
 
+    UnidadeAdministrativa moverUnidadeAdministrativa(Long id, Long novoPaiId) throws UnidadeAdministrativaNotFoundException;
+
+    List<UnidadeAdministrativa> listarSubarvore(Long id) throws UnidadeAdministrativaNotFoundException;
+
+    List<UnidadeAdministrativa> listarAncestrais(Long id) throws UnidadeAdministrativaNotFoundException;
+
+    long contarUnidadesDescendentes(Long id);
+
+    long contarFuncionariosNaSubarvore(Long id);
+
+    long contarGestoresNaSubarvore(Long id);
+
+    void reconstruirHierarquia();
+
     @Transactional
     GestorUnidade adicionarGestor(UnidadeAdministrativa unidade, GestorUnidade gestorUnidade);
 
@@ -42,4 +58,6 @@ public interface UnidadeAdministrativaService {
     Page<UnidadeAdministrativa> listarUnidadesPorGestor(Gestor gestor, Predicate predicate, Pageable pageable);
 
     Page<UnidadeAdministrativa> listarUnidadesPorFuncionario(Usuario usuario, Predicate predicate, Pageable pageable);
+
+    void reconstruirVinculos();
 }
@@ -1,5 +1,6 @@
 package br.edu.ufape.sguAuthService.servicos.interfaces;
 
+import br.edu.ufape.sguAuthService.comunicacao.dto.usuario.UsuarioExportacaoResponse;
 import br.edu.ufape.sguAuthService.exceptions.notFoundExceptions.UsuarioNotFoundException;
 import br.edu.ufape.sguAuthService.models.Usuario;
 import com.querydsl.core.types.Predicate;
@@ -8,6 +9,8 @@ import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public interface UsuarioService {
     Usuario salvar(Usuario usuario);
@@ -21,7 +24,11 @@ public interface UsuarioService {
 
     Page<Usuario> listarUsuarios(Predicate predicate, Pageable pageable);
 
+    void exportarUsuarios(Predicate predicate, Consumer<UsuarioExportacaoResponse> consumidor);
+
     void deletarUsuario(UUID sessionId) throws UsuarioNotFoundException;
 
     List<Usuario> buscarUsuariosPorIds(List<UUID> ids);
+
+    void percorrerUsuariosPorIds(List<UUID> ids, BiConsumer<UUID, Usuario> consumidor);
 }
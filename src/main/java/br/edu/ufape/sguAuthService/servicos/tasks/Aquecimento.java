@@ -0,0 +1,157 @@
+package br.edu.ufape.sguAuthService.servicos.tasks;
+
+import br.edu.ufape.sguAuthService.comunicacao.cache.ListagensReferencia;
+import br.edu.ufape.sguAuthService.fachada.Fachada;
+import br.edu.ufape.sguAuthService.servicos.interfaces.KeycloakServiceInterface;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import com.querydsl.core.BooleanBuilder;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Aquece a instância antes de ela receber tráfego: abre os pools do banco e do Keycloak, preenche o cache de
+ * JSON das listagens de referência e repete as leituras mais frequentes (planos de consulta do Hibernate e JIT).
+ * Roda no ApplicationStartedEvent, quando o readiness ainda recusa tráfego; a instância registra no Eureka
+ * como STARTING (eureka.instance.initial-status) e só é marcada UP no fim do ApplicationReadyEvent, depois
+ * dos outros listeners de prontidão (índice de busca de usuários). Falhas de uma etapa não impedem o UP.
+ */
+@Component
+public class Aquecimento {
+    private static final Logger log = LoggerFactory.getLogger(Aquecimento.class);
+    private static final Pageable PRIMEIRA_PAGINA = PageRequest.of(0, 20);
+
+    private final Fachada fachada;
+    private final ListagensReferencia listagensReferencia;
+    private final KeycloakServiceInterface keycloakService;
+    private final DataSource dataSource;
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger concluido = new AtomicInteger();
+
+    @Value("${aquecimento.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${aquecimento.iteracoes:50}")
+    private int iteracoes;
+
+    @Value("${aquecimento.tempo-maximo-segundos:30}")
+    private long tempoMaximoSegundos;
+
+    public Aquecimento(Fachada fachada, ListagensReferencia listagensReferencia, KeycloakServiceInterface keycloakService, DataSource dataSource,
+                       ObjectProvider<ApplicationInfoManager> applicationInfoManager, MeterRegistry meterRegistry) {
+        this.fachada = fachada;
+        this.listagensReferencia = listagensReferencia;
+        this.keycloakService = keycloakService;
+        this.dataSource = dataSource;
+        this.applicationInfoManager = applicationInfoManager;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("aquecimento.concluido", concluido, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void aquecer() {
+        long inicio = System.nanoTime();
+        String resultado;
+        if (habilitado) {
+            long prazo = inicio + TimeUnit.SECONDS.toNanos(tempoMaximoSegundos);
+            int falhas = 0;
+            falhas += etapa("banco", this::abrirConexoes);
+            falhas += etapa("keycloak", keycloakService::warmUp);
+            falhas += etapa("referencias", this::carregarReferencias);
+            falhas += etapa("leituras", () -> repetirLeituras(prazo));
+            resultado = falhas == 0 ? "sucesso" : "parcial";
+        } else {
+            resultado = "desabilitado";
+        }
+
+        long duracao = System.nanoTime() - inicio;
+        Timer.builder("aquecimento.duracao").tag("resultado", resultado).register(meterRegistry)
+                .record(duracao, TimeUnit.NANOSECONDS);
+        concluido.set(1);
+        log.info("Aquecimento {} em {} ms.", resultado, TimeUnit.NANOSECONDS.toMillis(duracao));
+    }
+
+    // Último listener do ApplicationReadyEvent: o índice de busca já foi montado quando o Eureka passa a rotear
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void marcarUp() {
+        applicationInfoManager.ifAvailable(manager -> manager.setInstanceStatus(InstanceInfo.InstanceStatus.UP));
+        log.info("Instância marcada UP.");
+    }
+
+    private int etapa(String nome, Runnable acao) {
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        try {
+            acao.run();
+            return 0;
+        } catch (RuntimeException e) {
+            Counter.builder("aquecimento.falhas").tag("etapa", nome).register(meterRegistry).increment();
+            log.warn("Etapa {} do aquecimento falhou: {}", nome, e.getMessage());
+            return 1;
+        } finally {
+            amostra.stop(Timer.builder("aquecimento.etapa").tag("etapa", nome).register(meterRegistry));
+        }
+    }
+
+    // Segura várias conexões ao mesmo tempo para o pool já abrir até o tamanho configurado
+    private void abrirConexoes() {
+        int quantidade = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 1;
+        List<Connection> conexoes = new ArrayList<>(quantidade);
+        try {
+            for (int i = 0; i < quantidade; i++) {
+                Connection conexao = dataSource.getConnection();
+                conexoes.add(conexao);
+                conexao.isValid(1);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            for (Connection conexao : conexoes) {
+                try {
+                    conexao.close();
+                } catch (SQLException e) {
+                    log.debug("Falha ao devolver conexão ao pool", e);
+                }
+            }
+        }
+    }
+
+    // Mesmas consultas e mapeamentos dos controllers, para as primeiras requisições saírem do cache de JSON
+    private void carregarReferencias() {
+        listagensReferencia.aquecer();
+        fachada.montarArvore();
+    }
+
+    private void repetirLeituras(long prazo) {
+        for (int i = 0; i < iteracoes && System.nanoTime() < prazo; i++) {
+            fachada.listarUsuarios(new BooleanBuilder(), PRIMEIRA_PAGINA);
+            fachada.listarSolicitacoesPendentes(new BooleanBuilder(), PRIMEIRA_PAGINA);
+            fachada.listarCursos(new BooleanBuilder(), PRIMEIRA_PAGINA);
+            fachada.listarTiposEtnia(new BooleanBuilder(), PRIMEIRA_PAGINA);
+        }
+    }
+}
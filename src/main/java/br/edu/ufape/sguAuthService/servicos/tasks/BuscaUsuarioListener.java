@@ -0,0 +1,49 @@
+package br.edu.ufape.sguAuthService.servicos.tasks;
+
+import br.edu.ufape.sguAuthService.models.Usuario;
+import br.edu.ufape.sguAuthService.servicos.interfaces.BuscaUsuarioService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Mantém o índice de busca em dia com as gravações de Usuario. O Hibernate cria o listener pelo contêiner do Spring.
+ * A atualização espera o commit para que um rollback não deixe no índice um usuário que não existe.
+ */
+@Component
+@RequiredArgsConstructor
+public class BuscaUsuarioListener {
+
+    private final BuscaUsuarioService buscaUsuarioService;
+
+    @PostPersist
+    @PostUpdate
+    public void aoGravar(Usuario usuario) {
+        aposCommit(() -> buscaUsuarioService.indexar(usuario));
+    }
+
+    @PostRemove
+    public void aoRemover(Usuario usuario) {
+        UUID id = usuario.getId();
+        aposCommit(() -> buscaUsuarioService.remover(id));
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
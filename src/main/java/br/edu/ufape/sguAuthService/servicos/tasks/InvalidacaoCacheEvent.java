@@ -0,0 +1,21 @@
+package br.edu.ufape.sguAuthService.servicos.tasks;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InvalidacaoCacheEvent implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    // Identifica esta instância para que ela ignore as próprias mensagens
+    public static final String ORIGEM_LOCAL = UUID.randomUUID().toString();
+    private String entidade;
+    private String origem;
+}
@@ -0,0 +1,21 @@
+package br.edu.ufape.sguAuthService.servicos.tasks;
+
+import br.edu.ufape.sguAuthService.servicos.interfaces.CacheReferenciaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cache.invalidacao-distribuida.habilitada", havingValue = "true")
+public class InvalidacaoCacheListener {
+
+    private final CacheReferenciaService cacheReferenciaService;
+
+    @RabbitListener(queues = "#{invalidacaoCacheQueue.name}")
+    public void handleInvalidacao(InvalidacaoCacheEvent event) {
+        if (InvalidacaoCacheEvent.ORIGEM_LOCAL.equals(event.getOrigem())) return;
+        cacheReferenciaService.invalidarLocalmente(event.getEntidade());
+    }
+}
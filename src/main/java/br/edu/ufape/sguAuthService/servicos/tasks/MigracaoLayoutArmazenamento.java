@@ -0,0 +1,100 @@
+package br.edu.ufape.sguAuthService.servicos.tasks;
+
+import br.edu.ufape.sguAuthService.servicos.armazenamento.LayoutArmazenamento;
+import br.edu.ufape.sguAuthService.servicos.interfaces.BackendArmazenamento;
+import com.google.common.util.concurrent.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Move, em segundo plano, os arquivos do layout plano antigo para os subdiretórios do layout fragmentado.
+ * O que ainda está na raiz do diretório de upload é exatamente o que falta migrar, então o job retoma
+ * sozinho depois de um restart e também pega arquivos gravados por réplicas antigas durante o deploy.
+ * Cada execução move no máximo um lote, limitado por arquivos por segundo, para não disputar disco com
+ * uploads e downloads nem segurar o agendador compartilhado.
+ */
+@Component
+@ConditionalOnProperty(name = BackendArmazenamento.PROPRIEDADE, havingValue = "local", matchIfMissing = true)
+public class MigracaoLayoutArmazenamento {
+    private static final Logger log = LoggerFactory.getLogger(MigracaoLayoutArmazenamento.class);
+
+    private final LayoutArmazenamento layout;
+    private final boolean habilitada;
+    private final int lote;
+    private final RateLimiter limite;
+
+    public MigracaoLayoutArmazenamento(LayoutArmazenamento layout,
+                                       @Value("${arquivo.fragmentacao.migracao.habilitada:true}") boolean habilitada,
+                                       @Value("${arquivo.fragmentacao.migracao.lote:500}") int lote,
+                                       @Value("${arquivo.fragmentacao.migracao.arquivos-por-segundo:50}") double arquivosPorSegundo) {
+        this.layout = layout;
+        this.habilitada = habilitada;
+        this.lote = lote;
+        this.limite = RateLimiter.create(arquivosPorSegundo);
+    }
+
+    @Scheduled(initialDelayString = "${arquivo.fragmentacao.migracao.atraso-inicial-ms:60000}",
+            fixedDelayString = "${arquivo.fragmentacao.migracao.intervalo-ms:30000}")
+    public void migrar() {
+        if (!habilitada) return;
+        try {
+            int movidos = migrarLote();
+            if (movidos > 0) {
+                log.info("Migração do layout de armazenamento: {} arquivos movidos para subdiretórios.", movidos);
+            }
+        } catch (IOException e) {
+            log.error("Falha ao listar {} para a migração do layout", layout.raiz(), e);
+        }
+    }
+
+    int migrarLote() throws IOException {
+        int movidos = 0;
+        int tentativas = 0;
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(layout.raiz(),
+                arquivo -> Files.isRegularFile(arquivo) && !layout.temporario(arquivo))) {
+            for (Path arquivo : arquivos) {
+                Path destino = layout.caminho(arquivo.getFileName().toString());
+                if (destino.equals(arquivo)) continue; // nome que não fragmenta: fica na raiz
+                if (tentativas++ >= lote) break;
+                limite.acquire();
+                if (mover(arquivo, destino)) movidos++;
+            }
+        }
+        return movidos;
+    }
+
+    private boolean mover(Path origem, Path destino) {
+        try {
+            // rename(2) substituiria o destino em silêncio, então o conflito é checado antes
+            if (Files.exists(destino)) {
+                return resolverDuplicado(origem, destino);
+            }
+            Files.createDirectories(destino.getParent());
+            Files.move(origem, destino, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            log.warn("Não foi possível mover {} para {}", origem, destino, e);
+            return false;
+        }
+    }
+
+    // Um upload novo pode ter publicado o mesmo hash no layout novo antes da migração chegar ao antigo
+    private boolean resolverDuplicado(Path origem, Path destino) throws IOException {
+        if (Files.size(origem) == Files.size(destino)) {
+            Files.delete(origem);
+            return true;
+        }
+        log.warn("{} e {} têm o mesmo nome e tamanhos diferentes; mantidos os dois", origem, destino);
+        return false;
+    }
+}
@@ -0,0 +1,182 @@
+package br.edu.ufape.sguAuthService.servicos.tasks;
+
+import br.edu.ufape.sguAuthService.servicos.armazenamento.Hashes;
+import br.edu.ufape.sguAuthService.servicos.armazenamento.LayoutArmazenamento;
+import br.edu.ufape.sguAuthService.servicos.armazenamento.VarianteImagem;
+import br.edu.ufape.sguAuthService.servicos.interfaces.ArmazenamentoService;
+import br.edu.ufape.sguAuthService.servicos.interfaces.BackendArmazenamento;
+import com.google.common.util.concurrent.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Remove do diretório de upload os arquivos que nenhuma linha de Documento referencia: sobras de
+ * solicitações cuja transação falhou depois da gravação e temporários de uploads interrompidos. Um temporário
+ * cujo conteúdo tem Documento é de uma publicação que falhou depois do commit e fica onde está.
+ * Percorre a árvore sem montar a listagem em memória, confere os nomes em lotes com uma consulta IN e
+ * só mexe em arquivos mais antigos que a carência. Por padrão os órfãos vão para quarentena
+ * (.quarentena/ na raiz) em vez de serem apagados; temporários vão sempre para quarentena, já que não há
+ * nome para conferir e o conteúdo pode ser a única cópia de um documento.
+ */
+@Component
+@ConditionalOnProperty(name = BackendArmazenamento.PROPRIEDADE, havingValue = "local", matchIfMissing = true)
+public class ReconciliacaoArquivosOrfaos {
+    private static final Logger log = LoggerFactory.getLogger(ReconciliacaoArquivosOrfaos.class);
+    static final String DIRETORIO_QUARENTENA = ".quarentena";
+    static final String ACAO_APAGAR = "apagar";
+
+    private final LayoutArmazenamento layout;
+    private final ArmazenamentoService armazenamentoService;
+    private final boolean habilitada;
+    private final boolean apagar;
+    private final Duration carencia;
+    private final int lote;
+    private final RateLimiter limite;
+    private final Clock relogio;
+
+    public ReconciliacaoArquivosOrfaos(LayoutArmazenamento layout, ArmazenamentoService armazenamentoService,
+                                       @Value("${arquivo.orfaos.habilitada:true}") boolean habilitada,
+                                       @Value("${arquivo.orfaos.acao:quarentena}") String acao,
+                                       @Value("${arquivo.orfaos.carencia:24h}") Duration carencia,
+                                       @Value("${arquivo.orfaos.lote:500}") int lote,
+                                       @Value("${arquivo.orfaos.arquivos-por-segundo:200}") double arquivosPorSegundo) {
+        this(layout, armazenamentoService, habilitada, ACAO_APAGAR.equalsIgnoreCase(acao), carencia, lote, arquivosPorSegundo, Clock.systemUTC());
+    }
+
+    ReconciliacaoArquivosOrfaos(LayoutArmazenamento layout, ArmazenamentoService armazenamentoService, boolean habilitada,
+                                boolean apagar, Duration carencia, int lote, double arquivosPorSegundo, Clock relogio) {
+        this.layout = layout;
+        this.armazenamentoService = armazenamentoService;
+        this.habilitada = habilitada;
+        this.apagar = apagar;
+        this.carencia = carencia;
+        this.lote = lote;
+        this.limite = RateLimiter.create(arquivosPorSegundo);
+        this.relogio = relogio;
+    }
+
+    @Scheduled(initialDelayString = "${arquivo.orfaos.atraso-inicial-ms:300000}",
+            fixedDelayString = "${arquivo.orfaos.intervalo-ms:21600000}")
+    public void reconciliar() {
+        if (!habilitada) return;
+        try {
+            int removidos = reconciliarDiretorio();
+            log.info("Reconciliação de arquivos: {} órfãos {}.", removidos, apagar ? "apagados" : "em quarentena");
+        } catch (IOException e) {
+            log.error("Falha ao percorrer {} na reconciliação de arquivos", layout.raiz(), e);
+        }
+    }
+
+    int reconciliarDiretorio() throws IOException {
+        Instant limiteCarencia = relogio.instant().minus(carencia);
+        // caminho -> nome dos candidatos do lote atual; o mesmo nome pode existir nos dois layouts
+        Map<Path, String> candidatos = new LinkedHashMap<>();
+        int[] removidos = {0};
+
+        Files.walkFileTree(layout.raiz(), new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path diretorio, BasicFileAttributes atributos) {
+                // Quarentena e outros diretórios ocultos ficam fora
+                boolean oculto = !diretorio.equals(layout.raiz()) && diretorio.getFileName().toString().startsWith(".");
+                return oculto ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path arquivo, BasicFileAttributes atributos) {
+                limite.acquire();
+                if (!atributos.isRegularFile() || atributos.lastModifiedTime().toInstant().isAfter(limiteCarencia)) {
+                    return FileVisitResult.CONTINUE;
+                }
+                if (layout.temporario(arquivo)) {
+                    if (!publicacaoPendente(arquivo) && remover(arquivo, limiteCarencia, false)) removidos[0]++;
+                    return FileVisitResult.CONTINUE;
+                }
+                // Variantes de imagem valem pelo original: ficam enquanto ele for referenciado
+                candidatos.put(arquivo, VarianteImagem.original(arquivo.getFileName().toString()));
+                if (candidatos.size() >= lote) {
+                    removidos[0] += conferirLote(candidatos, limiteCarencia);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path arquivo, IOException e) {
+                // Arquivo movido ou apagado durante a varredura (migração, outra réplica)
+                if (!(e instanceof NoSuchFileException)) {
+                    log.warn("Não foi possível ler {} na reconciliação", arquivo, e);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        removidos[0] += conferirLote(candidatos, limiteCarencia);
+        return removidos[0];
+    }
+
+    private int conferirLote(Map<Path, String> candidatos, Instant limiteCarencia) {
+        if (candidatos.isEmpty()) return 0;
+        Set<String> referenciados = armazenamentoService.nomesReferenciados(Set.copyOf(candidatos.values()));
+        int removidos = 0;
+        for (Map.Entry<Path, String> candidato : candidatos.entrySet()) {
+            if (!referenciados.contains(candidato.getValue()) && remover(candidato.getKey(), limiteCarencia, apagar)) {
+                removidos++;
+            }
+        }
+        candidatos.clear();
+        return removidos;
+    }
+
+    // O nome do temporário não traz o hash; só os que passaram da carência são lidos, e eles são raros
+    private boolean publicacaoPendente(Path temporario) {
+        try {
+            String hash = Hashes.sha256(temporario);
+            if (armazenamentoService.hashesReferenciados(Set.of(hash)).isEmpty()) return false;
+            log.warn("Temporário {} é de um documento gravado e não publicado (hash {}); mantido", temporario, hash);
+            return true;
+        } catch (NoSuchFileException e) {
+            return true;
+        } catch (IOException e) {
+            log.warn("Não foi possível ler o temporário {} na reconciliação", temporario, e);
+            return true;
+        }
+    }
+
+    private boolean remover(Path arquivo, Instant limiteCarencia, boolean apagar) {
+        try {
+            // Um upload que reaproveitou o arquivo renova a data logo depois do commit; confere de novo
+            if (Files.getLastModifiedTime(arquivo).toInstant().isAfter(limiteCarencia)) return false;
+            if (apagar) {
+                Files.delete(arquivo);
+            } else {
+                Path destino = layout.raiz().resolve(DIRETORIO_QUARENTENA).resolve(layout.raiz().relativize(arquivo));
+                Files.createDirectories(destino.getParent());
+                Files.move(arquivo, destino, StandardCopyOption.REPLACE_EXISTING);
+            }
+            log.debug("Arquivo órfão {} {}", arquivo, apagar ? "apagado" : "movido para quarentena");
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            log.warn("Não foi possível remover o arquivo órfão {}", arquivo, e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+-- Mesmos índices da versão PostgreSQL; o H2 não suporta índices parciais, então eles viram índices na coluna filtrada.
+
+CREATE INDEX IF NOT EXISTS idx_solicitacao_perfil_solicitante_status ON solicitacao_perfil (solicitante_id, status);
+
+CREATE INDEX IF NOT EXISTS idx_solicitacao_perfil_pendente ON solicitacao_perfil (status, id);
+
+CREATE INDEX IF NOT EXISTS idx_perfil_usuario ON perfil (usuario_id);
+
+CREATE INDEX IF NOT EXISTS idx_ua_funcionarios_funcionario ON ua_funcionarios (funcionario_id);
+
+CREATE INDEX IF NOT EXISTS idx_gestor_unidade_unidade ON gestor_unidade (unidade_administrativa_id);
+CREATE INDEX IF NOT EXISTS idx_gestor_unidade_gestor ON gestor_unidade (gestor_id);
+
+CREATE INDEX IF NOT EXISTS idx_usuario_ativo ON usuario (ativo, id);
@@ -0,0 +1,3 @@
+-- O H2 não tem índice parcial: a unicidade de solicitações ativas fica só na checagem do serviço.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_solicitacao_perfil_idempotencia
+    ON solicitacao_perfil (solicitante_id, chave_idempotencia);
@@ -0,0 +1,2 @@
+-- Temporários que falharam ao publicar são reconhecidos pelo hash do conteúdo na reconciliação de órfãos
+CREATE INDEX IF NOT EXISTS idx_documento_hash ON documento (hash);
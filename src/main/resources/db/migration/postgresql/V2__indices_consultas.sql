@@ -0,0 +1,20 @@
+-- Índices derivados dos filtros fixos e dos bindings QueryDSL expostos pelos controllers.
+
+-- Solicitações do usuário (buscarSolicitacoesUsuarioAtual, /{id}/usuario e a checagem de duplicidade por status)
+CREATE INDEX IF NOT EXISTS idx_solicitacao_perfil_solicitante_status ON solicitacao_perfil (solicitante_id, status);
+
+-- Fila de pendentes do administrador, paginada por id. status é ORDINAL: 0 = PENDENTE
+CREATE INDEX IF NOT EXISTS idx_solicitacao_perfil_pendente ON solicitacao_perfil (id) WHERE status = 0;
+
+-- Perfis de um usuário (Usuario.perfis e buscas por usuario_id nos repositórios de perfil)
+CREATE INDEX IF NOT EXISTS idx_perfil_usuario ON perfil (usuario_id);
+
+-- A PK de ua_funcionarios começa por ua_id; o caminho funcionário -> unidades precisa do inverso
+CREATE INDEX IF NOT EXISTS idx_ua_funcionarios_funcionario ON ua_funcionarios (funcionario_id);
+
+-- Gestores de uma unidade e unidades de um gestor
+CREATE INDEX IF NOT EXISTS idx_gestor_unidade_unidade ON gestor_unidade (unidade_administrativa_id);
+CREATE INDEX IF NOT EXISTS idx_gestor_unidade_gestor ON gestor_unidade (gestor_id);
+
+-- Listagens de usuários sempre filtram ativo = true e ordenam por id
+CREATE INDEX IF NOT EXISTS idx_usuario_ativo ON usuario (id) WHERE ativo = true;
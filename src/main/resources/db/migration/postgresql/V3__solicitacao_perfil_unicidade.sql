@@ -0,0 +1,44 @@
+-- A corrida que o índice abaixo fecha pode já ter deixado duplicatas ativas para o mesmo usuário e perfil.
+-- Pendentes repetidas são rejeitadas, mantendo a aprovada (se houver) ou a pendente mais antiga.
+UPDATE solicitacao_perfil s
+SET status = 2,
+    data_avaliacao = now(),
+    parecer = 'Rejeitada automaticamente: solicitação duplicada do mesmo perfil'
+FROM (
+    SELECT id,
+           row_number() OVER (PARTITION BY solicitante_id, perfil_solicitado
+                              ORDER BY status DESC, data_solicitacao, id) AS ordem
+    FROM solicitacao_perfil
+    WHERE status IN (0, 1)
+) ativas
+WHERE s.id = ativas.id
+  AND ativas.ordem > 1
+  AND s.status = 0;
+
+-- Duas aprovadas já concederam o perfil; não dá para decidir automaticamente qual desfazer
+DO $$
+DECLARE
+    duplicadas text;
+BEGIN
+    SELECT string_agg(solicitante_id || '/' || perfil_solicitado, ', ')
+    INTO duplicadas
+    FROM (
+        SELECT solicitante_id, perfil_solicitado
+        FROM solicitacao_perfil
+        WHERE status = 1
+        GROUP BY solicitante_id, perfil_solicitado
+        HAVING count(*) > 1
+    ) repetidas;
+    IF duplicadas IS NOT NULL THEN
+        RAISE EXCEPTION 'Solicitações APROVADAS duplicadas (solicitante/perfil): %. Rejeite as excedentes manualmente antes de migrar.', duplicadas;
+    END IF;
+END $$;
+
+-- No máximo uma solicitação PENDENTE (0) ou APROVADA (1) por usuário e perfil.
+-- Fecha a corrida entre dois envios simultâneos que passam juntos pela checagem exists do serviço.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_solicitacao_perfil_ativa
+    ON solicitacao_perfil (solicitante_id, perfil_solicitado) WHERE status IN (0, 1);
+
+-- Idempotency-Key é única por solicitante; chaves nulas não conflitam
+CREATE UNIQUE INDEX IF NOT EXISTS uk_solicitacao_perfil_idempotencia
+    ON solicitacao_perfil (solicitante_id, chave_idempotencia);
@@ -0,0 +1,2 @@
+-- Arquivos endereçados por conteúdo: vários documentos podem apontar para o mesmo nome (hash.extensão)
+CREATE INDEX IF NOT EXISTS idx_documento_nome ON documento (nome);
@@ -0,0 +1,88 @@
+package br.edu.ufape.sguAuthService.comunicacao.admissao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AdmissaoUploadFilterTest {
+	private final SimpleMeterRegistry metricas = new SimpleMeterRegistry();
+
+	@AfterEach
+	void limpar() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void recusaCom503QuandoOUsuarioJaEstaNoLimite() throws Exception {
+		AdmissaoUploadFilter filtro = filtro(4, 1, Duration.ofMillis(50));
+		filtro.admitir("ana", 100);
+		autenticar("ana");
+		MockHttpServletResponse resposta = new MockHttpServletResponse();
+		MockFilterChain cadeia = new MockFilterChain();
+
+		filtro.doFilter(upload("/solicitacao/aluno"), resposta, cadeia);
+
+		assertEquals(503, resposta.getStatus());
+		assertEquals("5", resposta.getHeader("Retry-After"));
+		assertNull(cadeia.getRequest());
+		assertEquals(1.0, metricas.get("upload.admissao.rejeitados").tag("limite", "usuario").counter().count());
+	}
+
+	@Test
+	void esperaNaFilaAteUmaVagaGlobalSeLiberar() throws Exception {
+		AdmissaoUploadFilter filtro = filtro(1, 2, Duration.ofSeconds(5));
+		filtro.admitir("bia", 100);
+		CompletableFuture.runAsync(() -> filtro.liberar("bia", 100), CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+		autenticar("ana");
+		MockHttpServletResponse resposta = new MockHttpServletResponse();
+		MockFilterChain cadeia = new MockFilterChain();
+
+		filtro.doFilter(upload("/solicitacao/professor"), resposta, cadeia);
+
+		assertEquals(200, resposta.getStatus());
+		assertNotNull(cadeia.getRequest());
+		assertEquals(0.0, metricas.get("upload.admissao.concorrentes").gauge().value());
+		assertEquals(0.0, metricas.get("upload.admissao.bytes").gauge().value());
+	}
+
+	@Test
+	void naoControlaOutrasRotas() throws Exception {
+		AdmissaoUploadFilter filtro = filtro(0, 0, Duration.ZERO);
+		MockFilterChain cadeia = new MockFilterChain();
+
+		filtro.doFilter(upload("/solicitacao/1/aprovar"), new MockHttpServletResponse(), cadeia);
+
+		assertNotNull(cadeia.getRequest());
+	}
+
+	private AdmissaoUploadFilter filtro(int concorrentes, int concorrentesPorUsuario, Duration espera) {
+		return new AdmissaoUploadFilter(new ObjectMapper(), metricas, concorrentes, DataSize.ofMegabytes(1),
+				concorrentesPorUsuario, DataSize.ofMegabytes(1), DataSize.ofMegabytes(1), 4, espera, Duration.ofSeconds(5));
+	}
+
+	private static MockHttpServletRequest upload(String rota) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", rota);
+		request.setContentType("multipart/form-data; boundary=limite");
+		request.setContent(new byte[100]);
+		return request;
+	}
+
+	private static void autenticar(String usuario) {
+		SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(usuario, null, "ROLE_ALUNO"));
+	}
+}
@@ -0,0 +1,150 @@
+package br.edu.ufape.sguAuthService.comunicacao.download;
+
+import br.edu.ufape.sguAuthService.servicos.armazenamento.ArquivoLocal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DownloadUtilsTest {
+	private static final int TAMANHO = 100 * 1024;
+
+	@TempDir
+	Path diretorio;
+
+	private Path arquivo;
+	private byte[] conteudo;
+
+	@BeforeEach
+	void criarArquivo() throws Exception {
+		conteudo = new byte[TAMANHO];
+		for (int i = 0; i < TAMANHO; i++) conteudo[i] = (byte) i;
+		arquivo = Files.write(diretorio.resolve("documento.pdf"), conteudo);
+	}
+
+	@Test
+	void entregaArquivoInteiroComCabecalhos() throws Exception {
+		MockHttpServletResponse response = baixar(new MockHttpServletRequest("GET", "/"));
+
+		assertEquals(200, response.getStatus());
+		assertEquals(TAMANHO, response.getContentLengthLong());
+		assertEquals("application/pdf", response.getContentType());
+		assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+		assertArrayEquals(conteudo, response.getContentAsByteArray());
+	}
+
+	@Test
+	void entregaSoOIntervaloPedido() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.addHeader(HttpHeaders.RANGE, "bytes=1000-1999");
+		MockHttpServletResponse response = baixar(request);
+
+		assertEquals(206, response.getStatus());
+		assertEquals("bytes 1000-1999/" + TAMANHO, response.getHeader(HttpHeaders.CONTENT_RANGE));
+		assertArrayEquals(Arrays.copyOfRange(conteudo, 1000, 2000), response.getContentAsByteArray());
+	}
+
+	@Test
+	void recusaIntervaloForaDoArquivo() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.addHeader(HttpHeaders.RANGE, "bytes=" + TAMANHO + "-");
+		MockHttpServletResponse response = baixar(request);
+
+		assertEquals(416, response.getStatus());
+		assertEquals("bytes */" + TAMANHO, response.getHeader(HttpHeaders.CONTENT_RANGE));
+	}
+
+	@Test
+	void respondeNaoModificadoQuandoEtagConfere() throws Exception {
+		String etag = baixar(new MockHttpServletRequest("GET", "/")).getHeader(HttpHeaders.ETAG);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+		MockHttpServletResponse response = baixar(request);
+
+		assertEquals(304, response.getStatus());
+		assertEquals(0, response.getContentAsByteArray().length);
+	}
+
+	@Test
+	void etagDeArquivoPorConteudoNaoMudaQuandoADataERenovada() throws Exception {
+		String hash = "3fa9".repeat(16);
+		Path porConteudo = Files.write(diretorio.resolve(hash + ".pdf"), conteudo);
+		MockHttpServletResponse primeira = new MockHttpServletResponse();
+		DownloadUtils.entregar(new ArquivoLocal(porConteudo), new MockHttpServletRequest("GET", "/"), primeira);
+
+		// Reenvio do mesmo conteúdo renova a data do arquivo
+		Files.setLastModifiedTime(porConteudo, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, primeira.getHeader(HttpHeaders.ETAG));
+		MockHttpServletResponse segunda = new MockHttpServletResponse();
+		DownloadUtils.entregar(new ArquivoLocal(porConteudo), request, segunda);
+
+		assertEquals("\"" + hash + "\"", primeira.getHeader(HttpHeaders.ETAG));
+		assertEquals(304, segunda.getStatus());
+	}
+
+	@Test
+	void delegaAoSendfileQuandoOContainerSuporta() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.setAttribute(DownloadUtils.SENDFILE_SUPORTADO, Boolean.TRUE);
+		MockHttpServletResponse response = baixar(request);
+
+		assertEquals(arquivo.toAbsolutePath().toString(), request.getAttribute(DownloadUtils.SENDFILE_ARQUIVO));
+		assertEquals((long) TAMANHO, request.getAttribute(DownloadUtils.SENDFILE_FIM));
+		assertEquals(0, response.getContentAsByteArray().length);
+		assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+	}
+
+	@Test
+	void zipGuardaPdfSemComprimirEDeflateNoResto() throws Exception {
+		Path texto = Files.writeString(diretorio.resolve("observacoes.txt"), "a".repeat(10_000));
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		DownloadUtils.zip("documentos", List.of(new ArquivoLocal(arquivo), new ArquivoLocal(texto))).getBody().writeTo(saida);
+
+		try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(saida.toByteArray()))) {
+			ZipEntry pdf = zip.getNextEntry();
+			assertEquals("documento.pdf", pdf.getName());
+			assertEquals(ZipEntry.STORED, pdf.getMethod());
+			assertArrayEquals(conteudo, zip.readAllBytes());
+
+			ZipEntry txt = zip.getNextEntry();
+			assertEquals(ZipEntry.DEFLATED, txt.getMethod());
+			assertEquals(10_000, zip.readAllBytes().length);
+			assertNull(zip.getNextEntry());
+		}
+	}
+
+	@Test
+	void zipIncluiUmaVezSoOMesmoArquivoEmDoisDocumentos() throws Exception {
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		DownloadUtils.zip("documentos", List.of(new ArquivoLocal(arquivo), new ArquivoLocal(arquivo))).getBody().writeTo(saida);
+
+		try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(saida.toByteArray()))) {
+			assertEquals("documento.pdf", zip.getNextEntry().getName());
+			assertArrayEquals(conteudo, zip.readAllBytes());
+			assertNull(zip.getNextEntry());
+		}
+	}
+
+	private MockHttpServletResponse baixar(MockHttpServletRequest request) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		DownloadUtils.entregar(new ArquivoLocal(arquivo), request, response);
+		return response;
+	}
+}
@@ -0,0 +1,114 @@
+package br.edu.ufape.sguAuthService.comunicacao.dto;
+
+import br.edu.ufape.sguAuthService.comunicacao.dto.unidadeAdministrativa.UnidadeAdministrativaResponse;
+import br.edu.ufape.sguAuthService.comunicacao.dto.usuario.UsuarioResponse;
+import br.edu.ufape.sguAuthService.models.TipoEtnia;
+import br.edu.ufape.sguAuthService.models.TipoUnidadeAdministrativa;
+import br.edu.ufape.sguAuthService.models.UnidadeAdministrativa;
+import br.edu.ufape.sguAuthService.models.Usuario;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara os construtores das respostas com o ModelMapper configurado como o bean que existia antes
+ * (skipNull, instância compartilhada e já aquecida), nos dois formatos mais pesados: uma página de usuários
+ * e a árvore de unidades. Não roda no surefire; execute o main a partir da IDE ou do classpath de teste.
+ * Com "-prof gc" nos argumentos do JMH o relatório mostra também bytes alocados por operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapeamentoBenchmark {
+	private static final int TAMANHO_PAGINA = 50;
+
+	private final ModelMapper modelMapper = new ModelMapper();
+	private List<Usuario> pagina;
+	private List<UnidadeAdministrativa> arvore;
+
+	@Setup
+	public void preparar() {
+		modelMapper.getConfiguration().setSkipNullEnabled(true);
+
+		TipoEtnia etnia = new TipoEtnia(1L, "Parda");
+		pagina = new ArrayList<>(TAMANHO_PAGINA);
+		for (int i = 0; i < TAMANHO_PAGINA; i++) {
+			Usuario usuario = new Usuario();
+			usuario.setId(UUID.randomUUID());
+			usuario.setNome("Usuário " + i);
+			usuario.setCpf(String.format("%011d", i));
+			usuario.setEmail("usuario" + i + "@ufape.edu.br");
+			usuario.setTelefone("87999990000");
+			usuario.setTipoEtnia(etnia);
+			pagina.add(usuario);
+		}
+
+		TipoUnidadeAdministrativa tipo = new TipoUnidadeAdministrativa(1L, "Departamento");
+		UnidadeAdministrativa raiz = unidade(1L, "REIT", tipo);
+		long id = 2;
+		for (int i = 0; i < 10; i++) {
+			UnidadeAdministrativa centro = unidade(id++, "REIT.C" + i, tipo);
+			raiz.getUnidadesFilhas().add(centro);
+			for (int j = 0; j < 10; j++) {
+				centro.getUnidadesFilhas().add(unidade(id++, "REIT.C" + i + ".D" + j, tipo));
+			}
+		}
+		arvore = List.of(raiz);
+	}
+
+	@Benchmark
+	public List<UsuarioResponse> usuariosManual() {
+		return pagina.stream().map(UsuarioResponse::new).toList();
+	}
+
+	@Benchmark
+	public List<UsuarioResponse> usuariosModelMapper() {
+		return pagina.stream().map(usuario -> {
+			UsuarioResponse resposta = new UsuarioResponse();
+			modelMapper.map(usuario, resposta);
+			return resposta;
+		}).toList();
+	}
+
+	@Benchmark
+	public List<UnidadeAdministrativaResponse> arvoreManual() {
+		return arvore.stream().map(UnidadeAdministrativaResponse::new).toList();
+	}
+
+	@Benchmark
+	public List<UnidadeAdministrativaResponse> arvoreModelMapper() {
+		return arvore.stream().map(unidade -> modelMapper.map(unidade, UnidadeAdministrativaResponse.class)).toList();
+	}
+
+	private static UnidadeAdministrativa unidade(Long id, String codigo, TipoUnidadeAdministrativa tipo) {
+		UnidadeAdministrativa unidade = new UnidadeAdministrativa();
+		unidade.setId(id);
+		unidade.setNome("Unidade " + codigo);
+		unidade.setCodigo(codigo);
+		unidade.setTipoUnidadeAdministrativa(tipo);
+		return unidade;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(MapeamentoBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,25 @@
+package br.edu.ufape.sguAuthService.comunicacao.exportacao;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExportacaoUtilsTest {
+
+	@Test
+	void valoresComunsSaemSemAspas() {
+		assertEquals("Maria", ExportacaoUtils.escaparCsv("Maria"));
+		assertEquals("\"Silva, Maria\"", ExportacaoUtils.escaparCsv("Silva, Maria"));
+		assertEquals("", ExportacaoUtils.escaparCsv(null));
+	}
+
+	@Test
+	void valoresQueParecemFormulaSaemComoTexto() {
+		assertEquals("\"'=HYPERLINK(\"\"http://x\"\")\"", ExportacaoUtils.escaparCsv("=HYPERLINK(\"http://x\")"));
+		assertEquals("\"'+1\"", ExportacaoUtils.escaparCsv("+1"));
+		assertEquals("\"'-2+3\"", ExportacaoUtils.escaparCsv("-2+3"));
+		assertEquals("\"'@SUM(A1)\"", ExportacaoUtils.escaparCsv("@SUM(A1)"));
+		assertEquals("\"'\tx\"", ExportacaoUtils.escaparCsv("\tx"));
+		assertEquals("\"'\rx\"", ExportacaoUtils.escaparCsv("\rx"));
+	}
+}
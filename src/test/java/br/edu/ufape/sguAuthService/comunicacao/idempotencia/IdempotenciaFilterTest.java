@@ -0,0 +1,123 @@
+package br.edu.ufape.sguAuthService.comunicacao.idempotencia;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotenciaFilterTest {
+	private final IdempotenciaFilter filtro = new IdempotenciaFilter(new ObjectMapper(), 100, 1, 1);
+
+	@AfterEach
+	void limpar() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void cadastrosAnonimosComAMesmaChaveNaoSeMisturam() throws Exception {
+		anonimo();
+		MockFilterChain primeira = new MockFilterChain();
+		filtro.doFilter(cadastro("{\"email\":\"ana@ufape.edu.br\"}"), new MockHttpServletResponse(), primeira);
+
+		anonimo();
+		MockFilterChain segunda = new MockFilterChain();
+		MockHttpServletResponse resposta = new MockHttpServletResponse();
+		filtro.doFilter(cadastro("{\"email\":\"bia@ufape.edu.br\"}"), resposta, segunda);
+
+		assertNotNull(primeira.getRequest());
+		assertNotNull(segunda.getRequest());
+		assertEquals(200, resposta.getStatus());
+	}
+
+	@Test
+	void repeticaoAnonimaDoMesmoConteudoRecebeARespostaGravada() throws Exception {
+		anonimo();
+		filtro.doFilter(cadastro("{\"email\":\"ana@ufape.edu.br\"}"), new MockHttpServletResponse(), new MockFilterChain());
+
+		MockFilterChain repeticao = new MockFilterChain();
+		MockHttpServletResponse resposta = new MockHttpServletResponse();
+		filtro.doFilter(cadastro("{\"email\":\"ana@ufape.edu.br\"}"), resposta, repeticao);
+
+		assertNull(repeticao.getRequest());
+		assertEquals("true", resposta.getHeader(IdempotenciaFilter.IDEMPOTENT_REPLAYED));
+	}
+
+	@Test
+	void acoesAdministrativasNaoSaoReproduzidas() throws Exception {
+		anonimo();
+		filtro.doFilter(aprovacao(), new MockHttpServletResponse(), new MockFilterChain());
+
+		MockFilterChain repeticao = new MockFilterChain();
+		MockHttpServletResponse resposta = new MockHttpServletResponse();
+		filtro.doFilter(aprovacao(), resposta, repeticao);
+
+		assertNotNull(repeticao.getRequest());
+		assertNull(resposta.getHeader(IdempotenciaFilter.IDEMPOTENT_REPLAYED));
+	}
+
+	@Test
+	void corpoRelidoAceitaLeituraAssincrona() throws Exception {
+		anonimo();
+		MockFilterChain cadeia = new MockFilterChain();
+		filtro.doFilter(cadastro("{\"email\":\"ana@ufape.edu.br\"}"), new MockHttpServletResponse(), cadeia);
+
+		ServletInputStream entrada = cadeia.getRequest().getInputStream();
+		ByteArrayOutputStream lido = new ByteArrayOutputStream();
+		AtomicBoolean terminou = new AtomicBoolean();
+		entrada.setReadListener(new ReadListener() {
+			@Override
+			public void onDataAvailable() throws IOException {
+				while (entrada.isReady() && !entrada.isFinished()) lido.write(entrada.read());
+			}
+
+			@Override
+			public void onAllDataRead() {
+				terminou.set(true);
+			}
+
+			@Override
+			public void onError(Throwable t) {
+			}
+		});
+
+		assertEquals("{\"email\":\"ana@ufape.edu.br\"}", lido.toString());
+		assertTrue(terminou.get());
+	}
+
+	private static MockHttpServletRequest aprovacao() {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/solicitacao/1/aprovar");
+		request.addHeader(IdempotenciaFilter.IDEMPOTENCY_KEY, "chave-1");
+		request.setContentType("application/json");
+		request.setContent("{\"parecer\":\"ok\"}".getBytes());
+		return request;
+	}
+
+	private static MockHttpServletRequest cadastro(String corpo) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/usuario");
+		request.addHeader(IdempotenciaFilter.IDEMPOTENCY_KEY, "chave-1");
+		request.setContentType("application/json");
+		request.setContent(corpo.getBytes());
+		return request;
+	}
+
+	private static void anonimo() {
+		SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken("chave", "anonymousUser",
+				AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+	}
+}
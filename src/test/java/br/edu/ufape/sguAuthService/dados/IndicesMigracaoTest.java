@@ -0,0 +1,106 @@
+package br.edu.ufape.sguAuthService.dados;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Aplica as migrações sobre um esquema igual ao gerado pelo Hibernate e confere, pelo EXPLAIN do H2,
+ * que as consultas das listagens usam os índices criados em vez de varrer a tabela.
+ */
+class IndicesMigracaoTest {
+	private static final String URL = "jdbc:h2:mem:indices;DB_CLOSE_DELAY=-1";
+
+	private Connection conexao;
+
+	@BeforeEach
+	void prepararEsquema() throws SQLException {
+		conexao = DriverManager.getConnection(URL, "sa", "");
+		try (Statement st = conexao.createStatement()) {
+			st.execute("CREATE TABLE usuario (id UUID PRIMARY KEY, nome VARCHAR(255), ativo BOOLEAN)");
+			st.execute("CREATE TABLE perfil (id BIGINT PRIMARY KEY, usuario_id UUID)");
+			st.execute("CREATE TABLE solicitacao_perfil (id BIGINT PRIMARY KEY, status SMALLINT, solicitante_id UUID, perfil_solicitado VARCHAR(255), chave_idempotencia VARCHAR(100))");
+			st.execute("CREATE TABLE ua_funcionarios (ua_id BIGINT, funcionario_id BIGINT, PRIMARY KEY (ua_id, funcionario_id))");
+			st.execute("CREATE TABLE gestor_unidade (id BIGINT PRIMARY KEY, gestor_id BIGINT, unidade_administrativa_id BIGINT)");
+			st.execute("CREATE TABLE documento (id BIGINT PRIMARY KEY, nome VARCHAR(255), path VARCHAR(255), hash VARCHAR(64), tamanho BIGINT)");
+
+			for (int i = 1; i <= 2000; i++) {
+				st.execute("INSERT INTO usuario VALUES (RANDOM_UUID(), 'u" + i + "', " + (i % 50 != 0) + ")");
+				st.execute("INSERT INTO solicitacao_perfil (id, status, solicitante_id) SELECT " + i + ", " + (i % 100 == 0 ? 0 : 1) + ", id FROM usuario WHERE nome = 'u" + i + "'");
+				st.execute("INSERT INTO perfil SELECT " + i + ", id FROM usuario WHERE nome = 'u" + i + "'");
+				st.execute("INSERT INTO ua_funcionarios VALUES (" + (i % 40) + ", " + i + ")");
+				st.execute("INSERT INTO gestor_unidade VALUES (" + i + ", " + i + ", " + (i % 40) + ")");
+				st.execute("INSERT INTO documento VALUES (" + i + ", 'h" + (i % 500) + ".pdf', NULL, NULL, NULL)");
+			}
+		}
+
+		Flyway.configure()
+				.dataSource(URL, "sa", "")
+				.locations("classpath:db/migration/h2")
+				.baselineOnMigrate(true)
+				.baselineVersion("1")
+				.load()
+				.migrate();
+
+		try (Statement st = conexao.createStatement()) {
+			st.execute("ANALYZE");
+		}
+	}
+
+	@AfterEach
+	void limpar() throws SQLException {
+		try (Statement st = conexao.createStatement()) {
+			st.execute("DROP ALL OBJECTS");
+		}
+		conexao.close();
+	}
+
+	@Test
+	void filaDePendentesUsaIndiceDeStatus() throws SQLException {
+		assertUsaIndice("SELECT id FROM solicitacao_perfil WHERE status = 0 ORDER BY id",
+				"IDX_SOLICITACAO_PERFIL_PENDENTE");
+	}
+
+	@Test
+	void solicitacoesDoUsuarioUsamIndiceDeSolicitante() throws SQLException {
+		assertUsaIndice("SELECT id FROM solicitacao_perfil WHERE solicitante_id = RANDOM_UUID() AND status IN (0, 1)",
+				"IDX_SOLICITACAO_PERFIL_SOLICITANTE_STATUS");
+	}
+
+	@Test
+	void perfisDoUsuarioUsamIndiceDeUsuario() throws SQLException {
+		assertUsaIndice("SELECT id FROM perfil WHERE usuario_id = RANDOM_UUID()", "IDX_PERFIL_USUARIO");
+	}
+
+	@Test
+	void unidadesDoFuncionarioUsamIndiceInverso() throws SQLException {
+		assertUsaIndice("SELECT ua_id FROM ua_funcionarios WHERE funcionario_id = 7", "IDX_UA_FUNCIONARIOS_FUNCIONARIO");
+	}
+
+	@Test
+	void gestoresDaUnidadeUsamIndiceDeUnidade() throws SQLException {
+		assertUsaIndice("SELECT id FROM gestor_unidade WHERE unidade_administrativa_id = 7", "IDX_GESTOR_UNIDADE_UNIDADE");
+	}
+
+	@Test
+	void referenciasAoArquivoUsamIndiceDeNome() throws SQLException {
+		assertUsaIndice("SELECT COUNT(*) FROM documento WHERE nome = 'h7.pdf'", "IDX_DOCUMENTO_NOME");
+	}
+
+	private void assertUsaIndice(String consulta, String indice) throws SQLException {
+		try (Statement st = conexao.createStatement(); ResultSet rs = st.executeQuery("EXPLAIN " + consulta)) {
+			rs.next();
+			String plano = rs.getString(1);
+			assertTrue(plano.toUpperCase().contains(indice), "Plano não usa " + indice + ": " + plano);
+		}
+	}
+}
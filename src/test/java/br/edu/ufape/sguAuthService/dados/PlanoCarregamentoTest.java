@@ -0,0 +1,249 @@
+package br.edu.ufape.sguAuthService.dados;
+
+import br.edu.ufape.sguAuthService.comunicacao.dto.funcionario.FuncionarioResponse;
+import br.edu.ufape.sguAuthService.comunicacao.dto.gestorUnidade.GestorUnidadeResponse;
+import br.edu.ufape.sguAuthService.comunicacao.dto.professor.ProfessorResponse;
+import br.edu.ufape.sguAuthService.comunicacao.dto.solicitacaoPerfil.SolicitacaoPerfilResponse;
+import br.edu.ufape.sguAuthService.comunicacao.dto.unidadeAdministrativa.UnidadeAdministrativaGetResponse;
+import br.edu.ufape.sguAuthService.comunicacao.dto.unidadeAdministrativa.UnidadeAdministrativaResponse;
+import br.edu.ufape.sguAuthService.config.AuthenticatedUserProvider;
+import br.edu.ufape.sguAuthService.fachada.Fachada;
+import br.edu.ufape.sguAuthService.models.Curso;
+import br.edu.ufape.sguAuthService.models.Documento;
+import br.edu.ufape.sguAuthService.models.Enums.StatusSolicitacao;
+import br.edu.ufape.sguAuthService.models.Gestor;
+import br.edu.ufape.sguAuthService.models.GestorUnidade;
+import br.edu.ufape.sguAuthService.models.Professor;
+import br.edu.ufape.sguAuthService.models.SolicitacaoPerfil;
+import br.edu.ufape.sguAuthService.models.TipoUnidadeAdministrativa;
+import br.edu.ufape.sguAuthService.models.UnidadeAdministrativa;
+import br.edu.ufape.sguAuthService.models.Usuario;
+import br.edu.ufape.sguAuthService.servicos.ProfessorService;
+import br.edu.ufape.sguAuthService.servicos.SolicitacaoPerfilService;
+import br.edu.ufape.sguAuthService.servicos.UnidadeAdministrativaService;
+import br.edu.ufape.sguAuthService.servicos.UsuarioService;
+import br.edu.ufape.sguAuthService.servicos.interfaces.AlunoService;
+import br.edu.ufape.sguAuthService.servicos.interfaces.ArmazenamentoService;
+import br.edu.ufape.sguAuthService.servicos.interfaces.BuscaUsuarioService;
+import br.edu.ufape.sguAuthService.servicos.interfaces.CacheReferenciaService;
+import br.edu.ufape.sguAuthService.servicos.interfaces.CursoService;
+import br.edu.ufape.sguAuthService.servicos.interfaces.GestorService;
+import br.edu.ufape.sguAuthService.servicos.interfaces.KeycloakServiceInterface;
+import br.edu.ufape.sguAuthService.servicos.interfaces.PerfilService;
+import br.edu.ufape.sguAuthService.servicos.interfaces.TecnicoService;
+import br.edu.ufape.sguAuthService.servicos.interfaces.TipoEtniaService;
+import br.edu.ufape.sguAuthService.servicos.interfaces.TipoUnidadeAdministrativaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.querydsl.core.BooleanBuilder;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Chama a Fachada fora de qualquer transação, como os controllers fazem com open-session-in-view desligado,
+ * e monta as respostas da API com o que voltou. Qualquer associação que o plano de carregamento deixou de
+ * inicializar estoura LazyInitializationException e derruba o teste. Os serviços com repositório são os reais;
+ * os que falam com Keycloak, armazenamento ou entidades fora destes cenários são mocks.
+ */
+@DataJpaTest(properties = {
+		"spring.cloud.config.enabled=false",
+		"config.snapshot.habilitado=false",
+		"spring.flyway.enabled=false"
+})
+@Import({Fachada.class, UsuarioService.class, ProfessorService.class, SolicitacaoPerfilService.class,
+		UnidadeAdministrativaService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PlanoCarregamentoTest {
+	private static final Pageable PAGINA = PageRequest.of(0, 20);
+
+	@MockitoBean
+	private BuscaUsuarioService buscaUsuarioService;
+	@MockitoBean
+	private AuthenticatedUserProvider authenticatedUserProvider;
+	@MockitoBean
+	private CacheReferenciaService cacheReferenciaService;
+	@MockitoBean
+	private KeycloakServiceInterface keycloakService;
+	@MockitoBean
+	private ArmazenamentoService armazenamentoService;
+	@MockitoBean
+	private AlunoService alunoService;
+	@MockitoBean
+	private CursoService cursoService;
+	@MockitoBean
+	private PerfilService perfilService;
+	@MockitoBean
+	private TecnicoService tecnicoService;
+	@MockitoBean
+	private GestorService gestorService;
+	@MockitoBean
+	private TipoUnidadeAdministrativaService tipoUnidadeAdministrativaService;
+	@MockitoBean
+	private TipoEtniaService tipoEtniaService;
+
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private TransactionTemplate transacao;
+	@Autowired
+	private Fachada fachada;
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+	private UUID professorId;
+	private Long raizId;
+	private Long filhaId;
+	private Long solicitacaoId;
+
+	@BeforeAll
+	void prepararDados() {
+		transacao.executeWithoutResult(_ -> {
+			Curso curso = new Curso(null, "Ciência da Computação", 8, true);
+			entityManager.persist(curso);
+			TipoUnidadeAdministrativa tipo = new TipoUnidadeAdministrativa(null, "Departamento");
+			entityManager.persist(tipo);
+
+			Professor professor = new Professor();
+			professor.setSiape("1000001");
+			professor.getCursos().add(curso);
+			Usuario usuarioProfessor = usuario("Professor", "00000000001");
+			usuarioProfessor.adicionarPerfil(professor);
+			entityManager.persist(usuarioProfessor);
+
+			Gestor gestor = new Gestor();
+			gestor.setSiape("1000002");
+			Usuario usuarioGestor = usuario("Gestor", "00000000002");
+			usuarioGestor.adicionarPerfil(gestor);
+			entityManager.persist(usuarioGestor);
+
+			UnidadeAdministrativa raiz = unidade("Reitoria", "REIT", tipo, null);
+			UnidadeAdministrativa filha = unidade("Departamento de Computação", "REIT.DC", tipo, raiz);
+			raiz.getUnidadesFilhas().add(filha);
+			entityManager.persist(raiz);
+			entityManager.persist(filha);
+			raiz.adicionarFuncionario(professor);
+			raiz.getGestores().add(new GestorUnidade(null, gestor, raiz, "Reitor"));
+
+			SolicitacaoPerfil solicitacao = new SolicitacaoPerfil();
+			solicitacao.setPerfil(professor);
+			solicitacao.setSolicitante(usuarioProfessor);
+			solicitacao.setStatus(StatusSolicitacao.PENDENTE);
+			solicitacao.setDataSolicitacao(LocalDateTime.now());
+			solicitacao.setPerfilSolicitado(Professor.class.getSimpleName());
+			entityManager.persist(solicitacao);
+
+			professorId = usuarioProfessor.getId();
+			raizId = raiz.getId();
+			filhaId = filha.getId();
+			solicitacaoId = solicitacao.getId();
+		});
+	}
+
+	@BeforeEach
+	void autenticarComoAdministrador() {
+		when(authenticatedUserProvider.getUserId()).thenReturn(professorId);
+		when(keycloakService.hasRoleAdmin(anyString())).thenReturn(true);
+	}
+
+	@Test
+	void respostasDeProfessorLeemPerfisECursos() {
+		List<ProfessorResponse> pagina = fachada.listarProfessores(new BooleanBuilder(), PAGINA)
+				.map(usuario -> new ProfessorResponse(usuario))
+				.getContent();
+		ProfessorResponse professor = new ProfessorResponse(fachada.buscarProfessor(professorId));
+
+		assertEquals(1, pagina.size());
+		assertEquals(1, professor.getCursos().size());
+	}
+
+	@Test
+	void respostasDeUnidadeLeemGestoresEFuncionarios() {
+		UnidadeAdministrativaGetResponse unidade = new UnidadeAdministrativaGetResponse(fachada.buscarUnidadeAdministrativa(raizId));
+		List<UnidadeAdministrativaGetResponse> filhas = fachada.listarUnidadesFilhas(raizId).stream()
+				.map(filha -> new UnidadeAdministrativaGetResponse(filha))
+				.toList();
+		List<GestorUnidadeResponse> gestores = fachada.listarGestoresPorUnidade(raizId, new BooleanBuilder(), PAGINA)
+				.map(gestor -> new GestorUnidadeResponse(gestor))
+				.getContent();
+		List<FuncionarioResponse> funcionarios = fachada.listarFuncionariosPorUnidade(raizId, new BooleanBuilder(), PAGINA)
+				.map(funcionario -> new FuncionarioResponse(funcionario.getUsuario()))
+				.getContent();
+
+		assertEquals(1, unidade.getGestores().size());
+		assertEquals(1, unidade.getFuncionarios().size());
+		assertEquals(1, filhas.size());
+		assertEquals(1, gestores.size());
+		assertEquals(1, funcionarios.size());
+	}
+
+	@Test
+	void arvoreVemInteiraNumaConsulta() {
+		List<UnidadeAdministrativaResponse> arvore = fachada.montarArvore().stream()
+				.map(unidade -> new UnidadeAdministrativaResponse(unidade))
+				.toList();
+
+		assertEquals(1, arvore.size());
+		assertEquals(1, arvore.getFirst().getUnidadesFilhas().size());
+	}
+
+	@Test
+	void solicitacaoSerializaPerfilEDocumentos() throws Exception {
+		for (SolicitacaoPerfil solicitacao : fachada.listarSolicitacoes(new BooleanBuilder(), PAGINA)) {
+			objectMapper.writeValueAsString(new SolicitacaoPerfilResponse(solicitacao));
+		}
+		objectMapper.writeValueAsString(new SolicitacaoPerfilResponse(fachada.buscarSolicitacao(solicitacaoId)));
+
+		// O mock lê a lista como o serviço real faria, já fora da transação
+		when(armazenamentoService.descreverDocumentos(anyList())).thenAnswer(chamada -> {
+			List<Documento> documentos = chamada.getArgument(0);
+			assertEquals(0, documentos.size());
+			return List.of();
+		});
+		fachada.listarDocumentos(solicitacaoId);
+	}
+
+	@Test
+	void vinculoAceitaUnidadeBuscadaEmOutraSessao() {
+		fachada.adicionarFuncionario(filhaId, professorId);
+		fachada.removerFuncionario(filhaId, professorId);
+	}
+
+	private static Usuario usuario(String nome, String cpf) {
+		Usuario usuario = new Usuario();
+		usuario.setId(UUID.randomUUID());
+		usuario.setNome(nome);
+		usuario.setCpf(cpf);
+		usuario.setEmail(cpf + "@ufape.edu.br");
+		return usuario;
+	}
+
+	private static UnidadeAdministrativa unidade(String nome, String codigo, TipoUnidadeAdministrativa tipo, UnidadeAdministrativa pai) {
+		UnidadeAdministrativa unidade = new UnidadeAdministrativa();
+		unidade.setNome(nome);
+		unidade.setCodigo(codigo);
+		unidade.setTipoUnidadeAdministrativa(tipo);
+		unidade.setUnidadePai(pai);
+		return unidade;
+	}
+}
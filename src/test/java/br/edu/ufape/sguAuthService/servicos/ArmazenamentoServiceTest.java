@@ -0,0 +1,125 @@
+package br.edu.ufape.sguAuthService.servicos;
+
+import br.edu.ufape.sguAuthService.dados.DocumentoRepository;
+import br.edu.ufape.sguAuthService.models.Documento;
+import br.edu.ufape.sguAuthService.servicos.armazenamento.ArmazenamentoLocal;
+import br.edu.ufape.sguAuthService.servicos.armazenamento.LayoutArmazenamento;
+import br.edu.ufape.sguAuthService.servicos.armazenamento.VarianteImagem;
+import br.edu.ufape.sguAuthService.servicos.interfaces.ProcessamentoImagemService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ArmazenamentoServiceTest {
+	@TempDir
+	Path diretorio;
+
+	private LayoutArmazenamento layout;
+	private ProcessamentoImagemService processamentoImagem;
+	private ArmazenamentoService armazenamentoService;
+
+	@BeforeEach
+	void iniciar() {
+		layout = new LayoutArmazenamento(diretorio.toString(), 1, 2);
+		processamentoImagem = mock(ProcessamentoImagemService.class);
+		armazenamentoService = new ArmazenamentoService(new ArmazenamentoLocal(layout), mock(DocumentoRepository.class), processamentoImagem, new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(armazenamentoService, "threadsIngestao", 2);
+		ReflectionTestUtils.setField(armazenamentoService, "filaIngestao", 2);
+		ReflectionTestUtils.setField(armazenamentoService, "tentativasPublicacao", 1);
+		armazenamentoService.iniciarExecutor();
+		TransactionSynchronizationManager.initSynchronization();
+	}
+
+	@AfterEach
+	void encerrar() throws InterruptedException {
+		TransactionSynchronizationManager.clearSynchronization();
+		armazenamentoService.encerrarExecutor();
+	}
+
+	@Test
+	void publicaSoDepoisDoCommitECompartilhaConteudoIgual() throws IOException {
+		List<Documento> documentos = armazenamentoService.salvarArquivo(new MultipartFile[]{
+				pdf("rg.pdf", "mesmo conteúdo"), pdf("rg-de-novo.pdf", "mesmo conteúdo"), pdf("matricula.pdf", "outro")});
+
+		assertEquals(0, arquivos().size());
+		concluir(TransactionSynchronization.STATUS_COMMITTED);
+
+		assertEquals(documentos.get(0).getNome(), documentos.get(1).getNome());
+		assertEquals(documentos.get(0).getHash() + ".pdf", documentos.get(0).getNome());
+		assertTrue(Files.isRegularFile(diretorio.resolve(documentos.get(0).getHash().substring(0, 2)).resolve(documentos.get(0).getNome())));
+		assertEquals(List.of(documentos.get(0).getNome(), documentos.get(2).getNome()).stream().sorted().toList(), arquivos());
+	}
+
+	@Test
+	void rollbackApagaOsTemporarios() throws IOException {
+		armazenamentoService.salvarArquivo(new MultipartFile[]{pdf("rg.pdf", "a"), pdf("matricula.pdf", "b")});
+		concluir(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+		assertTrue(arquivos().isEmpty());
+	}
+
+	@Test
+	void falhaEmUmArquivoApagaOsDemais() throws IOException {
+		MultipartFile quebrado = new MockMultipartFile("documentos", "quebrado.pdf", "application/pdf", new byte[]{1}) {
+			@Override
+			public java.io.InputStream getInputStream() throws IOException {
+				throw new IOException("conexão interrompida");
+			}
+		};
+
+		assertThrows(RuntimeException.class, () -> armazenamentoService.salvarArquivo(new MultipartFile[]{pdf("rg.pdf", "a"), quebrado}));
+		assertTrue(arquivos().isEmpty());
+		assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+	}
+
+	@Test
+	void originalComFalhaNaoEReagendado() throws Exception {
+		Path original = layout.caminho("aa11.png");
+		Files.createDirectories(original.getParent());
+		Files.writeString(original, "png");
+		Documento documento = new Documento(1L, "aa11.png", null, "aa11", 3L);
+
+		armazenamentoService.localizarArquivo(documento, VarianteImagem.REVISAO);
+		verify(processamentoImagem).agendar(List.of("aa11.png"));
+
+		when(processamentoImagem.falhou("aa11.png")).thenReturn(true);
+		armazenamentoService.localizarArquivo(documento, VarianteImagem.MINIATURA);
+		verify(processamentoImagem, times(1)).agendar(anyCollection());
+	}
+
+	private void concluir(int status) {
+		TransactionSynchronizationManager.getSynchronizations().forEach(sincronizacao -> sincronizacao.afterCompletion(status));
+	}
+
+	private List<String> arquivos() throws IOException {
+		try (Stream<Path> lista = Files.walk(diretorio)) {
+			return lista.filter(Files::isRegularFile).map(arquivo -> arquivo.getFileName().toString()).sorted().toList();
+		}
+	}
+
+	private static MockMultipartFile pdf(String nome, String conteudo) {
+		return new MockMultipartFile("documentos", nome, "application/pdf", conteudo.getBytes());
+	}
+}
@@ -0,0 +1,98 @@
+package br.edu.ufape.sguAuthService.servicos;
+
+import br.edu.ufape.sguAuthService.servicos.armazenamento.ArmazenamentoLocal;
+import br.edu.ufape.sguAuthService.servicos.armazenamento.ArquivoTemporario;
+import br.edu.ufape.sguAuthService.servicos.armazenamento.LayoutArmazenamento;
+import br.edu.ufape.sguAuthService.servicos.armazenamento.VarianteImagem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProcessamentoImagemServiceTest {
+	@TempDir
+	Path diretorio;
+
+	private LayoutArmazenamento layout;
+	private ArmazenamentoLocal backend;
+	private SimpleMeterRegistry metricas;
+	private ProcessamentoImagemService processamento;
+
+	@BeforeEach
+	void iniciar() {
+		layout = new LayoutArmazenamento(diretorio.toString(), 1, 2);
+		backend = new ArmazenamentoLocal(layout);
+		metricas = new SimpleMeterRegistry();
+		processamento = new ProcessamentoImagemService(backend, metricas, 1, 1, 1600, 320, 0.8f, 60_000_000, 100, 1);
+	}
+
+	@AfterEach
+	void encerrar() {
+		processamento.encerrar();
+	}
+
+	@Test
+	void geraRevisaoEMiniaturaMantendoOOriginal() throws IOException {
+		String nome = publicar(png(4000, 3000), "png");
+		long tamanhoOriginal = Files.size(layout.caminho(nome));
+
+		processamento.processar(nome);
+
+		BufferedImage revisao = ImageIO.read(layout.caminho(VarianteImagem.REVISAO.nome(nome)).toFile());
+		BufferedImage miniatura = ImageIO.read(layout.caminho(VarianteImagem.MINIATURA.nome(nome)).toFile());
+		assertEquals(1600, revisao.getWidth());
+		assertEquals(1200, revisao.getHeight());
+		assertEquals(320, miniatura.getWidth());
+		assertEquals(240, miniatura.getHeight());
+		assertEquals(tamanhoOriginal, Files.size(layout.caminho(nome)));
+		assertEquals(1, metricas.get("imagens.processamento.tempo").timer().count());
+	}
+
+	@Test
+	void imagemAcimaDoLimiteDePixelsNaoEDecodificada() throws IOException {
+		processamento = new ProcessamentoImagemService(backend, new SimpleMeterRegistry(), 1, 1, 1600, 320, 0.8f, 1_000, 100, 1);
+		String nome = publicar(png(100, 100), "png");
+
+		processamento.processar(nome);
+
+		assertFalse(Files.exists(layout.caminho(VarianteImagem.REVISAO.nome(nome))));
+		// A falha fica lembrada: novos downloads não reagendam o mesmo original
+		assertTrue(processamento.falhou(nome));
+	}
+
+	@Test
+	void ignoraArquivosQueNaoSaoImagem() {
+		processamento.agendar(List.of("aa11.pdf", VarianteImagem.REVISAO.nome("bb22.png")));
+
+		assertEquals(0.0, metricas.get("imagens.processamento.fila").gauge().value());
+		assertTrue(VarianteImagem.aplicavel("bb22.JPG"));
+		assertEquals("bb22.png", VarianteImagem.original(VarianteImagem.MINIATURA.nome("bb22.png")));
+	}
+
+	private String publicar(byte[] conteudo, String extensao) throws IOException {
+		ArquivoTemporario temporario = backend.gravarTemporario(new ByteArrayInputStream(conteudo), extensao);
+		backend.publicar(List.of(temporario));
+		return temporario.getNome();
+	}
+
+	private static byte[] png(int largura, int altura) throws IOException {
+		BufferedImage imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_ARGB);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ImageIO.write(imagem, "png", bytes);
+		return bytes.toByteArray();
+	}
+}
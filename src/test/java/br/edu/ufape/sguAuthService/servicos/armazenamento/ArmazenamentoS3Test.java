@@ -0,0 +1,113 @@
+package br.edu.ufape.sguAuthService.servicos.armazenamento;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArmazenamentoS3Test {
+	private static final String PREFIXO = "documentos/";
+
+	private S3EmMemoria s3;
+	private S3Presigner presigner;
+	private ArmazenamentoS3 armazenamento;
+
+	@BeforeEach
+	void iniciar() {
+		s3 = new S3EmMemoria();
+		presigner = S3Presigner.builder()
+				.region(Region.US_EAST_1)
+				.credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("teste", "segredo")))
+				.endpointOverride(URI.create("http://localhost:9000"))
+				.serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+				.build();
+		// Partes de 8 bytes para exercitar o multipart sem arquivos de megabytes
+		armazenamento = new ArmazenamentoS3(s3, presigner, "sgu", PREFIXO, 8, Duration.ofMinutes(5), true);
+	}
+
+	@AfterEach
+	void encerrar() {
+		presigner.close();
+	}
+
+	@Test
+	void enviaEmPartesEPublicaPeloHash() throws Exception {
+		byte[] conteudo = "vinte bytes de teste".getBytes();
+		ArquivoTemporario temporario = armazenamento.gravarTemporario(new ByteArrayInputStream(conteudo), "pdf");
+
+		assertEquals(3, s3.partesEnviadas);
+		assertEquals(sha256(conteudo), temporario.getHash());
+		assertEquals(conteudo.length, temporario.getTamanho());
+		assertFalse(s3.objetos.containsKey(PREFIXO + temporario.getNome()));
+
+		armazenamento.publicar(List.of(temporario));
+
+		assertArrayEquals(conteudo, s3.objetos.get(PREFIXO + temporario.getHash() + ".pdf"));
+		assertEquals(1, s3.objetos.size());
+	}
+
+	@Test
+	void arquivoPequenoVaiNumPutSimplesEConteudoRepetidoNaoDuplica() throws Exception {
+		ArquivoTemporario primeiro = armazenamento.gravarTemporario(new ByteArrayInputStream("rg".getBytes()), "png");
+		ArquivoTemporario segundo = armazenamento.gravarTemporario(new ByteArrayInputStream("rg".getBytes()), "png");
+		armazenamento.publicar(List.of(primeiro, segundo));
+
+		assertEquals(0, s3.partesEnviadas);
+		assertEquals(primeiro.getNome(), segundo.getNome());
+		assertEquals(1, s3.objetos.size());
+	}
+
+	@Test
+	void leIntervaloEAssinaUrlDeDownload() throws Exception {
+		ArquivoTemporario temporario = armazenamento.gravarTemporario(new ByteArrayInputStream("0123456789abcdef".getBytes()), "pdf");
+		armazenamento.publicar(List.of(temporario));
+
+		ArquivoArmazenado arquivo = armazenamento.localizar(temporario.getNome()).orElseThrow();
+		try (InputStream intervalo = arquivo.abrir(10, 14)) {
+			assertEquals("abcd", new String(intervalo.readAllBytes()));
+		}
+		String url = arquivo.urlAssinada().orElseThrow().toString();
+		assertTrue(url.startsWith("http://localhost:9000/sgu/" + PREFIXO + temporario.getNome()));
+		assertTrue(url.contains("X-Amz-Signature="));
+		assertTrue(armazenamento.localizar("inexistente.pdf").isEmpty());
+	}
+
+	@Test
+	void falhaNoMeioAbortaOMultipart() {
+		InputStream interrompido = new SequenceInputStream(new ByteArrayInputStream("dezesseis bytes!".getBytes()), new InputStream() {
+			@Override
+			public int read() throws IOException {
+				throw new IOException("conexão interrompida");
+			}
+		});
+
+		assertThrows(IOException.class, () -> armazenamento.gravarTemporario(interrompido, "pdf"));
+		assertEquals(1, s3.uploadsAbortados);
+		assertTrue(s3.uploadsEmAndamento.isEmpty());
+		assertTrue(s3.objetos.isEmpty());
+	}
+
+	private static String sha256(byte[] conteudo) throws Exception {
+		return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(conteudo));
+	}
+}
@@ -0,0 +1,134 @@
+package br.edu.ufape.sguAuthService.servicos.armazenamento;
+
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CopyObjectResponse;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stand-in do S3 em memória, com só as operações que o ArmazenamentoS3 usa e as mesmas regras que importam
+ * aqui: partes numeradas montadas no complete, HEAD 404 como NoSuchKeyException e GET com Range inclusivo.
+ */
+class S3EmMemoria implements S3Client {
+	final Map<String, byte[]> objetos = new ConcurrentHashMap<>();
+	final Map<String, TreeMap<Integer, byte[]>> uploadsEmAndamento = new ConcurrentHashMap<>();
+	int partesEnviadas;
+	int uploadsAbortados;
+
+	@Override
+	public PutObjectResponse putObject(PutObjectRequest request, RequestBody corpo) {
+		objetos.put(request.key(), ler(corpo));
+		return PutObjectResponse.builder().build();
+	}
+
+	@Override
+	public CreateMultipartUploadResponse createMultipartUpload(CreateMultipartUploadRequest request) {
+		String uploadId = UUID.randomUUID().toString();
+		uploadsEmAndamento.put(uploadId, new TreeMap<>());
+		return CreateMultipartUploadResponse.builder().uploadId(uploadId).key(request.key()).build();
+	}
+
+	@Override
+	public UploadPartResponse uploadPart(UploadPartRequest request, RequestBody corpo) {
+		uploadsEmAndamento.get(request.uploadId()).put(request.partNumber(), ler(corpo));
+		partesEnviadas++;
+		return UploadPartResponse.builder().eTag("\"parte-" + request.partNumber() + "\"").build();
+	}
+
+	@Override
+	public CompleteMultipartUploadResponse completeMultipartUpload(CompleteMultipartUploadRequest request) {
+		TreeMap<Integer, byte[]> partes = uploadsEmAndamento.remove(request.uploadId());
+		ByteArrayOutputStream objeto = new ByteArrayOutputStream();
+		for (CompletedPart parte : request.multipartUpload().parts()) {
+			objeto.writeBytes(partes.get(parte.partNumber()));
+		}
+		objetos.put(request.key(), objeto.toByteArray());
+		return CompleteMultipartUploadResponse.builder().key(request.key()).build();
+	}
+
+	@Override
+	public AbortMultipartUploadResponse abortMultipartUpload(AbortMultipartUploadRequest request) {
+		uploadsEmAndamento.remove(request.uploadId());
+		uploadsAbortados++;
+		return AbortMultipartUploadResponse.builder().build();
+	}
+
+	@Override
+	public HeadObjectResponse headObject(HeadObjectRequest request) {
+		byte[] objeto = objetos.get(request.key());
+		if (objeto == null) throw NoSuchKeyException.builder().statusCode(404).build();
+		return HeadObjectResponse.builder().contentLength((long) objeto.length).lastModified(Instant.now()).build();
+	}
+
+	@Override
+	public CopyObjectResponse copyObject(CopyObjectRequest request) {
+		objetos.put(request.destinationKey(), objetos.get(request.sourceKey()).clone());
+		return CopyObjectResponse.builder().build();
+	}
+
+	@Override
+	public DeleteObjectResponse deleteObject(DeleteObjectRequest request) {
+		objetos.remove(request.key());
+		return DeleteObjectResponse.builder().build();
+	}
+
+	@Override
+	public ResponseInputStream<GetObjectResponse> getObject(GetObjectRequest request) {
+		byte[] objeto = objetos.get(request.key());
+		if (objeto == null) throw NoSuchKeyException.builder().statusCode(404).build();
+		if (request.range() != null) {
+			String[] limites = request.range().substring("bytes=".length()).split("-");
+			objeto = Arrays.copyOfRange(objeto, Integer.parseInt(limites[0]), Integer.parseInt(limites[1]) + 1);
+		}
+		GetObjectResponse resposta = GetObjectResponse.builder().contentLength((long) objeto.length).build();
+		return new ResponseInputStream<>(resposta, AbortableInputStream.create(new ByteArrayInputStream(objeto)));
+	}
+
+	@Override
+	public String serviceName() {
+		return SERVICE_NAME;
+	}
+
+	@Override
+	public void close() {
+	}
+
+	private static byte[] ler(RequestBody corpo) {
+		try (var entrada = corpo.contentStreamProvider().newStream()) {
+			return entrada.readAllBytes();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package br.edu.ufape.sguAuthService.servicos.tasks;
+
+import br.edu.ufape.sguAuthService.servicos.armazenamento.LayoutArmazenamento;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MigracaoLayoutArmazenamentoTest {
+	@TempDir
+	Path diretorio;
+
+	@Test
+	void moveEmLotesEContinuaDeOndeParou() throws Exception {
+		LayoutArmazenamento layout = new LayoutArmazenamento(diretorio.toString(), 2, 2);
+		for (int i = 0; i < 5; i++) {
+			Files.writeString(diretorio.resolve("abcd000" + i + "-uuid.pdf"), "documento " + i);
+		}
+		Files.writeString(diretorio.resolve(LayoutArmazenamento.PREFIXO_TEMPORARIO + "em-andamento"), "parcial");
+		MigracaoLayoutArmazenamento migracao = new MigracaoLayoutArmazenamento(layout, true, 3, 1000);
+
+		assertEquals(3, migracao.migrarLote());
+		assertEquals(2, migracao.migrarLote());
+		assertEquals(0, migracao.migrarLote());
+
+		Path migrado = layout.localizar("abcd0004-uuid.pdf").orElseThrow();
+		assertEquals(diretorio.resolve("ab").resolve("cd").resolve("abcd0004-uuid.pdf"), migrado);
+		assertFalse(Files.exists(diretorio.resolve("abcd0004-uuid.pdf")));
+		assertTrue(Files.exists(diretorio.resolve(LayoutArmazenamento.PREFIXO_TEMPORARIO + "em-andamento")));
+	}
+
+	@Test
+	void encontraArquivoAindaNoLayoutPlano() throws Exception {
+		LayoutArmazenamento layout = new LayoutArmazenamento(diretorio.toString(), 1, 2);
+		Files.writeString(diretorio.resolve("ff00-legado.png"), "imagem");
+
+		assertEquals(diretorio.resolve("ff00-legado.png"), layout.localizar("ff00-legado.png").orElseThrow());
+	}
+}
@@ -0,0 +1,104 @@
+package br.edu.ufape.sguAuthService.servicos.tasks;
+
+import br.edu.ufape.sguAuthService.servicos.armazenamento.LayoutArmazenamento;
+import br.edu.ufape.sguAuthService.servicos.interfaces.ArmazenamentoService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReconciliacaoArquivosOrfaosTest {
+	@TempDir
+	Path diretorio;
+
+	@Test
+	void colocaEmQuarentenaSoOsOrfaosForaDaCarencia() throws Exception {
+		LayoutArmazenamento layout = new LayoutArmazenamento(diretorio.toString(), 1, 2);
+		Path referenciado = gravar(layout.caminho("aa11.png"));
+		Path variante = gravar(layout.caminho("aa11.png.miniatura.jpg"));
+		Path orfao = gravar(layout.caminho("bb22.pdf"));
+		Path orfaoPlano = gravar(layout.caminhoPlano("cc33.png"));
+		Path temporario = gravar(diretorio.resolve(LayoutArmazenamento.PREFIXO_TEMPORARIO + "interrompido"));
+		ArmazenamentoService armazenamentoService = mock(ArmazenamentoService.class);
+		when(armazenamentoService.nomesReferenciados(anyCollection())).thenReturn(Set.of("aa11.png"));
+
+		// Relógio dois dias à frente: tudo fora da carência de 24h
+		Clock depois = Clock.offset(Clock.systemUTC(), Duration.ofDays(2));
+		int removidos = new ReconciliacaoArquivosOrfaos(layout, armazenamentoService, true, false, Duration.ofHours(24), 2, 1000, depois)
+				.reconciliarDiretorio();
+
+		assertEquals(3, removidos);
+		assertTrue(Files.exists(referenciado));
+		assertTrue(Files.exists(variante));
+		assertFalse(Files.exists(orfao));
+		assertFalse(Files.exists(orfaoPlano));
+		assertFalse(Files.exists(temporario));
+		assertTrue(Files.exists(diretorio.resolve(".quarentena/bb/bb22.pdf")));
+		// Lote de 2 nomes: uma consulta cheia e uma com o resto
+		verify(armazenamentoService, times(2)).nomesReferenciados(anyCollection());
+	}
+
+	@Test
+	void naoMexeEmArquivosDentroDaCarencia() throws Exception {
+		LayoutArmazenamento layout = new LayoutArmazenamento(diretorio.toString(), 1, 2);
+		Path recente = gravar(layout.caminho("dd44.pdf"));
+		ArmazenamentoService armazenamentoService = mock(ArmazenamentoService.class);
+
+		int removidos = new ReconciliacaoArquivosOrfaos(layout, armazenamentoService, true, true, Duration.ofHours(24), 10, 1000, Clock.systemUTC())
+				.reconciliarDiretorio();
+
+		assertEquals(0, removidos);
+		assertTrue(Files.exists(recente));
+	}
+
+	@Test
+	void temporarioVaiParaQuarentenaMesmoComAcaoApagar() throws Exception {
+		LayoutArmazenamento layout = new LayoutArmazenamento(diretorio.toString(), 1, 2);
+		Path orfao = gravar(layout.caminho("ee55.pdf"));
+		Path temporario = gravar(diretorio.resolve(LayoutArmazenamento.PREFIXO_TEMPORARIO + "interrompido"));
+		ArmazenamentoService armazenamentoService = mock(ArmazenamentoService.class);
+
+		Clock depois = Clock.offset(Clock.systemUTC(), Duration.ofDays(2));
+		int removidos = new ReconciliacaoArquivosOrfaos(layout, armazenamentoService, true, true, Duration.ofHours(24), 10, 1000, depois)
+				.reconciliarDiretorio();
+
+		assertEquals(2, removidos);
+		assertFalse(Files.exists(orfao));
+		assertFalse(Files.exists(diretorio.resolve(".quarentena/ee/ee55.pdf")));
+		assertFalse(Files.exists(temporario));
+		assertTrue(Files.exists(diretorio.resolve(".quarentena").resolve(temporario.getFileName())));
+	}
+
+	@Test
+	void mantemTemporarioDeDocumentoNaoPublicado() throws Exception {
+		LayoutArmazenamento layout = new LayoutArmazenamento(diretorio.toString(), 1, 2);
+		Path temporario = gravar(diretorio.resolve(LayoutArmazenamento.PREFIXO_TEMPORARIO + "pendente"));
+		ArmazenamentoService armazenamentoService = mock(ArmazenamentoService.class);
+		when(armazenamentoService.hashesReferenciados(anyCollection())).thenReturn(Set.of("qualquer"));
+
+		Clock depois = Clock.offset(Clock.systemUTC(), Duration.ofDays(2));
+		int removidos = new ReconciliacaoArquivosOrfaos(layout, armazenamentoService, true, false, Duration.ofHours(24), 10, 1000, depois)
+				.reconciliarDiretorio();
+
+		assertEquals(0, removidos);
+		assertTrue(Files.exists(temporario));
+	}
+
+	private static Path gravar(Path arquivo) throws Exception {
+		Files.createDirectories(arquivo.getParent());
+		return Files.writeString(arquivo, arquivo.getFileName().toString());
+	}
+}